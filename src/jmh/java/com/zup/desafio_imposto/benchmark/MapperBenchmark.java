@@ -0,0 +1,52 @@
+package com.zup.desafio_imposto.benchmark;
+
+import com.zup.desafio_imposto.dtos.request.TaxTypeRequestDTO;
+import com.zup.desafio_imposto.dtos.response.TaxTypeResponseDTO;
+import com.zup.desafio_imposto.dtos.response.UserResponseDTO;
+import com.zup.desafio_imposto.mappers.TaxTypeMapper;
+import com.zup.desafio_imposto.mappers.UserMapper;
+import com.zup.desafio_imposto.models.Role;
+import com.zup.desafio_imposto.models.TaxType;
+import com.zup.desafio_imposto.models.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final TaxTypeMapper taxTypeMapper = new TaxTypeMapper();
+    private final UserMapper userMapper = new UserMapper();
+
+    private TaxType taxType;
+    private TaxTypeRequestDTO taxTypeRequest;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        taxType = new TaxType(1L, "ICMS", "Imposto sobre circulação de mercadorias e serviços", 18.0);
+        taxTypeRequest = new TaxTypeRequestDTO("ICMS", "Imposto sobre circulação de mercadorias e serviços", 18.0, "HALF_UP");
+        user = new User(1L, "admin", "{bcrypt}hash", Set.of(new Role(1L, "ROLE_ADMIN"), new Role(2L, "ROLE_USER")));
+    }
+
+    @Benchmark
+    public TaxTypeResponseDTO taxTypeToResponseDTO() {
+        return taxTypeMapper.toResponseDTO(taxType);
+    }
+
+    @Benchmark
+    public TaxType taxTypeToEntity() {
+        return taxTypeMapper.toEntity(taxTypeRequest);
+    }
+
+    @Benchmark
+    public UserResponseDTO userToResponse() {
+        return userMapper.toResponse(user);
+    }
+}
@@ -0,0 +1,65 @@
+package com.zup.desafio_imposto.benchmark;
+
+import com.zup.desafio_imposto.cache.TaxCalculationResultCache;
+import com.zup.desafio_imposto.cache.TaxTypeCache;
+import com.zup.desafio_imposto.dtos.request.CalculateTaxTypeRequestDTO;
+import com.zup.desafio_imposto.dtos.response.CalculateTaxTypeResponseDTO;
+import com.zup.desafio_imposto.mappers.TaxTypeMapper;
+import com.zup.desafio_imposto.models.TaxBracket;
+import com.zup.desafio_imposto.models.TaxType;
+import com.zup.desafio_imposto.repositories.TaxCatalogVersionRepository;
+import com.zup.desafio_imposto.repositories.TaxTypeRepository;
+import com.zup.desafio_imposto.services.TaxTypeService;
+import com.zup.desafio_imposto.services.impl.TaxTypeServiceImpl;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Caminho de /tax/calculo sem HTTP nem banco: o repositório é um stub e o imposto fica no TaxTypeCache após a primeira chamada
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaxCalculationBenchmark {
+
+    @Param({"false", "true"})
+    public boolean resultCacheEnabled;
+
+    private TaxTypeService taxTypeService;
+    private CalculateTaxTypeRequestDTO flatRequest;
+    private CalculateTaxTypeRequestDTO progressiveRequest;
+
+    @Setup
+    public void setUp() {
+        TaxType icms = new TaxType(1L, "ICMS", "Imposto sobre circulação", 18.0);
+        TaxType irpf = new TaxType(2L, "IRPF", "Imposto de renda mensal", 27.5);
+        irpf.addBracket(new TaxBracket(0.0, 0.0, 0.0));
+        irpf.addBracket(new TaxBracket(2259.21, 7.5, 169.44));
+        irpf.addBracket(new TaxBracket(2826.66, 15.0, 381.44));
+        irpf.addBracket(new TaxBracket(3751.06, 22.5, 662.77));
+        irpf.addBracket(new TaxBracket(4664.69, 27.5, 896.0));
+
+        TaxTypeRepository taxTypeRepository = Mockito.mock(TaxTypeRepository.class);
+        Mockito.when(taxTypeRepository.findById(1L)).thenReturn(Optional.of(icms));
+        Mockito.when(taxTypeRepository.findById(2L)).thenReturn(Optional.of(irpf));
+
+        taxTypeService = new TaxTypeServiceImpl(taxTypeRepository, Mockito.mock(TaxCatalogVersionRepository.class),
+                new TaxTypeMapper(), new TaxTypeCache(100), new TaxCalculationResultCache(resultCacheEnabled, 10_000));
+        flatRequest = new CalculateTaxTypeRequestDTO(1L, 1234.56);
+        progressiveRequest = new CalculateTaxTypeRequestDTO(2L, 3456.78);
+    }
+
+    @Benchmark
+    public CalculateTaxTypeResponseDTO calculateFlatTax() {
+        return taxTypeService.calculateTaxType(flatRequest);
+    }
+
+    @Benchmark
+    public CalculateTaxTypeResponseDTO calculateProgressiveTax() {
+        return taxTypeService.calculateTaxType(progressiveRequest);
+    }
+}
@@ -0,0 +1,62 @@
+package com.zup.desafio_imposto.config.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+// No mesmo pacote do filtro para chamar doFilterInternal diretamente, sem a cadeia do Spring Security
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "Y2hhdmUtZGUtdGVzdGUtY29tLXBlbG8tbWVub3MtMjU2LWJpdHM=";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+    private String token;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(new JwtKeyManager(SECRET, "default", ""));
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtTokenProvider, new JwtClaimsCache(10_000), new SimpleMeterRegistry(),
+                new TokenRevocationList(1));
+        token = jwtTokenProvider.generateToken("admin", "ADMIN");
+        request = new MockHttpServletRequest("GET", "/tax/tipos");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenProvider.generateToken("admin", "ADMIN");
+    }
+
+    @Benchmark
+    public Claims getClaims() {
+        return jwtTokenProvider.getClaims(token);
+    }
+
+    // Token repetido: a partir da segunda chamada as claims vêm do JwtClaimsCache
+    @Benchmark
+    public Object doFilterInternal() throws Exception {
+        try {
+            jwtAuthenticationFilter.doFilterInternal(request, response, NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.zup.desafio_imposto.loadtest;
+
+import com.zup.desafio_imposto.loadtest.LoadTestSettings.Operation;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Dispara requisições com um número fixo de workers em laço fechado, sorteando a operação pelos pesos do mix.
+// Cada worker grava em histogramas próprios, somados no fim, para não disputar estado durante a medição.
+class LoadGenerator {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.SECONDS.toNanos(60);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final LoadTestSettings settings;
+    private final Map<Operation, Function<SplittableRandom, HttpRequest>> requestFactories;
+    private final Operation[] weightedOperations;
+
+    LoadGenerator(HttpClient httpClient, String baseUrl, LoadTestSettings settings,
+                  Map<Operation, Function<SplittableRandom, HttpRequest>> requestFactories) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.settings = settings;
+        this.requestFactories = requestFactories;
+        List<Operation> operations = new ArrayList<>();
+        settings.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                operations.add(operation);
+            }
+        });
+        this.weightedOperations = operations.toArray(Operation[]::new);
+    }
+
+    URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    // Roda pelo tempo de aquecimento descartando as medidas, depois pelo tempo de medição
+    Result run() throws Exception {
+        runPhase(settings.warmup().toNanos(), 1);
+        long start = System.nanoTime();
+        Result result = runPhase(settings.duration().toNanos(), 2);
+        return result.withElapsedNanos(System.nanoTime() - start);
+    }
+
+    private Result runPhase(long durationNanos, long seed) throws Exception {
+        long deadline = System.nanoTime() + durationNanos;
+        ExecutorService workers = Executors.newFixedThreadPool(settings.concurrency());
+        try {
+            List<Future<Result>> futures = new ArrayList<>();
+            for (int i = 0; i < settings.concurrency(); i++) {
+                SplittableRandom random = new SplittableRandom(seed * 1_000 + i);
+                futures.add(workers.submit(() -> runWorker(deadline, random)));
+            }
+            Result total = new Result();
+            for (Future<Result> future : futures) {
+                total.add(future.get());
+            }
+            return total;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private Result runWorker(long deadline, SplittableRandom random) throws InterruptedException {
+        Result result = new Result();
+        while (System.nanoTime() < deadline) {
+            Operation operation = weightedOperations[random.nextInt(weightedOperations.length)];
+            HttpRequest request = requestFactories.get(operation).apply(random);
+            long startNanos = System.nanoTime();
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                result.record(operation, System.nanoTime() - startNanos, response.statusCode());
+            } catch (IOException e) {
+                result.recordFailure(operation);
+            }
+        }
+        return result;
+    }
+
+    static final class Result {
+
+        private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, Map<Integer, Long>> statusCounts = new EnumMap<>(Operation.class);
+        private final Map<Operation, Long> failures = new EnumMap<>(Operation.class);
+        private long elapsedNanos;
+
+        private void record(Operation operation, long latencyNanos, int status) {
+            latencies.computeIfAbsent(operation, o -> new Histogram(MAX_TRACKABLE_NANOS, SIGNIFICANT_DIGITS))
+                    .recordValue(Math.min(latencyNanos, MAX_TRACKABLE_NANOS));
+            statusCounts.computeIfAbsent(operation, o -> new TreeMap<>()).merge(status, 1L, Long::sum);
+        }
+
+        private void recordFailure(Operation operation) {
+            failures.merge(operation, 1L, Long::sum);
+        }
+
+        private void add(Result other) {
+            other.latencies.forEach((operation, histogram) ->
+                    latencies.computeIfAbsent(operation, o -> new Histogram(MAX_TRACKABLE_NANOS, SIGNIFICANT_DIGITS)).add(histogram));
+            other.statusCounts.forEach((operation, counts) ->
+                    counts.forEach((status, count) ->
+                            statusCounts.computeIfAbsent(operation, o -> new TreeMap<>()).merge(status, count, Long::sum)));
+            other.failures.forEach((operation, count) -> failures.merge(operation, count, Long::sum));
+        }
+
+        private Result withElapsedNanos(long elapsedNanos) {
+            this.elapsedNanos = elapsedNanos;
+            return this;
+        }
+
+        Map<Operation, Histogram> latencies() {
+            return latencies;
+        }
+
+        // Respostas fora de 2xx/304 e falhas de conexão
+        long errors() {
+            long errors = failures.values().stream().mapToLong(Long::longValue).sum();
+            for (Map<Integer, Long> counts : statusCounts.values()) {
+                for (Map.Entry<Integer, Long> entry : counts.entrySet()) {
+                    int status = entry.getKey();
+                    if ((status < 200 || status >= 300) && status != 304) {
+                        errors += entry.getValue();
+                    }
+                }
+            }
+            return errors;
+        }
+
+        double p99Millis(Operation operation) {
+            Histogram histogram = latencies.get(operation);
+            return histogram == null ? 0.0 : histogram.getValueAtPercentile(99.0) / 1e6;
+        }
+
+        void printSummary(PrintStream out) {
+            double seconds = elapsedNanos / 1e9;
+            long totalCount = 0;
+            out.printf("%-10s %10s %10s %9s %9s %9s %9s  %s%n", "operação", "requisições", "req/s", "p50 ms", "p99 ms", "p999 ms", "máx ms", "status");
+            for (Map.Entry<Operation, Histogram> entry : latencies.entrySet()) {
+                Histogram histogram = entry.getValue();
+                totalCount += histogram.getTotalCount();
+                out.printf("%-10s %10d %10.1f %9.2f %9.2f %9.2f %9.2f  %s%s%n",
+                        entry.getKey().key(),
+                        histogram.getTotalCount(),
+                        histogram.getTotalCount() / seconds,
+                        histogram.getValueAtPercentile(50.0) / 1e6,
+                        histogram.getValueAtPercentile(99.0) / 1e6,
+                        histogram.getValueAtPercentile(99.9) / 1e6,
+                        histogram.getMaxValue() / 1e6,
+                        statusCounts.get(entry.getKey()),
+                        failures.containsKey(entry.getKey()) ? " falhas=" + failures.get(entry.getKey()) : "");
+            }
+            out.printf("total: %d requisições em %.1f s (%.1f req/s), %d erros%n", totalCount, seconds, totalCount / seconds, errors());
+        }
+
+        // Distribuição completa no formato .hgrm, em milissegundos, para comparar execuções
+        void printPercentileDistribution(Operation operation, PrintStream out) {
+            latencies.get(operation).outputPercentileDistribution(out, 1e6);
+        }
+    }
+}
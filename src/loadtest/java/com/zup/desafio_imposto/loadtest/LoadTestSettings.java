@@ -0,0 +1,78 @@
+package com.zup.desafio_imposto.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Parâmetros do teste de carga, lidos das propriedades de sistema (-Dloadtest.*)
+record LoadTestSettings(int concurrency, Duration warmup, Duration duration, Map<Operation, Integer> mix,
+                        int taxTypes, int loginUsers, long maxP99Millis, Duration dbLatency) {
+
+    static final String DEFAULT_MIX = "login=1,login-cached=1,list=4,get=10,calculate=25";
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.concurrency", 16),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30)),
+                parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX)),
+                Integer.getInteger("loadtest.tax-types", 50),
+                // Usuários em rodízio na operação login; nenhum pode se repetir dentro do TTL do cache de login
+                Integer.getInteger("loadtest.login-users", 20000),
+                // 0 desliga o limite; acima dele o teste falha
+                Long.getLong("loadtest.max-p99-ms", 0),
+                // Espera somada a cada comando JDBC, para simular a ida e volta até o PostgreSQL
+                Duration.ofMillis(Long.getLong("loadtest.db-latency-ms", 0)));
+    }
+
+    // Formato "operacao=peso,...", ex.: "get=10,calculate=25"
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Entrada inválida em loadtest.mix: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Peso negativo em loadtest.mix: " + entry);
+            }
+            if (weight > 0) {
+                weights.put(Operation.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix precisa de ao menos uma operação com peso positivo");
+        }
+        return weights;
+    }
+
+    enum Operation {
+        // Sem cache: cada requisição verifica a senha com BCrypt
+        LOGIN("login"),
+        // Mesmas credenciais repetidas: mede o acerto no LoginResultCache
+        LOGIN_CACHED("login-cached"),
+        LIST("list"),
+        GET("get"),
+        CALCULATE("calculate");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+
+        String key() {
+            return key;
+        }
+
+        static Operation fromKey(String key) {
+            for (Operation operation : values()) {
+                if (operation.key.equals(key)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Operação desconhecida em loadtest.mix: " + key);
+        }
+    }
+}
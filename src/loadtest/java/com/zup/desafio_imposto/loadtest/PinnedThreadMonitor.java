@@ -0,0 +1,78 @@
+package com.zup.desafio_imposto.loadtest;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// Registra, via JFR, os momentos em que uma virtual thread bloqueou sem liberar a carrier thread
+// (ex.: I/O dentro de um bloco synchronized no driver JDBC, no Hikari ou no Hibernate).
+// Cada ocorrência é agrupada pelo trecho da pilha, do primeiro frame fora do JDK até o topo.
+class PinnedThreadMonitor implements AutoCloseable {
+
+    private static final int FRAMES_PER_STACK = 8;
+
+    private final RecordingStream stream = new RecordingStream();
+    private final Map<String, LongAdder> pinnedByStack = new ConcurrentHashMap<>();
+    private final LongAdder pinnedTotal = new LongAdder();
+
+    PinnedThreadMonitor(Duration threshold) {
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::record);
+        stream.startAsync();
+    }
+
+    // Espera o processamento dos eventos ainda em buffer
+    void stop() {
+        stream.stop();
+    }
+
+    long pinnedTotal() {
+        return pinnedTotal.sum();
+    }
+
+    private void record(RecordedEvent event) {
+        pinnedTotal.increment();
+        String stack = event.getStackTrace() == null ? "(sem pilha)" : describe(event.getStackTrace().getFrames());
+        pinnedByStack.computeIfAbsent(stack, key -> new LongAdder()).increment();
+    }
+
+    private static String describe(List<RecordedFrame> frames) {
+        // Os frames do JDK (park, sleep, socket) são iguais em todo pinning; o que identifica a causa é quem os chamou
+        int firstApplicationFrame = 0;
+        while (firstApplicationFrame < frames.size() && isJdkFrame(frames.get(firstApplicationFrame))) {
+            firstApplicationFrame++;
+        }
+        return frames.stream()
+                .skip(Math.max(0, firstApplicationFrame - 1))
+                .limit(FRAMES_PER_STACK)
+                .map(frame -> "    at " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    private static boolean isJdkFrame(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.");
+    }
+
+    void printReport(PrintStream out) {
+        out.printf("virtual threads presas à carrier: %d%n", pinnedTotal());
+        pinnedByStack.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+                .limit(10)
+                .forEach(entry -> out.printf("%n%d ocorrência(s):%n%s%n", entry.getValue().sum(), entry.getKey()));
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+}
@@ -0,0 +1,69 @@
+package com.zup.desafio_imposto.loadtest;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+// O H2 em memória responde em microssegundos; esta camada soma uma espera fixa a cada comando executado
+// para que as threads fiquem bloqueadas em I/O como ficariam com o PostgreSQL na rede.
+// É nesse bloqueio que platform threads e virtual threads se diferenciam.
+class SimulatedLatencyDataSource extends DelegatingDataSource {
+
+    private final Duration latency;
+
+    SimulatedLatencyDataSource(DataSource target, Duration latency) {
+        super(target);
+        this.latency = latency;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement && method.getReturnType().isInterface()) {
+                return wrapStatement(statement, method.getReturnType());
+            }
+            return result;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <S> S wrapStatement(Statement statement, Class<S> type) {
+        return proxy(type, (S) statement, (proxy, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                Thread.sleep(latency);
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SimulatedLatencyDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
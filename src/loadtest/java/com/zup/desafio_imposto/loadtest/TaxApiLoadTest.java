@@ -0,0 +1,304 @@
+package com.zup.desafio_imposto.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zup.desafio_imposto.cache.CacheStats;
+import com.zup.desafio_imposto.cache.LoginResultCache;
+import com.zup.desafio_imposto.loadtest.LoadTestSettings.Operation;
+import com.zup.desafio_imposto.models.Role;
+import com.zup.desafio_imposto.models.TaxType;
+import com.zup.desafio_imposto.models.User;
+import com.zup.desafio_imposto.repositories.RoleRepository;
+import com.zup.desafio_imposto.repositories.TaxTypeRepository;
+import com.zup.desafio_imposto.repositories.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Teste de carga de ponta a ponta: Tomcat, cadeia de segurança, Jackson, validação e JPA sobre H2 em memória.
+// Roda apenas com o perfil loadtest; os parâmetros vêm de -Dloadtest.* (ver LoadTestSettings).
+@Tag("loadtest")
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "JWT_SECRET_KEY=Y2hhdmUtZGUtdGVzdGUtY29tLXBlbG8tbWVub3MtMjU2LWJpdHM=",
+        // Custo fixo: a calibração na inicialização tornaria as execuções incomparáveis entre máquinas
+        "security.password.bcrypt-cost=10",
+        "logging.level.root=WARN"
+})
+class TaxApiLoadTest {
+
+    private static final String USERNAME = "loadtest";
+    private static final String PASSWORD = "loadtest-password";
+    private static final Duration PINNED_THRESHOLD = Duration.ofMillis(1);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private TaxTypeRepository taxTypeRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LoginResultCache loginResultCache;
+
+    // Relatórios separados por modo, para comparar as duas execuções lado a lado
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${security.login-cache.ttl-seconds:30}")
+    private long loginCacheTtlSeconds;
+
+    // Com latência simulada, troca o DataSource por um que espera antes de cada comando JDBC
+    @TestConfiguration
+    static class LatencyConfig {
+
+        @Bean
+        static BeanPostProcessor simulatedDbLatency() {
+            Duration latency = LoadTestSettings.fromSystemProperties().dbLatency();
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !latency.isZero()) {
+                        return new SimulatedLatencyDataSource(dataSource, latency);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    @Test
+    void shouldSustainConfiguredLoad() throws Exception {
+        // Arrange
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        List<Long> taxIds = seedData(settings.taxTypes());
+        List<String> loginUsers = seedLoginUsers(settings.loginUsers());
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String baseUrl = "http://localhost:" + port;
+        String token = login(httpClient, baseUrl);
+
+        Map<Operation, Function<SplittableRandom, HttpRequest>> requests = new EnumMap<>(Operation.class);
+        String loginBody = loginBody(USERNAME);
+        requests.put(Operation.LOGIN_CACHED, random -> jsonPost(baseUrl + "/users/login", loginBody, null));
+        // Rodízio sobre usuários distintos: enquanto nenhum se repete dentro do TTL do cache, todo login roda o BCrypt
+        LoginRotation loginRotation = new LoginRotation(loginUsers, Duration.ofSeconds(loginCacheTtlSeconds));
+        requests.put(Operation.LOGIN, random -> jsonPost(baseUrl + "/users/login", loginBody(loginRotation.next()), null));
+        requests.put(Operation.LIST, random -> authorizedGet(baseUrl + "/tax/tipos?size=20", token));
+        requests.put(Operation.GET, random -> authorizedGet(baseUrl + "/tax/tipos/" + pick(taxIds, random), token));
+        requests.put(Operation.CALCULATE, random -> jsonPost(baseUrl + "/tax/calculo",
+                "{\"taxId\":" + pick(taxIds, random) + ",\"baseValue\":" + randomBaseValue(random) + "}", token));
+        LoadGenerator loadGenerator = new LoadGenerator(httpClient, baseUrl, settings, requests);
+
+        // Act
+        LoadGenerator.Result result;
+        try (PinnedThreadMonitor pinnedThreads = new PinnedThreadMonitor(PINNED_THRESHOLD)) {
+            result = loadGenerator.run();
+            pinnedThreads.stop();
+            writePinnedReport(pinnedThreads);
+        }
+
+        // Assert
+        writeReport(settings, result);
+        writeMetricsSnapshot(httpClient, baseUrl, token);
+        assertEquals(0, result.errors(), "Respostas com erro durante a carga");
+        assertEquals(0, loginRotation.reusedWithinTtl(),
+                "Logins sem cache repetiram usuário dentro do TTL do cache; aumente loadtest.login-users");
+        if (settings.maxP99Millis() > 0) {
+            for (Operation operation : result.latencies().keySet()) {
+                assertTrue(result.p99Millis(operation) <= settings.maxP99Millis(),
+                        () -> "p99 de " + operation.key() + " acima de " + settings.maxP99Millis() + " ms");
+            }
+        }
+    }
+
+    private List<Long> seedData(int taxTypes) {
+        Role admin = roleRepository.save(new Role(null, "ROLE_ADMIN"));
+        userRepository.save(new User(null, USERNAME, passwordEncoder.encode(PASSWORD), Set.of(admin)));
+        return IntStream.rangeClosed(1, taxTypes)
+                .mapToObj(i -> taxTypeRepository.save(new TaxType(null, "Imposto " + i, "Imposto de carga " + i,
+                        BigDecimal.valueOf(i % 30 + 1).add(BigDecimal.valueOf(i % 100, 2)).doubleValue())))
+                .map(TaxType::getId)
+                .toList();
+    }
+
+    // Todos compartilham o mesmo hash: o BCrypt roda uma vez na preparação, e o custo da verificação é o mesmo
+    private List<String> seedLoginUsers(int count) {
+        Role user = roleRepository.save(new Role(null, "ROLE_USER"));
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        List<String> usernames = IntStream.rangeClosed(1, count).mapToObj(i -> "loadtest-" + i).toList();
+        userRepository.saveAll(usernames.stream()
+                .map(username -> new User(null, username, passwordHash, Set.of(user)))
+                .toList());
+        return usernames;
+    }
+
+    private String loginBody(String username) {
+        try {
+            return objectMapper.writeValueAsString(Map.of("username", username, "password", PASSWORD));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Entrega os usuários em ordem circular e conta as vezes em que um deles voltou antes de sua entrada no cache expirar
+    private static final class LoginRotation {
+
+        private final List<String> usernames;
+        private final long ttlNanos;
+        private final AtomicLong next = new AtomicLong();
+        private final AtomicLongArray lastUsedNanos;
+        private final LongAdder reusedWithinTtl = new LongAdder();
+
+        private LoginRotation(List<String> usernames, Duration ttl) {
+            this.usernames = usernames;
+            this.ttlNanos = ttl.toNanos();
+            this.lastUsedNanos = new AtomicLongArray(usernames.size());
+        }
+
+        private String next() {
+            int index = (int) (next.getAndIncrement() % usernames.size());
+            long now = System.nanoTime();
+            long previous = lastUsedNanos.getAndSet(index, now);
+            if (previous != 0 && now - previous < ttlNanos) {
+                reusedWithinTtl.increment();
+            }
+            return usernames.get(index);
+        }
+
+        private long reusedWithinTtl() {
+            return reusedWithinTtl.sum();
+        }
+    }
+
+    private String login(HttpClient httpClient, String baseUrl) throws Exception {
+        String body = loginBody(USERNAME);
+        HttpResponse<String> response = httpClient.send(jsonPost(baseUrl + "/users/login", body, null),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), response.body());
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private static HttpRequest authorizedGet(String url, String token) {
+        return HttpRequest.newBuilder(java.net.URI.create(url))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private static HttpRequest jsonPost(String url, String body, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(java.net.URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private static long pick(List<Long> ids, SplittableRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    // Valores com 2 casas decimais entre R$ 0,01 e R$ 100.000,00
+    private static String randomBaseValue(SplittableRandom random) {
+        return BigDecimal.valueOf(random.nextLong(1, 10_000_001), 2).setScale(2, RoundingMode.UNNECESSARY).toPlainString();
+    }
+
+    private Path reportDir() throws Exception {
+        return Files.createDirectories(Path.of("target", "loadtest", virtualThreads ? "virtual" : "platform"));
+    }
+
+    // Métricas do servidor ao fim da carga, para cruzar os percentis do cliente com os timers por camada
+    private void writeMetricsSnapshot(HttpClient httpClient, String baseUrl, String token) throws Exception {
+        HttpResponse<Path> response = httpClient.send(authorizedGet(baseUrl + "/actuator/prometheus", token),
+                HttpResponse.BodyHandlers.ofFile(reportDir().resolve("metrics.prom")));
+        assertEquals(200, response.statusCode());
+    }
+
+    private void writePinnedReport(PinnedThreadMonitor pinnedThreads) throws Exception {
+        try (PrintStream pinned = new PrintStream(Files.newOutputStream(reportDir().resolve("pinned.txt")), true, StandardCharsets.UTF_8)) {
+            pinnedThreads.printReport(pinned);
+        }
+    }
+
+    private void writeReport(LoadTestSettings settings, LoadGenerator.Result result) throws Exception {
+        Path reportDir = reportDir();
+        // Threads de plataforma (Tomcat, Hikari, cliente) e heap ao fim da carga: o custo de memória de cada modo
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        CacheStats loginCache = loginResultCache.stats();
+        String header = String.format("threads=%s concorrência=%d aquecimento=%ds duração=%ds latência-db=%dms mix=%s%n"
+                        + "pico de threads de plataforma=%d heap usado=%d MiB heap comprometido=%d MiB%n"
+                        + "cache de login: acertos=%d falhas=%d (usuários no rodízio de login=%d)%n",
+                virtualThreads ? "virtual" : "plataforma", settings.concurrency(), settings.warmup().toSeconds(),
+                settings.duration().toSeconds(), settings.dbLatency().toMillis(), settings.mix(),
+                threads.getPeakThreadCount(), heap.getUsed() >> 20, heap.getCommitted() >> 20,
+                loginCache.hits(), loginCache.misses(), settings.loginUsers());
+        System.out.print(header);
+        result.printSummary(System.out);
+        try (PrintStream summary = new PrintStream(Files.newOutputStream(reportDir.resolve("summary.txt")), true, StandardCharsets.UTF_8)) {
+            summary.print(header);
+            result.printSummary(summary);
+        }
+        for (Operation operation : result.latencies().keySet()) {
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(reportDir.resolve(operation.key() + ".hgrm")), true, StandardCharsets.UTF_8)) {
+                result.printPercentileDistribution(operation, hgrm);
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.zup.desafio_imposto.cache;
+
+public record CacheStats(long hits, long misses, long evictions, int size) {
+
+    public double hitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
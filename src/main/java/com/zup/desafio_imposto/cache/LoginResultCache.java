@@ -0,0 +1,162 @@
+package com.zup.desafio_imposto.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Cache curto de logins bem-sucedidos, indexado pelo nome de usuário.
+// Apps móveis repetem o POST /users/login várias vezes em poucos segundos; enquanto a entrada vale,
+// a repetição é autenticada sem buscar o usuário no banco nem rodar o BCrypt.
+// Só a autenticação fica guardada (os papéis do usuário), nunca os tokens: cada resposta recebe access e
+// refresh token próprios, então dois dispositivos com as mesmas credenciais não compartilham sessão.
+// A senha nunca é guardada: a entrada só tem um HMAC de usuário + senha, com chave aleatória gerada na
+// inicialização, e só é usada se a senha apresentada produzir o mesmo HMAC. Senha errada sempre cai no BCrypt.
+// Toda alteração de senha ou papéis de um usuário deve passar por AuthenticationService.invalidateSessions, que chama
+// evictUser. A remoção vale para esta instância; nas demais a entrada expira pelo TTL.
+@Component
+public class LoginResultCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private record CachedLogin(byte[] credentialsMac, String roles, long expiresAtMillis) {}
+
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Clock clock;
+    private final ThreadLocal<Mac> mac;
+
+    private final ConcurrentHashMap<String, CachedLogin> entries = new ConcurrentHashMap<>();
+
+    // Incrementado a cada invalidação para descartar logins concorrentes que ficaram desatualizados
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public LoginResultCache(@Value("${security.login-cache.enabled:true}") boolean enabled,
+                            @Value("${security.login-cache.ttl-seconds:30}") long ttlSeconds,
+                            @Value("${security.login-cache.max-entries:10000}") int maxEntries) {
+        this(enabled, ttlSeconds, maxEntries, Clock.systemUTC());
+    }
+
+    public LoginResultCache(boolean enabled, long ttlSeconds, int maxEntries, Clock clock) {
+        if (ttlSeconds <= 0) {
+            throw new IllegalArgumentException("O tempo de vida do cache de login deve ser maior que zero");
+        }
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("O tamanho máximo do cache deve ser maior que zero");
+        }
+        this.enabled = enabled;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+
+        byte[] keyBytes = new byte[32];
+        new SecureRandom().nextBytes(keyBytes);
+        SecretKeySpec key = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+        // Mac não é thread-safe; cada thread inicializa o seu com a mesma chave
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(HMAC_ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Algoritmo " + HMAC_ALGORITHM + " não disponível", e);
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Lido antes de buscar o usuário e repassado a put
+    public long invalidationStamp() {
+        return invalidations.get();
+    }
+
+    // Papéis do login em cache (separados por vírgula, como na claim "role"), ou null se for preciso autenticar
+    public String get(String username, String password) {
+        if (!enabled || username == null || password == null) {
+            return null;
+        }
+        CachedLogin cached = entries.get(username);
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        if (clock.millis() >= cached.expiresAtMillis()) {
+            if (entries.remove(username, cached)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        // Comparação em tempo constante
+        if (!MessageDigest.isEqual(cached.credentialsMac(), credentialsMac(username, password))) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return cached.roles();
+    }
+
+    public void put(String username, String password, String roles, long invalidationStampBeforeLogin) {
+        if (!enabled || username == null || password == null) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            removeExpired();
+            if (entries.size() >= maxEntries) {
+                return; // Cache cheio de logins ainda válidos: a próxima repetição passa pelo BCrypt
+            }
+        }
+        CachedLogin cached = new CachedLogin(credentialsMac(username, password), roles, clock.millis() + ttlMillis);
+        entries.put(username, cached);
+        // Conferido depois de gravar: se houve invalidação no meio do login, a entrada é retirada aqui
+        // ou pela própria invalidação, que remove depois de incrementar o contador
+        if (invalidations.get() != invalidationStampBeforeLogin) {
+            entries.remove(username, cached);
+        }
+    }
+
+    public void evictUser(String username) {
+        invalidations.incrementAndGet();
+        if (entries.remove(username) != null) {
+            evictions.increment();
+        }
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+    }
+
+    private byte[] credentialsMac(String username, String password) {
+        Mac instance = mac.get();
+        instance.update(username.getBytes(StandardCharsets.UTF_8));
+        // Separador para que ("ab", "c") e ("a", "bc") não produzam o mesmo HMAC
+        instance.update((byte) 0);
+        return instance.doFinal(password.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void removeExpired() {
+        long now = clock.millis();
+        int sizeBefore = entries.size();
+        entries.values().removeIf(cached -> now >= cached.expiresAtMillis());
+        evictions.add(Math.max(0, sizeBefore - entries.size()));
+    }
+}
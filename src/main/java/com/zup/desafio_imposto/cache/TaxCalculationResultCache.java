@@ -0,0 +1,179 @@
+package com.zup.desafio_imposto.cache;
+
+import com.zup.desafio_imposto.dtos.response.CalculateTaxTypeResponseDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Cache opcional de resultados de cálculo, indexado por (imposto, valor base, dia de referência).
+// Integrações de ponto de venda repetem os mesmos preços; um acerto devolve o resultado sem buscar o imposto nem calcular.
+// Dividido em segmentos LRU com trava própria para que leituras concorrentes não disputem uma única trava;
+// a ordem de uso é mantida por segmento, então o descarte é um LRU aproximado.
+// Toda escrita em TaxType deve chamar evictTax para que resultados antigos não sobrevivam; escritas de outras
+// instâncias levam a clear, chamado pelo TaxTypeServiceImpl quando a versão do catálogo muda.
+@Component
+public class TaxCalculationResultCache {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private final boolean enabled;
+    private final Segment[] segments;
+
+    // Incrementado a cada invalidação para descartar resultados calculados com um imposto desatualizado
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TaxCalculationResultCache(@Value("${tax.result-cache.enabled:false}") boolean enabled,
+                                     @Value("${tax.result-cache.max-entries:10000}") int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("O tamanho máximo do cache deve ser maior que zero");
+        }
+        this.enabled = enabled;
+        // Potência de 2 para escolher o segmento por máscara, sem ultrapassar maxEntries no total
+        int segmentCount = Integer.highestOneBit(Math.min(MAX_SEGMENTS, maxEntries));
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(maxEntries / segmentCount);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Lido antes de calcular e repassado a put
+    public long invalidationStamp() {
+        return invalidations.get();
+    }
+
+    public CalculateTaxTypeResponseDTO get(long taxId, double baseValue, long epochDay) {
+        if (!enabled) {
+            return null;
+        }
+        Key key = new Key(taxId, Double.doubleToLongBits(baseValue), epochDay);
+        CalculateTaxTypeResponseDTO result = segmentFor(key).get(key);
+        if (result != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return result;
+    }
+
+    public void put(long taxId, double baseValue, long epochDay, CalculateTaxTypeResponseDTO result, long invalidationStampBeforeCalculation) {
+        if (!enabled) {
+            return;
+        }
+        Key key = new Key(taxId, Double.doubleToLongBits(baseValue), epochDay);
+        segmentFor(key).put(key, result, invalidationStampBeforeCalculation);
+    }
+
+    public void evictTax(long taxId) {
+        invalidations.incrementAndGet();
+        for (Segment segment : segments) {
+            segment.removeTax(taxId);
+        }
+    }
+
+    public void clear() {
+        invalidations.incrementAndGet();
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public CacheStats stats() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    private Segment segmentFor(Key key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    private record Key(long taxId, long baseValueBits, long epochDay) {
+    }
+
+    private final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Key, CalculateTaxTypeResponseDTO> entries;
+
+        private Segment(int capacity) {
+            // accessOrder = true: cada get move a entrada para o fim, e a mais antiga é a menos usada
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, CalculateTaxTypeResponseDTO> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        private CalculateTaxTypeResponseDTO get(Key key) {
+            lock.lock();
+            try {
+                return entries.get(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void put(Key key, CalculateTaxTypeResponseDTO result, long invalidationStampBeforeCalculation) {
+            lock.lock();
+            try {
+                // Conferido sob a trava: uma invalidação posterior sempre remove o que entrou aqui
+                if (invalidations.get() == invalidationStampBeforeCalculation) {
+                    entries.put(key, result);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void removeTax(long taxId) {
+            lock.lock();
+            try {
+                int sizeBefore = entries.size();
+                entries.keySet().removeIf(key -> key.taxId() == taxId);
+                evictions.add(sizeBefore - entries.size());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void clear() {
+            lock.lock();
+            try {
+                evictions.add(entries.size());
+                entries.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int size() {
+            lock.lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
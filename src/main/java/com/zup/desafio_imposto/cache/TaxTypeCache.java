@@ -0,0 +1,126 @@
+package com.zup.desafio_imposto.cache;
+
+import com.zup.desafio_imposto.models.TaxType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Cache read-through dos tipos de imposto, indexado pelo ID.
+// Os tipos de imposto mudam raramente, então o caminho de cálculo só consulta o banco em caso de miss.
+// Toda escrita em TaxType deve passar por put/evict para manter o cache consistente; escritas feitas por outras
+// instâncias são percebidas pela versão do catálogo, e o TaxTypeServiceImpl chama clear.
+@Component
+public class TaxTypeCache {
+
+    private final ConcurrentHashMap<Long, TaxType> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    // Incrementado a cada invalidação para descartar carregamentos concorrentes que ficaram desatualizados
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TaxTypeCache(@Value("${tax.cache.max-entries:10000}") int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("O tamanho máximo do cache deve ser maior que zero");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    public Optional<TaxType> get(Long id, Function<Long, Optional<TaxType>> loader) {
+        TaxType cached = entries.get(id);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+        misses.increment();
+        long invalidationsBeforeLoad = invalidations.get();
+        Optional<TaxType> loaded = loader.apply(id);
+        loaded.ifPresent(taxType -> putIfNotInvalidated(taxType, invalidationsBeforeLoad));
+        return loaded;
+    }
+
+    public Map<Long, TaxType> getAll(Set<Long> ids, Function<Set<Long>, List<TaxType>> loader) {
+        Map<Long, TaxType> found = new HashMap<>(ids.size() * 2);
+        Set<Long> missingIds = new HashSet<>();
+        for (Long id : ids) {
+            TaxType cached = entries.get(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        hits.add(found.size());
+        misses.add(missingIds.size());
+
+        if (!missingIds.isEmpty()) {
+            long invalidationsBeforeLoad = invalidations.get();
+            for (TaxType taxType : loader.apply(missingIds)) {
+                found.put(taxType.getId(), taxType);
+                putIfNotInvalidated(taxType, invalidationsBeforeLoad);
+            }
+        }
+        return found;
+    }
+
+    public void put(TaxType taxType) {
+        invalidations.incrementAndGet();
+        store(taxType);
+    }
+
+    public void evict(Long id) {
+        invalidations.incrementAndGet();
+        if (entries.remove(id) != null) {
+            evictions.increment();
+        }
+    }
+
+    public void clear() {
+        invalidations.incrementAndGet();
+        int size = entries.size();
+        entries.clear();
+        evictions.add(size);
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+    }
+
+    private void putIfNotInvalidated(TaxType taxType, long invalidationsBeforeLoad) {
+        if (invalidations.get() == invalidationsBeforeLoad) {
+            store(taxType);
+        }
+    }
+
+    private void store(TaxType taxType) {
+        if (!entries.containsKey(taxType.getId())) {
+            evictIfFull();
+        }
+        entries.put(taxType.getId(), taxType);
+    }
+
+    // Não é LRU: remove as primeiras entradas na ordem de iteração do ConcurrentHashMap, que é arbitrária.
+    // Só descarta algo quando o catálogo passa de max-entries
+    private void evictIfFull() {
+        Iterator<Long> iterator = entries.keySet().iterator();
+        while (entries.size() >= maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.zup.desafio_imposto.calculation;
+
+import java.util.Arrays;
+
+// Tabela progressiva compilada em arrays primitivos ordenados pelo limite inferior.
+// A faixa de uma base é encontrada por busca binária, sem alocar objetos.
+public final class BracketSchedule {
+
+    public static final int NO_BRACKET = -1;
+
+    private final long[] lowerBoundsInMinorUnits;
+    private final long[] rateUnits;
+    private final long[] deductionsInMinorUnits;
+
+    public BracketSchedule(long[] lowerBoundsInMinorUnits, long[] rateUnits, long[] deductionsInMinorUnits) {
+        if (lowerBoundsInMinorUnits.length == 0
+                || lowerBoundsInMinorUnits.length != rateUnits.length
+                || lowerBoundsInMinorUnits.length != deductionsInMinorUnits.length) {
+            throw new IllegalArgumentException("A tabela progressiva deve ter ao menos uma faixa completa");
+        }
+        for (int i = 1; i < lowerBoundsInMinorUnits.length; i++) {
+            if (lowerBoundsInMinorUnits[i] <= lowerBoundsInMinorUnits[i - 1]) {
+                throw new IllegalArgumentException("Os limites inferiores das faixas devem ser distintos e crescentes");
+            }
+        }
+        this.lowerBoundsInMinorUnits = lowerBoundsInMinorUnits.clone();
+        this.rateUnits = rateUnits.clone();
+        this.deductionsInMinorUnits = deductionsInMinorUnits.clone();
+    }
+
+    // Índice da faixa com o maior limite inferior <= base, ou NO_BRACKET se a base fica abaixo da primeira faixa
+    public int bracketIndex(long baseInMinorUnits) {
+        int index = Arrays.binarySearch(lowerBoundsInMinorUnits, baseInMinorUnits);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    public long rateUnitsAt(int bracketIndex) {
+        return bracketIndex == NO_BRACKET ? 0 : rateUnits[bracketIndex];
+    }
+
+    public long calculateTax(long baseInMinorUnits, int bracketIndex, TaxRoundingMode roundingMode) {
+        if (bracketIndex == NO_BRACKET) {
+            return 0;
+        }
+        long tax = FixedPointTaxCalculator.calculateTax(baseInMinorUnits, rateUnits[bracketIndex],
+                deductionsInMinorUnits[bracketIndex], roundingMode);
+        // Uma parcela a deduzir maior que o imposto da faixa significa isenção, nunca imposto negativo
+        return Math.max(tax, 0);
+    }
+
+    public long calculateTax(long baseInMinorUnits, TaxRoundingMode roundingMode) {
+        return calculateTax(baseInMinorUnits, bracketIndex(baseInMinorUnits), roundingMode);
+    }
+
+    public int size() {
+        return lowerBoundsInMinorUnits.length;
+    }
+}
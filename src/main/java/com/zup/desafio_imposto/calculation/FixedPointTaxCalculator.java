@@ -0,0 +1,117 @@
+package com.zup.desafio_imposto.calculation;
+
+import java.math.BigDecimal;
+
+// Cálculo de imposto em ponto fixo: valores em centavos e alíquotas em décimos de milésimo de ponto percentual.
+// O caminho comum usa apenas long, sem alocação; só produtos que estouram 64 bits caem para BigDecimal.
+public final class FixedPointTaxCalculator {
+
+    public static final int MINOR_UNIT_SCALE = 100;
+    public static final int RATE_SCALE = 10_000;
+
+    // imposto = base (centavos) * alíquota (%) / 100, com a alíquota multiplicada por RATE_SCALE
+    static final long DIVISOR = 100L * RATE_SCALE;
+
+    // Maior inteiro representado exatamente em double
+    private static final long MAX_EXACT_DOUBLE_INTEGER = 1L << 53;
+
+    private FixedPointTaxCalculator() {
+    }
+
+    public static long calculateTax(long baseInMinorUnits, long rateUnits, TaxRoundingMode roundingMode) {
+        return calculateTax(baseInMinorUnits, rateUnits, 0, roundingMode);
+    }
+
+    // imposto = base * alíquota - parcela a deduzir, com um único arredondamento no final
+    public static long calculateTax(long baseInMinorUnits, long rateUnits, long deductionInMinorUnits, TaxRoundingMode roundingMode) {
+        long product = baseInMinorUnits * rateUnits;
+        long scaledDeduction = deductionInMinorUnits * DIVISOR;
+        long numerator = product - scaledDeduction;
+        boolean overflow = Math.multiplyHigh(baseInMinorUnits, rateUnits) != (product >> 63)
+                || Math.multiplyHigh(deductionInMinorUnits, DIVISOR) != (scaledDeduction >> 63)
+                || ((product ^ scaledDeduction) & (product ^ numerator)) < 0;
+        if (overflow) {
+            return calculateTaxExact(baseInMinorUnits, rateUnits, deductionInMinorUnits, roundingMode);
+        }
+        return divideAndRound(numerator, DIVISOR, roundingMode);
+    }
+
+    // Imposto "por dentro": a base informada não contém o imposto, que passa a integrar a base final
+    public static long calculateTaxInclusive(long baseInMinorUnits, long rateUnits, TaxRoundingMode roundingMode) {
+        long divisor = DIVISOR - rateUnits;
+        if (divisor <= 0) {
+            throw new IllegalArgumentException("A alíquota de um imposto por dentro deve ser menor que 100%");
+        }
+        long product = baseInMinorUnits * rateUnits;
+        if (Math.multiplyHigh(baseInMinorUnits, rateUnits) != (product >> 63)) {
+            return divideExact(BigDecimal.valueOf(baseInMinorUnits).multiply(BigDecimal.valueOf(rateUnits)), divisor, roundingMode);
+        }
+        return divideAndRound(product, divisor, roundingMode);
+    }
+
+    // Converte um valor monetário em centavos; valores com mais de 2 casas decimais são recusados
+    public static long toMinorUnits(double value) {
+        return toScaledUnits(value, MINOR_UNIT_SCALE, "O valor base deve ter no máximo 2 casas decimais");
+    }
+
+    // Converte uma alíquota percentual (ex.: 18.25) em unidades de RATE_SCALE
+    public static long toRateUnits(double rate) {
+        return toScaledUnits(rate, RATE_SCALE, "A alíquota deve ter no máximo 4 casas decimais");
+    }
+
+    public static double fromRateUnits(long rateUnits) {
+        return (double) rateUnits / RATE_SCALE;
+    }
+
+    public static double fromMinorUnits(long minorUnits) {
+        return (double) minorUnits / MINOR_UNIT_SCALE;
+    }
+
+    static long divideAndRound(long numerator, long divisor, TaxRoundingMode roundingMode) {
+        long quotient = numerator / divisor;
+        long remainder = numerator % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        // A divisão do Java trunca em direção a zero; "incrementar" significa afastar de zero
+        long signum = numerator < 0 ? -1 : 1;
+        int comparedToHalf = Long.compare(Math.abs(remainder) * 2, divisor);
+        boolean awayFromZero = switch (roundingMode) {
+            case UP -> true;
+            case DOWN -> false;
+            case HALF_UP -> comparedToHalf >= 0;
+            case HALF_EVEN -> comparedToHalf > 0 || (comparedToHalf == 0 && (quotient & 1) != 0);
+        };
+        return awayFromZero ? quotient + signum : quotient;
+    }
+
+    private static long calculateTaxExact(long baseInMinorUnits, long rateUnits, long deductionInMinorUnits, TaxRoundingMode roundingMode) {
+        BigDecimal numerator = BigDecimal.valueOf(baseInMinorUnits)
+                .multiply(BigDecimal.valueOf(rateUnits))
+                .subtract(BigDecimal.valueOf(deductionInMinorUnits).multiply(BigDecimal.valueOf(DIVISOR)));
+        return divideExact(numerator, DIVISOR, roundingMode);
+    }
+
+    private static long divideExact(BigDecimal numerator, long divisor, TaxRoundingMode roundingMode) {
+        try {
+            return numerator.divide(BigDecimal.valueOf(divisor), 0, roundingMode.toRoundingMode()).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("O valor do imposto excede o limite suportado");
+        }
+    }
+
+    private static long toScaledUnits(double value, int scale, String inexactMessage) {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("Valor numérico inválido: " + value);
+        }
+        long units = Math.round(value * scale);
+        if (Math.abs(units) >= MAX_EXACT_DOUBLE_INTEGER) {
+            throw new IllegalArgumentException("Valor fora do intervalo suportado: " + value);
+        }
+        // O double mais próximo do decimal informado é o mesmo que units / scale quando não há casas extras
+        if ((double) units / scale != value) {
+            throw new IllegalArgumentException(inexactMessage);
+        }
+        return units;
+    }
+}
@@ -0,0 +1,39 @@
+package com.zup.desafio_imposto.calculation;
+
+import java.util.Arrays;
+
+// Vigências de alíquota de um imposto, ordenadas pelo início de vigência (em dias desde 1970-01-01).
+// Cada vigência vale até o início da seguinte; antes da primeira vale a alíquota base do imposto.
+public final class RateTimeline {
+
+    private final long baseRateUnits;
+    private final long[] validFromEpochDays;
+    private final long[] rateUnits;
+
+    public RateTimeline(long baseRateUnits, long[] validFromEpochDays, long[] rateUnits) {
+        if (validFromEpochDays.length == 0 || validFromEpochDays.length != rateUnits.length) {
+            throw new IllegalArgumentException("A linha do tempo deve ter ao menos uma vigência completa");
+        }
+        for (int i = 1; i < validFromEpochDays.length; i++) {
+            if (validFromEpochDays[i] <= validFromEpochDays[i - 1]) {
+                throw new IllegalArgumentException("Já existe uma alíquota com a mesma data de início de vigência");
+            }
+        }
+        this.baseRateUnits = baseRateUnits;
+        this.validFromEpochDays = validFromEpochDays.clone();
+        this.rateUnits = rateUnits.clone();
+    }
+
+    // Busca binária pela vigência com o maior início <= data, sem alocar objetos
+    public long rateUnitsAt(long epochDay) {
+        int index = Arrays.binarySearch(validFromEpochDays, epochDay);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        return index < 0 ? baseRateUnits : rateUnits[index];
+    }
+
+    public int size() {
+        return validFromEpochDays.length;
+    }
+}
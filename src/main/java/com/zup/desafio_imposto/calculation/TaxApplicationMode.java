@@ -0,0 +1,11 @@
+package com.zup.desafio_imposto.calculation;
+
+// Como o imposto incide sobre a base em um cálculo composto
+public enum TaxApplicationMode {
+    // imposto = base * alíquota
+    POR_FORA,
+    // O imposto integra a própria base: imposto = base * alíquota / (1 - alíquota)
+    POR_DENTRO;
+
+    public static final TaxApplicationMode DEFAULT = POR_FORA;
+}
@@ -0,0 +1,23 @@
+package com.zup.desafio_imposto.calculation;
+
+import java.math.RoundingMode;
+
+// Arredondamento do valor do imposto para centavos, configurado por tipo de imposto
+public enum TaxRoundingMode {
+    HALF_EVEN(RoundingMode.HALF_EVEN),
+    HALF_UP(RoundingMode.HALF_UP),
+    UP(RoundingMode.UP),
+    DOWN(RoundingMode.DOWN);
+
+    public static final TaxRoundingMode DEFAULT = HALF_EVEN;
+
+    private final RoundingMode roundingMode;
+
+    TaxRoundingMode(RoundingMode roundingMode) {
+        this.roundingMode = roundingMode;
+    }
+
+    public RoundingMode toRoundingMode() {
+        return roundingMode;
+    }
+}
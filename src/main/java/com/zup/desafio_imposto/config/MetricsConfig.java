@@ -0,0 +1,50 @@
+package com.zup.desafio_imposto.config;
+
+import com.zup.desafio_imposto.cache.CacheStats;
+import com.zup.desafio_imposto.cache.LoginResultCache;
+import com.zup.desafio_imposto.cache.TaxCalculationResultCache;
+import com.zup.desafio_imposto.cache.TaxTypeCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Function;
+
+@Configuration
+public class MetricsConfig {
+
+    // Expõe os contadores que os caches já mantêm; nada é contado de novo no caminho da requisição
+    @Bean
+    public MeterBinder cacheMetrics(TaxTypeCache taxTypeCache, TaxCalculationResultCache resultCache,
+                                    LoginResultCache loginResultCache) {
+        return registry -> {
+            bindCache(registry, "tax-types", taxTypeCache, TaxTypeCache::stats);
+            bindCache(registry, "tax-results", resultCache, TaxCalculationResultCache::stats);
+            bindCache(registry, "login-results", loginResultCache, LoginResultCache::stats);
+        };
+    }
+
+    // O Micrometer guarda o estado por referência fraca: o estado é o próprio cache, mantido vivo pelo contexto
+    static <T> void bindCache(MeterRegistry registry, String cacheName, T cache, Function<T, CacheStats> stats) {
+        // Nomes seguem o padrão de cache do Micrometer (cache.gets, cache.evictions, cache.size)
+        FunctionCounter.builder("cache.gets", cache, c -> stats.apply(c).hits())
+                .description("Leituras no cache")
+                .tags("cache", cacheName, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cache, c -> stats.apply(c).misses())
+                .description("Leituras no cache")
+                .tags("cache", cacheName, "result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", cache, c -> stats.apply(c).evictions())
+                .description("Entradas removidas do cache")
+                .tag("cache", cacheName)
+                .register(registry);
+        Gauge.builder("cache.size", cache, c -> stats.apply(c).size())
+                .description("Número de entradas no cache")
+                .tag("cache", cacheName)
+                .register(registry);
+    }
+}
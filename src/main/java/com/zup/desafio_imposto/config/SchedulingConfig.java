@@ -0,0 +1,11 @@
+package com.zup.desafio_imposto.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Tarefas em segundo plano: sincronização e poda da lista de tokens revogados, recarga das chaves JWT
+// e descarte dos caches de impostos quando outra instância altera o catálogo
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,90 @@
+package com.zup.desafio_imposto.config.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Escolhe o custo do BCrypt medindo a própria máquina na inicialização:
+// o maior custo cuja verificação ainda cabe no tempo alvo configurado.
+public final class BCryptCostCalibrator {
+
+    static final int MIN_COST = 10; // Padrão do BCryptPasswordEncoder; nunca calibramos abaixo disso
+    static final int MAX_COST = 16;
+    static final String ENCODING_ID = "bcrypt";
+
+    private static final Logger logger = LoggerFactory.getLogger(BCryptCostCalibrator.class);
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibracao-do-custo-bcrypt";
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private BCryptCostCalibrator() {
+    }
+
+    public static int calibrate(Duration targetVerifyTime) {
+        int cost = MIN_COST;
+        long elapsedNanos = measureVerifyNanos(cost);
+        while (cost < MAX_COST) {
+            long nextElapsedNanos = measureVerifyNanos(cost + 1);
+            if (nextElapsedNanos > targetVerifyTime.toNanos()) {
+                break;
+            }
+            cost++;
+            elapsedNanos = nextElapsedNanos;
+        }
+        logger.info("Custo do BCrypt calibrado em {} (verificação em {} ms, alvo de {} ms)",
+                cost, Duration.ofNanos(elapsedNanos).toMillis(), targetVerifyTime.toMillis());
+        return cost;
+    }
+
+    // Novas senhas são gravadas como "{bcrypt}..." no custo escolhido; hashes antigos sem prefixo continuam sendo aceitos
+    // e são sinalizados por upgradeEncoding para serem regravados no próximo login
+    public static PasswordEncoder delegatingEncoder(int cost) {
+        BCryptPasswordEncoder bcrypt = new CalibratedBCryptPasswordEncoder(cost);
+        DelegatingPasswordEncoder delegatingEncoder = new DelegatingPasswordEncoder(ENCODING_ID, Map.of(ENCODING_ID, bcrypt));
+        delegatingEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegatingEncoder;
+    }
+
+    // O BCryptPasswordEncoder só regrava hashes de custo menor. Aqui qualquer custo diferente do calibrado é regravado:
+    // depois de uma migração para uma máquina mais lenta, hashes caros demais para o tempo alvo também voltam ao custo atual
+    private static final class CalibratedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+        private final int cost;
+
+        private CalibratedBCryptPasswordEncoder(int cost) {
+            super(cost);
+            this.cost = cost;
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            if (encodedPassword == null || encodedPassword.isEmpty()) {
+                return false;
+            }
+            Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+            if (!matcher.find()) {
+                throw new IllegalArgumentException("Hash BCrypt em formato inválido");
+            }
+            return Integer.parseInt(matcher.group(1)) != cost;
+        }
+    }
+
+    private static long measureVerifyNanos(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        String hash = encoder.encode(SAMPLE_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.matches(SAMPLE_PASSWORD, hash);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
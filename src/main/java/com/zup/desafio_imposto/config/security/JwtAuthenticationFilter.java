@@ -1,25 +1,39 @@
 package com.zup.desafio_imposto.config.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
+
+// Só no modo servlet; no modo reativo o equivalente é o JwtAuthenticationWebFilter
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtTokenProvider jwtTokenProvider;
+    private final JwtClaimsResolver claimsResolver;
+
+    @Autowired
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider,
+                                   @Value("${security.jwt.claims-cache.max-entries:10000}") int claimsCacheMaxEntries,
+                                   MeterRegistry meterRegistry,
+                                   TokenRevocationList revocationList) {
+        this(jwtTokenProvider, new JwtClaimsCache(claimsCacheMaxEntries), meterRegistry, revocationList);
+    }
 
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider) {
-        this.jwtTokenProvider = jwtTokenProvider;
+    JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, JwtClaimsCache claimsCache, MeterRegistry meterRegistry,
+                            TokenRevocationList revocationList) {
+        this.claimsResolver = new JwtClaimsResolver(jwtTokenProvider, claimsCache, meterRegistry, revocationList);
     }
 
     @Override
@@ -39,34 +53,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
     private String extractToken(HttpServletRequest request) {
-        String authorizationHeader = request.getHeader("Authorization");
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            return authorizationHeader.substring(7);
-        }
-        return null;
+        return JwtClaimsResolver.extractToken(request.getHeader("Authorization"));
     }
 
     private void authenticateRequest(String token, HttpServletRequest request) {
-        if (jwtTokenProvider.validateToken(token)) {
-            String username = jwtTokenProvider.getUsername(token);
-            String role = (String) jwtTokenProvider.getClaims(token).get("role");
-
-            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                    username, null, List.of(new SimpleGrantedAuthority("ROLE_" + role))
-            );
-            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-        }
+        UsernamePasswordAuthenticationToken authentication = claimsResolver.authenticate(token);
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
     }
 
     private void handleInvalidToken(HttpServletResponse response, String errorMessage) throws IOException {
         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
-        response.getWriter().write(createErrorResponse(errorMessage));
-    }
-
-    private String createErrorResponse(String message) {
-        return String.format("{\"error\": \"%s\"}", message);
+        response.getWriter().write(JwtClaimsResolver.createErrorResponse(errorMessage));
     }
 }
@@ -0,0 +1,105 @@
+package com.zup.desafio_imposto.config.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Cache limitado de tokens já verificados -> claims, indexado pelo SHA-256 do token.
+// Uma entrada só é válida até o "exp" do próprio token; depois disso o token volta a ser verificado (e rejeitado).
+public class JwtClaimsCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Algoritmo SHA-256 não disponível", e);
+        }
+    });
+
+    // Quantas entradas uma inserção examina, no máximo, para abrir espaço quando o cache está cheio
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+
+    private record CachedClaims(Claims claims, long expiresAtMillis) {}
+
+    private final ConcurrentHashMap<String, CachedClaims> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final Clock clock;
+
+    public JwtClaimsCache(int maxEntries) {
+        this(maxEntries, Clock.systemUTC());
+    }
+
+    public JwtClaimsCache(int maxEntries, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    public static String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().encodeToString(hash);
+    }
+
+    public Claims get(String tokenDigest) {
+        CachedClaims cached = entries.get(tokenDigest);
+        if (cached == null) {
+            return null;
+        }
+        if (clock.millis() >= cached.expiresAtMillis()) {
+            entries.remove(tokenDigest, cached);
+            return null;
+        }
+        return cached.claims();
+    }
+
+    public void put(String tokenDigest, Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null || maxEntries <= 0) {
+            return; // Tokens sem expiração nunca são mantidos em cache
+        }
+        if (entries.size() >= maxEntries) {
+            evictOne();
+        }
+        entries.put(tokenDigest, new CachedClaims(claims, expiration.getTime()));
+    }
+
+    public void evict(String tokenDigest) {
+        entries.remove(tokenDigest);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Custo limitado por inserção: examina no máximo EVICTION_SAMPLE_SIZE entradas (em ordem arbitrária, não LRU)
+    // e remove a primeira já expirada ou, se nenhuma expirou, a que expira primeiro entre as examinadas.
+    private void evictOne() {
+        long now = clock.millis();
+        Map.Entry<String, CachedClaims> candidate = null;
+        Iterator<Map.Entry<String, CachedClaims>> iterator = entries.entrySet().iterator();
+        for (int examined = 0; examined < EVICTION_SAMPLE_SIZE && iterator.hasNext(); examined++) {
+            Map.Entry<String, CachedClaims> entry = iterator.next();
+            if (now >= entry.getValue().expiresAtMillis()) {
+                candidate = entry;
+                break;
+            }
+            if (candidate == null || entry.getValue().expiresAtMillis() < candidate.getValue().expiresAtMillis()) {
+                candidate = entry;
+            }
+        }
+        if (candidate != null) {
+            entries.remove(candidate.getKey(), candidate.getValue());
+        }
+    }
+}
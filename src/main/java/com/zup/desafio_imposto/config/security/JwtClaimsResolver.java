@@ -0,0 +1,87 @@
+package com.zup.desafio_imposto.config.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.concurrent.TimeUnit;
+
+// Leitura do token compartilhada pelo filtro servlet e pelo WebFilter reativo: cabeçalho, cache de claims,
+// métricas e montagem da autenticação. Não bloqueia; a verificação HMAC é só CPU
+public class JwtClaimsResolver {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final JwtClaimsCache claimsCache;
+    private final TokenRevocationList revocationList;
+
+    // Tempo para obter as claims: do cache ou verificando a assinatura
+    private final Timer cachedClaimsTimer;
+    private final Timer verifiedClaimsTimer;
+
+    public JwtClaimsResolver(JwtTokenProvider jwtTokenProvider, JwtClaimsCache claimsCache, MeterRegistry meterRegistry,
+                             TokenRevocationList revocationList) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.claimsCache = claimsCache;
+        this.revocationList = revocationList;
+        // Claims verificadas com uma chave aposentada não podem continuar valendo pelo cache
+        jwtTokenProvider.onKeyRetired(claimsCache::clear);
+        this.cachedClaimsTimer = claimsTimer(meterRegistry, "cache");
+        this.verifiedClaimsTimer = claimsTimer(meterRegistry, "signature");
+    }
+
+    private static Timer claimsTimer(MeterRegistry meterRegistry, String source) {
+        return Timer.builder("security.jwt.claims")
+                .description("Tempo para resolver as claims de um token JWT")
+                .tag("source", source)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // Nulo quando o cabeçalho não traz um token Bearer
+    public static String extractToken(String authorizationHeader) {
+        if (authorizationHeader != null && authorizationHeader.startsWith(BEARER_PREFIX)) {
+            return authorizationHeader.substring(BEARER_PREFIX.length());
+        }
+        return null;
+    }
+
+    public UsernamePasswordAuthenticationToken authenticate(String token) {
+        Claims claims = resolveClaims(token);
+        if (JwtTokenProvider.isRefreshToken(claims)) {
+            throw new RuntimeException("Refresh token não pode ser usado como token de acesso!");
+        }
+        // Conferido a cada requisição, inclusive com claims em cache: a revogação vale na hora
+        if (revocationList.isRevoked(claims.getId())) {
+            throw new RuntimeException("Token revogado!");
+        }
+        // Authorities vêm prontas da máscara do token: nenhuma consulta ao banco por requisição
+        return new UsernamePasswordAuthenticationToken(claims.getSubject(), null, RoleAuthorities.fromClaims(claims));
+    }
+
+    private Claims resolveClaims(String token) {
+        // Tokens repetidos dispensam nova verificação de assinatura até o "exp"
+        long start = System.nanoTime();
+        String tokenDigest = JwtClaimsCache.digest(token);
+        Claims claims = claimsCache.get(tokenDigest);
+        if (claims != null) {
+            cachedClaimsTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return claims;
+        }
+        try {
+            claims = jwtTokenProvider.getValidatedClaims(token);
+        } finally {
+            // Inclui tokens recusados: uma assinatura inválida custa o mesmo que uma válida
+            verifiedClaimsTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        claimsCache.put(tokenDigest, claims);
+        return claims;
+    }
+
+    // Corpo das respostas 401 por token inválido, igual nos dois filtros
+    public static String createErrorResponse(String message) {
+        return String.format("{\"error\": \"%s\"}", message);
+    }
+}
@@ -0,0 +1,184 @@
+package com.zup.desafio_imposto.config.security;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.DecodingException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Resolve as chaves de assinatura JWT uma única vez, na inicialização, e permite rotação sem reinício
+// (o JwtKeyReloader aplica as mudanças do arquivo de chaves). A chave atual assina os tokens; as anteriores
+// continuam válidas para verificação, identificadas pelo header "kid".
+@Component
+public class JwtKeyManager {
+
+    static final int MAX_PREVIOUS_KEYS = 3;
+    private static final int MIN_KEY_BYTES = 32; // HS256 exige chaves de pelo menos 256 bits
+
+    public record SigningKey(String keyId, SecretKey key) {}
+
+    // Conjunto imutável trocado atomicamente a cada rotação
+    private record KeySet(SigningKey current, Map<String, SecretKey> verificationKeys) {}
+
+    private volatile KeySet keySet;
+
+    // Avisados sempre que uma chave deixa de ser aceita, para descartar claims já verificadas com ela
+    private final List<Runnable> retirementListeners = new CopyOnWriteArrayList<>();
+
+    public JwtKeyManager(String secret, String keyId, String previousKeys) {
+        this(secret, keyId, previousKeys, "");
+    }
+
+    // JWT_SECRET_KEY só é obrigatória sem o arquivo de chaves; com ele, as variáveis de ambiente podem ficar vazias
+    @Autowired
+    public JwtKeyManager(@Value("${JWT_SECRET_KEY:}") String secret,
+                         @Value("${JWT_KEY_ID:default}") String keyId,
+                         @Value("${JWT_PREVIOUS_KEYS:}") String previousKeys,
+                         @Value("${security.jwt.keys-file:}") String keysFile) {
+        if (secret == null || secret.isBlank()) {
+            if (keysFile == null || keysFile.isBlank()) {
+                throw new IllegalStateException("A variável de ambiente JWT_SECRET_KEY não está definida!");
+            }
+            // Lido aqui, e não só pelo JwtKeyReloader, para que nunca exista um JwtKeyManager sem chave atual
+            this.keySet = toKeySet(JwtKeyReloader.readKeys(Path.of(keysFile)));
+            return;
+        }
+        Map<String, SecretKey> verificationKeys = new LinkedHashMap<>(parsePreviousKeys(previousKeys));
+        SigningKey current = new SigningKey(keyId, toSecretKey(keyId, secret));
+        verificationKeys.put(keyId, current.key());
+        this.keySet = new KeySet(current, Collections.unmodifiableMap(verificationKeys));
+    }
+
+    public void onKeyRetired(Runnable listener) {
+        retirementListeners.add(listener);
+    }
+
+    public SigningKey currentSigningKey() {
+        return keySet.current();
+    }
+
+    // Tokens sem "kid" (emitidos antes da rotação existir) são verificados com a chave atual
+    public SecretKey verificationKey(String keyId) {
+        KeySet snapshot = keySet;
+        if (keyId == null) {
+            return snapshot.current().key();
+        }
+        SecretKey key = snapshot.verificationKeys().get(keyId);
+        if (key == null) {
+            throw new JwtException("Chave de assinatura desconhecida: " + keyId);
+        }
+        return key;
+    }
+
+    // Promove uma nova chave a atual; a anterior continua aceita na verificação
+    public synchronized void rotate(String newKeyId, String newSecret) {
+        KeySet snapshot = keySet;
+        if (snapshot.verificationKeys().containsKey(newKeyId)) {
+            throw new IllegalArgumentException("Já existe uma chave com o identificador " + newKeyId);
+        }
+        SigningKey newCurrent = new SigningKey(newKeyId, toSecretKey(newKeyId, newSecret));
+
+        Map<String, SecretKey> verificationKeys = new LinkedHashMap<>(snapshot.verificationKeys());
+        verificationKeys.put(newKeyId, newCurrent.key());
+        boolean dropped = dropOldestBeyondLimit(verificationKeys);
+        keySet = new KeySet(newCurrent, Collections.unmodifiableMap(verificationKeys));
+        if (dropped) {
+            notifyRetirement();
+        }
+    }
+
+    // Remove uma chave anterior, invalidando os tokens ainda assinados com ela
+    public synchronized void retire(String keyId) {
+        KeySet snapshot = keySet;
+        if (snapshot.current().keyId().equals(keyId)) {
+            throw new IllegalArgumentException("A chave atual não pode ser removida");
+        }
+        Map<String, SecretKey> verificationKeys = new LinkedHashMap<>(snapshot.verificationKeys());
+        if (verificationKeys.remove(keyId) == null) {
+            return;
+        }
+        keySet = new KeySet(snapshot.current(), Collections.unmodifiableMap(verificationKeys));
+        notifyRetirement();
+    }
+
+    // Troca o conjunto inteiro pelas chaves informadas, da mais antiga para a mais recente; a última passa a assinar.
+    // Chaves ausentes da nova lista, ou com segredo diferente, deixam de ser aceitas
+    public synchronized void replaceKeys(Map<String, String> secretsByKeyId) {
+        KeySet replacement = toKeySet(secretsByKeyId);
+        KeySet snapshot = keySet;
+        boolean retired = snapshot.verificationKeys().entrySet().stream()
+                .anyMatch(previous -> !previous.getValue().equals(replacement.verificationKeys().get(previous.getKey())));
+        keySet = replacement;
+        if (retired) {
+            notifyRetirement();
+        }
+    }
+
+    private KeySet toKeySet(Map<String, String> secretsByKeyId) {
+        if (secretsByKeyId.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos uma chave");
+        }
+        Map<String, SecretKey> verificationKeys = new LinkedHashMap<>();
+        secretsByKeyId.forEach((keyId, secret) -> verificationKeys.put(keyId, toSecretKey(keyId, secret)));
+        dropOldestBeyondLimit(verificationKeys);
+        String currentKeyId = List.copyOf(verificationKeys.keySet()).get(verificationKeys.size() - 1);
+        SigningKey current = new SigningKey(currentKeyId, verificationKeys.get(currentKeyId));
+        return new KeySet(current, Collections.unmodifiableMap(verificationKeys));
+    }
+
+    // Descarta as chaves mais antigas além do limite (a ordem de inserção é preservada)
+    private static boolean dropOldestBeyondLimit(Map<String, SecretKey> verificationKeys) {
+        boolean dropped = false;
+        while (verificationKeys.size() > MAX_PREVIOUS_KEYS + 1) {
+            verificationKeys.remove(verificationKeys.keySet().iterator().next());
+            dropped = true;
+        }
+        return dropped;
+    }
+
+    private void notifyRetirement() {
+        retirementListeners.forEach(Runnable::run);
+    }
+
+    // Formato: "kid1:segredo1,kid2:segredo2", da mais antiga para a mais recente
+    private Map<String, SecretKey> parsePreviousKeys(String previousKeys) {
+        Map<String, SecretKey> keys = new LinkedHashMap<>();
+        if (previousKeys == null || previousKeys.isBlank()) {
+            return keys;
+        }
+        for (String entry : previousKeys.split(",")) {
+            int separator = entry.indexOf(':');
+            if (separator <= 0 || separator == entry.length() - 1) {
+                throw new IllegalStateException("Formato inválido em JWT_PREVIOUS_KEYS. Use kid:segredo separados por vírgula.");
+            }
+            String keyId = entry.substring(0, separator).trim();
+            keys.put(keyId, toSecretKey(keyId, entry.substring(separator + 1).trim()));
+        }
+        return keys;
+    }
+
+    // Mesma derivação usada anteriormente por signWith(HS256, String): o segredo é decodificado em Base64
+    private SecretKey toSecretKey(String keyId, String secret) {
+        byte[] keyBytes;
+        try {
+            keyBytes = Decoders.BASE64.decode(secret);
+        } catch (DecodingException e) {
+            throw new IllegalStateException("O segredo da chave " + keyId + " não é um Base64 válido", e);
+        }
+        if (keyBytes.length < MIN_KEY_BYTES) {
+            throw new IllegalStateException("O segredo da chave " + keyId + " deve ter pelo menos 256 bits");
+        }
+        return new SecretKeySpec(keyBytes, SignatureAlgorithm.HS256.getJcaName());
+    }
+}
@@ -0,0 +1,104 @@
+package com.zup.desafio_imposto.config.security;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Rotação sem reinício: relê periodicamente o arquivo security.jwt.keys-file (por exemplo, um secret montado
+// no contêiner) e aplica as mudanças no JwtKeyManager. Uma chave "kid:segredo" por linha, da mais antiga para a
+// mais recente; a última assina os tokens. Remover uma linha aposenta a chave e invalida os tokens assinados com ela.
+// Sem o arquivo configurado, valem só as chaves das variáveis de ambiente; com ele, JWT_SECRET_KEY é opcional
+@Component
+public class JwtKeyReloader {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtKeyReloader.class);
+
+    private final JwtKeyManager jwtKeyManager;
+    private final Path keysFile;
+
+    // Conteúdo aplicado por último; o arquivo só é reprocessado quando muda
+    private String appliedContent;
+
+    public JwtKeyReloader(JwtKeyManager jwtKeyManager, @Value("${security.jwt.keys-file:}") String keysFile) {
+        this.jwtKeyManager = jwtKeyManager;
+        this.keysFile = keysFile == null || keysFile.isBlank() ? null : Path.of(keysFile);
+    }
+
+    // Na inicialização, um arquivo ausente ou inválido impede a aplicação de subir
+    @PostConstruct
+    void loadOnStartup() {
+        if (reload()) {
+            logger.info("Chaves JWT carregadas de {}; chave atual: {}", keysFile, jwtKeyManager.currentSigningKey().keyId());
+        }
+    }
+
+    // Depois de iniciada, um arquivo com problema é ignorado e as chaves em uso continuam valendo
+    @Scheduled(fixedDelayString = "${security.jwt.keys-reload-interval-ms:60000}")
+    void reloadPeriodically() {
+        try {
+            if (reload()) {
+                logger.info("Chaves JWT recarregadas de {}; chave atual: {}", keysFile, jwtKeyManager.currentSigningKey().keyId());
+            }
+        } catch (RuntimeException e) {
+            logger.error("Falha ao recarregar as chaves JWT de {}: {}", keysFile, e.getMessage());
+        }
+    }
+
+    // Verdadeiro quando o arquivo mudou e as novas chaves foram aplicadas
+    synchronized boolean reload() {
+        if (keysFile == null) {
+            return false;
+        }
+        String content = read(keysFile);
+        if (content.equals(appliedContent)) {
+            return false;
+        }
+        jwtKeyManager.replaceKeys(parse(keysFile, content));
+        appliedContent = content;
+        return true;
+    }
+
+    // Usado pelo JwtKeyManager quando as chaves vêm só do arquivo
+    static Map<String, String> readKeys(Path keysFile) {
+        return parse(keysFile, read(keysFile));
+    }
+
+    private static String read(Path keysFile) {
+        try {
+            return Files.readString(keysFile, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível ler o arquivo de chaves JWT " + keysFile, e);
+        }
+    }
+
+    private static Map<String, String> parse(Path keysFile, String content) {
+        Map<String, String> secretsByKeyId = new LinkedHashMap<>();
+        List<String> lines = content.lines().map(String::trim).filter(line -> !line.isEmpty() && !line.startsWith("#")).toList();
+        for (String line : lines) {
+            int separator = line.indexOf(':');
+            if (separator <= 0 || separator == line.length() - 1) {
+                throw new IllegalStateException("Formato inválido no arquivo de chaves JWT. Use uma linha kid:segredo por chave.");
+            }
+            String keyId = line.substring(0, separator).trim();
+            // Repetir um kid o move para o fim, como se fosse a chave mais recente
+            secretsByKeyId.remove(keyId);
+            secretsByKeyId.put(keyId, line.substring(separator + 1).trim());
+        }
+        if (secretsByKeyId.isEmpty()) {
+            throw new IllegalStateException("O arquivo de chaves JWT " + keysFile + " não tem nenhuma chave");
+        }
+        return secretsByKeyId;
+    }
+}
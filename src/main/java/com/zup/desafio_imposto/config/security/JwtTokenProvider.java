@@ -1,58 +1,114 @@
 package com.zup.desafio_imposto.config.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import org.springframework.stereotype.Component;
 
+import java.security.Key;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
 
     private static final long TOKEN_VALIDITY = 3600 * 1000; // 1 hora
-    private static final String ROLE_CLAIM = "role";
+    // "role" continua sendo emitida para quem já lê os nomes dos papéis; o filtro usa a máscara
+    static final String ROLE_CLAIM = "role";
+    static final String ROLE_MASK_CLAIM = "roles";
+    // Refresh tokens são assinados com a mesma chave, mas marcados para não valerem como token de acesso
+    static final String TOKEN_TYPE_CLAIM = "type";
+    static final String REFRESH_TOKEN_TYPE = "refresh";
 
-    public String getSecretKey() {
-        String secretKey = System.getenv("JWT_SECRET_KEY");
-        if (secretKey == null || secretKey.isEmpty()) {
-            throw new IllegalStateException("A variável de ambiente JWT_SECRET_KEY não está definida!");
-        }
-        return secretKey;
+    private final JwtKeyManager jwtKeyManager;
+    private final JwtParser jwtParser;
+
+    public JwtTokenProvider(JwtKeyManager jwtKeyManager) {
+        this.jwtKeyManager = jwtKeyManager;
+        // O parser é imutável e thread-safe; a chave é escolhida pelo "kid" de cada token
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return jwtKeyManager.verificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    public void onKeyRetired(Runnable listener) {
+        jwtKeyManager.onKeyRetired(listener);
     }
 
     public String generateToken(String username, String role) {
         Claims claims = Jwts.claims().setSubject(username);
         claims.put(ROLE_CLAIM, role);
+        claims.put(ROLE_MASK_CLAIM, RoleAuthorities.mask(role));
 
         Date now = new Date();
         Date validity = new Date(now.getTime() + TOKEN_VALIDITY);
+        JwtKeyManager.SigningKey signingKey = jwtKeyManager.currentSigningKey();
 
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.keyId())
                 .setClaims(claims)
+                // jti permite revogar este token antes do "exp"
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(now)
                 .setExpiration(validity)
-                .signWith(SignatureAlgorithm.HS256, getSecretKey())
+                .signWith(signingKey.key(), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    public String generateRefreshToken(String username, String tokenId, Date expiration) {
+        JwtKeyManager.SigningKey signingKey = jwtKeyManager.currentSigningKey();
+
+        return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.keyId())
+                .setSubject(username)
+                .setId(tokenId)
+                .claim(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE)
+                .setIssuedAt(new Date())
+                .setExpiration(expiration)
+                .signWith(signingKey.key(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    public static boolean isRefreshToken(Claims claims) {
+        return REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM));
+    }
+
+    // Verifica assinatura e expiração e exige que o token seja um refresh token
+    public Claims getValidatedRefreshClaims(String token) throws RuntimeException {
+        Claims claims = getValidatedClaims(token);
+        if (!isRefreshToken(claims)) {
+            throw new RuntimeException("Token não é um refresh token!");
+        }
+        return claims;
+    }
+
     public Claims getClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSecretKey())
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
-    public boolean validateToken(String token) throws RuntimeException {
+    // Verifica assinatura e expiração uma única vez e devolve as claims do token
+    public Claims getValidatedClaims(String token) throws RuntimeException {
         try {
-            Jwts.parser().setSigningKey(getSecretKey()).parseClaimsJws(token);
-            return true;
+            return getClaims(token);
         } catch (JwtException | IllegalArgumentException e) {
             throw new RuntimeException("Token expired!");
         }
     }
 
+    public boolean validateToken(String token) throws RuntimeException {
+        getValidatedClaims(token);
+        return true;
+    }
+
     public String getUsername(String token) {
         return getClaims(token).getSubject();
     }
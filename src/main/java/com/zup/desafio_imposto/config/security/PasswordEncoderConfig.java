@@ -0,0 +1,21 @@
+package com.zup.desafio_imposto.config.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+// Separado do SecurityConfig porque os serviços de usuário também existem no modo reativo
+@Configuration
+public class PasswordEncoderConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-cost:0}") int bcryptCost,
+                                           @Value("${security.password.target-verify-ms:100}") long targetVerifyMillis) {
+        // Custo fixo quando configurado; caso contrário, calibrado para o tempo alvo nesta máquina
+        int cost = bcryptCost > 0 ? bcryptCost : BCryptCostCalibrator.calibrate(Duration.ofMillis(targetVerifyMillis));
+        return BCryptCostCalibrator.delegatingEncoder(cost);
+    }
+}
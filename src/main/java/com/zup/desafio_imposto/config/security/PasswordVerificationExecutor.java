@@ -0,0 +1,67 @@
+package com.zup.desafio_imposto.config.security;
+
+import com.zup.desafio_imposto.exceptions.LoginThrottledException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Pool dedicado e limitado para a verificação de senhas (BCrypt), separado das threads do Tomcat.
+// Quando todas as threads estão ocupadas e a fila está cheia, o login é recusado com 429 em vez de enfileirar sem limite.
+@Component
+public class PasswordVerificationExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+
+    public PasswordVerificationExecutor(@Value("${auth.password-verification.threads:0}") int threads,
+                                        @Value("${auth.password-verification.queue-capacity:256}") int queueCapacity,
+                                        @Value("${auth.password-verification.retry-after-seconds:1}") long retryAfterSeconds) {
+        // 0 = uma thread por núcleo, já que o BCrypt é limitado por CPU
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new PasswordVerificationThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            throw new LoginThrottledException("Muitas tentativas de login simultâneas. Tente novamente em instantes.", retryAfterSeconds);
+        }
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static class PasswordVerificationThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-verification-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.zup.desafio_imposto.config.security;
+
+import com.zup.desafio_imposto.dtos.Roles;
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Papéis do token codificados como máscara de bits: o bit de cada papel é o ordinal em Roles.
+// Cada combinação possível já tem a sua lista imutável de authorities, montada uma única vez,
+// então autorizar uma requisição não cria authorities nem consulta o banco.
+// Novos papéis devem entrar sempre no final de Roles, senão tokens já emitidos mudam de significado
+public final class RoleAuthorities {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+    private static final Roles[] ROLES = Roles.values();
+    private static final int ALL_ROLES_MASK = (1 << ROLES.length) - 1;
+
+    // Índice = máscara
+    private static final List<List<GrantedAuthority>> AUTHORITIES_BY_MASK = buildAuthoritiesByMask();
+
+    // Tokens emitidos antes da máscara só trazem a claim "role"; as combinações distintas são poucas
+    private static final Map<String, List<GrantedAuthority>> LEGACY_AUTHORITIES = new ConcurrentHashMap<>();
+
+    private RoleAuthorities() {
+    }
+
+    private static List<List<GrantedAuthority>> buildAuthoritiesByMask() {
+        SimpleGrantedAuthority[] single = new SimpleGrantedAuthority[ROLES.length];
+        for (Roles role : ROLES) {
+            single[role.ordinal()] = new SimpleGrantedAuthority(role.name());
+        }
+        List<List<GrantedAuthority>> byMask = new ArrayList<>(ALL_ROLES_MASK + 1);
+        for (int mask = 0; mask <= ALL_ROLES_MASK; mask++) {
+            List<GrantedAuthority> authorities = new ArrayList<>();
+            for (Roles role : ROLES) {
+                if ((mask & bit(role)) != 0) {
+                    authorities.add(single[role.ordinal()]);
+                }
+            }
+            byMask.add(List.copyOf(authorities));
+        }
+        return List.copyOf(byMask);
+    }
+
+    private static int bit(Roles role) {
+        return 1 << role.ordinal();
+    }
+
+    // Aceita o formato da claim "role": nomes separados por vírgula, com ou sem o prefixo ROLE_.
+    // Nomes desconhecidos são ignorados
+    public static int mask(String roleNames) {
+        int mask = 0;
+        if (roleNames == null) {
+            return mask;
+        }
+        for (String name : roleNames.split(",")) {
+            Roles role = parse(name.trim());
+            if (role != null) {
+                mask |= bit(role);
+            }
+        }
+        return mask;
+    }
+
+    private static Roles parse(String name) {
+        String normalized = name.startsWith(ROLE_PREFIX) ? name : ROLE_PREFIX + name;
+        for (Roles role : ROLES) {
+            if (role.name().equals(normalized)) {
+                return role;
+            }
+        }
+        return null;
+    }
+
+    public static List<GrantedAuthority> forMask(int mask) {
+        // Bits de papéis que esta versão não conhece são descartados
+        return AUTHORITIES_BY_MASK.get(mask & ALL_ROLES_MASK);
+    }
+
+    public static List<GrantedAuthority> fromClaims(Claims claims) {
+        Object mask = claims.get(JwtTokenProvider.ROLE_MASK_CLAIM);
+        if (mask instanceof Number number) {
+            return forMask(number.intValue());
+        }
+        Object roleNames = claims.get(JwtTokenProvider.ROLE_CLAIM);
+        if (!(roleNames instanceof String names)) {
+            return forMask(0);
+        }
+        return LEGACY_AUTHORITIES.computeIfAbsent(names, key -> forMask(mask(key)));
+    }
+}
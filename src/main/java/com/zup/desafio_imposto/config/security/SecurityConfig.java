@@ -1,16 +1,16 @@
 package com.zup.desafio_imposto.config.security;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -18,6 +18,9 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 
 @Configuration
 @EnableWebSecurity
+// Ativa os @PreAuthorize dos controllers, como segunda barreira atrás das regras por rota abaixo
+@EnableMethodSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
@@ -35,12 +38,18 @@ public class SecurityConfig {
                     // Rotas públicas
                     authorize.requestMatchers(HttpMethod.POST, "/users/register").permitAll();
                     authorize.requestMatchers(HttpMethod.POST, "/users/login").permitAll();
+                    // O refresh token vai no corpo e é verificado pelo serviço
+                    authorize.requestMatchers(HttpMethod.POST, "/users/refresh", "/users/logout").permitAll();
                     // Rotas autenticadas
-                    authorize.requestMatchers(HttpMethod.GET, "/tipos/**").authenticated();
+                    authorize.requestMatchers(HttpMethod.GET, "/tax/tipos", "/tax/tipos/**").authenticated();
                     // Rotas restritas a ADMIN
-                    authorize.requestMatchers(HttpMethod.POST, "/tipos").hasRole("ADMIN");
-                    authorize.requestMatchers(HttpMethod.POST, "/calculo").hasRole("ADMIN");
-                    authorize.requestMatchers(HttpMethod.DELETE, "/tipos/**").hasRole("ADMIN");
+                    authorize.requestMatchers(HttpMethod.POST, "/users/import").hasRole("ADMIN");
+                    authorize.requestMatchers(HttpMethod.POST, "/tax/tipos", "/tax/tipos/**").hasRole("ADMIN");
+                    authorize.requestMatchers(HttpMethod.DELETE, "/tax/tipos/**").hasRole("ADMIN");
+                    authorize.requestMatchers("/tax/calculo", "/tax/calculo/**").hasRole("ADMIN");
+                    // Só o health check é anônimo; o Prometheus coleta as métricas com credenciais (HTTP Basic ou Bearer)
+                    authorize.requestMatchers(HttpMethod.GET, "/actuator/health").permitAll();
+                    authorize.requestMatchers(HttpMethod.GET, "/actuator/prometheus").authenticated();
                     // Rotas para documentação (Swagger)
                     authorize.requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll();
                     // Permitir requisições OPTIONS (CORS)
@@ -59,9 +68,4 @@ public class SecurityConfig {
     public AuthenticationManager authenticationManager(AuthenticationConfiguration configuration) throws Exception {
         return configuration.getAuthenticationManager();
     }
-
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
 }
\ No newline at end of file
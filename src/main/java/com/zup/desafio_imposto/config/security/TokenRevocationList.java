@@ -0,0 +1,92 @@
+package com.zup.desafio_imposto.config.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Cópia em memória dos jti revogados, consultada a cada requisição autenticada.
+// O filtro de Bloom responde "não revogado" na quase totalidade dos casos sem tocar no mapa;
+// só um "talvez" é confirmado no conjunto exato. Nenhum dos dois caminhos consulta o banco.
+// Cada jti fica até o "exp" do token: depois disso o token já é recusado pela expiração e a entrada é podada.
+@Component
+public class TokenRevocationList {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final ConcurrentHashMap<String, Long> expiresAtByJti = new ConcurrentHashMap<>();
+    private final int initialCapacity;
+
+    // Inserções e reconstruções são serializadas para que nenhuma revogação fique fora do filtro novo; leituras não travam
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile BloomFilter filter;
+    private volatile int filterCapacity;
+
+    public TokenRevocationList(@Value("${security.jwt.revocation.expected-entries:10000}") int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("A capacidade da lista de revogação deve ser maior que zero");
+        }
+        this.initialCapacity = initialCapacity;
+        this.filterCapacity = initialCapacity;
+        this.filter = new BloomFilter(initialCapacity, FALSE_POSITIVE_RATE);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        return expiresAtByJti.containsKey(jti);
+    }
+
+    public void revoke(String jti, long expiresAtMillis) {
+        // A sincronização periódica reapresenta jti já conhecidos; esses não pegam a trava
+        if (expiresAtByJti.containsKey(jti)) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            if (expiresAtByJti.putIfAbsent(jti, expiresAtMillis) != null) {
+                return;
+            }
+            if (expiresAtByJti.size() > filterCapacity) {
+                // Acima da capacidade a taxa de falso positivo sobe; o filtro é refeito com o dobro
+                rebuild(filterCapacity * 2);
+            } else {
+                filter.add(jti);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Remove os tokens já expirados e refaz o filtro, que não aceita remoção
+    public int prune(long nowMillis) {
+        writeLock.lock();
+        try {
+            int sizeBefore = expiresAtByJti.size();
+            expiresAtByJti.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+            int removed = sizeBefore - expiresAtByJti.size();
+            if (removed > 0) {
+                rebuild(Math.max(initialCapacity, expiresAtByJti.size() * 2));
+            }
+            return removed;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public int size() {
+        return expiresAtByJti.size();
+    }
+
+    private void rebuild(int capacity) {
+        BloomFilter rebuilt = new BloomFilter(capacity, FALSE_POSITIVE_RATE);
+        for (Map.Entry<String, Long> entry : expiresAtByJti.entrySet()) {
+            rebuilt.add(entry.getKey());
+        }
+        filterCapacity = capacity;
+        filter = rebuilt;
+    }
+}
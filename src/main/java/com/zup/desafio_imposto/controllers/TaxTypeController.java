@@ -1,54 +1,88 @@
 package com.zup.desafio_imposto.controllers;
 
+import com.zup.desafio_imposto.dtos.request.BatchCalculateTaxTypeRequestDTO;
 import com.zup.desafio_imposto.dtos.request.CalculateTaxTypeRequestDTO;
+import com.zup.desafio_imposto.dtos.request.CompositeCalculateTaxRequestDTO;
+import com.zup.desafio_imposto.dtos.request.TaxRateVersionRequestDTO;
 import com.zup.desafio_imposto.dtos.request.TaxTypeRequestDTO;
+import com.zup.desafio_imposto.dtos.response.CacheStatsResponseDTO;
 import com.zup.desafio_imposto.dtos.response.CalculateTaxTypeResponseDTO;
+import com.zup.desafio_imposto.dtos.response.CompositeCalculateTaxResponseDTO;
+import com.zup.desafio_imposto.dtos.response.PageResponseDTO;
 import com.zup.desafio_imposto.dtos.response.TaxTypeResponseDTO;
+import com.zup.desafio_imposto.services.TaxCalculationStreamService;
 import com.zup.desafio_imposto.services.TaxTypeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RestController
 @RequestMapping("/tax")
 @Tag(name = "Impostos", description = "Gerencia e impostos e cálculos")
 public class TaxTypeController {
 
     private final TaxTypeService taxTypeService;
+    private final TaxCalculationStreamService taxCalculationStreamService;
 
-    public TaxTypeController(TaxTypeService taxTypeService) {
+    public TaxTypeController(TaxTypeService taxTypeService, TaxCalculationStreamService taxCalculationStreamService) {
         this.taxTypeService = taxTypeService;
+        this.taxCalculationStreamService = taxCalculationStreamService;
     }
 
-    @Operation(summary = "Listar todos os tipos de impostos", description = "Retorna uma lista com todos os tipos de impostos cadastrados.")
+    @Operation(summary = "Listar tipos de impostos", description = "Retorna uma página de tipos de impostos ordenada por id, com filtro opcional por prefixo do nome e faixa de alíquota base (o campo rate, sem considerar vigências). Use o nextCursor da resposta como cursor da próxima página.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de tipos de impostos retornada com sucesso"),
+            @ApiResponse(responseCode = "200", description = "Página de tipos de impostos retornada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Nenhum tipo de imposto mudou desde o ETag informado em If-None-Match", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Parâmetros de paginação ou filtro inválidos", content = @Content),
             @ApiResponse(responseCode = "500", description = "Erro interno no servidor", content = @Content)
     })
     @GetMapping("/tipos")
-    public ResponseEntity<List<TaxTypeResponseDTO>> getAllTaxTypes() {
-        List<TaxTypeResponseDTO> taxTypes = taxTypeService.findAll();
-        return ResponseEntity.ok(taxTypes);
+    public ResponseEntity<PageResponseDTO<TaxTypeResponseDTO>> getAllTaxTypes(@RequestParam(required = false) Long cursor,
+                                                                              @RequestParam(defaultValue = "" + PageResponseDTO.DEFAULT_SIZE) int size,
+                                                                              @RequestParam(required = false) String name,
+                                                                              @RequestParam(required = false) Double minRate,
+                                                                              @RequestParam(required = false) Double maxRate,
+                                                                              WebRequest webRequest) {
+        // Catálogo inalterado desde o ETag do cliente: 304 sem montar a página, só com a leitura da versão
+        String catalogVersion = taxTypeService.getCatalogVersion();
+        if (webRequest.checkNotModified(catalogVersion)) {
+            return null;
+        }
+        PageResponseDTO<TaxTypeResponseDTO> taxTypes = taxTypeService.findAll(cursor, size, name, minRate, maxRate);
+        return ResponseEntity.ok().eTag(catalogVersion).body(taxTypes);
     }
 
     @Operation(summary = "Buscar tipo de imposto por ID", description = "Retorna os detalhes de um tipo de imposto específico pelo ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tipo de imposto encontrado com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Tipo de imposto inalterado desde o ETag informado em If-None-Match", content = @Content),
             @ApiResponse(responseCode = "404", description = "Tipo de imposto não encontrado", content = @Content)
     })
     @GetMapping("/tipos/{id}")
-    public ResponseEntity<TaxTypeResponseDTO> getTaxTypeById(@PathVariable Long id) {
+    public ResponseEntity<TaxTypeResponseDTO> getTaxTypeById(@PathVariable Long id, WebRequest webRequest) {
+        String version = taxTypeService.getVersion(id);
+        if (webRequest.checkNotModified(version)) {
+            return null;
+        }
         TaxTypeResponseDTO taxTypeResponse = taxTypeService.findById(id);
-        return ResponseEntity.ok(taxTypeResponse);
+        return ResponseEntity.ok().eTag(version).body(taxTypeResponse);
     }
 
     @Operation(summary = "Adicionar um novo tipo de imposto", description = "Cadastra um novo tipo de imposto no sistema.")
@@ -63,6 +97,19 @@ public class TaxTypeController {
         return ResponseEntity.status(HttpStatus.CREATED).body(taxTypeResponse);
     }
 
+    @Operation(summary = "Adicionar vigência de alíquota", description = "Registra a alíquota de um tipo de imposto a partir de uma data. Cálculos com data de referência usam a alíquota vigente naquele dia.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Vigência registrada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos, data de início repetida ou imposto com tabela progressiva", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Tipo de imposto não encontrado", content = @Content)
+    })
+    @PostMapping("/tipos/{id}/aliquotas")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TaxTypeResponseDTO> addRateVersion(@PathVariable Long id, @Valid @RequestBody TaxRateVersionRequestDTO rateVersionRequest) {
+        TaxTypeResponseDTO taxTypeResponse = taxTypeService.addRateVersion(id, rateVersionRequest);
+        return ResponseEntity.status(HttpStatus.CREATED).body(taxTypeResponse);
+    }
+
     @Operation(summary = "Calcular tipo de imposto", description = "Realiza o cálculo de imposto com base nos dados fornecidos.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Cálculo realizado com sucesso"),
@@ -75,6 +122,54 @@ public class TaxTypeController {
         return ResponseEntity.ok(calculateTaxTypeResponse);
     }
 
+    @Operation(summary = "Estatísticas do cache de cálculos", description = "Retorna acertos, falhas, descartes, tamanho e taxa de acerto do cache de resultados de /tax/calculo.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso")
+    })
+    @GetMapping("/calculo/cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CacheStatsResponseDTO> getCalculationCacheStats() {
+        return ResponseEntity.ok(taxTypeService.getCalculationCacheStats());
+    }
+
+    @Operation(summary = "Calcular impostos em lote", description = "Realiza o cálculo de vários impostos em uma única requisição, mantendo a ordem de entrada.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cálculos realizados com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos fornecidos", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Tipo de imposto não encontrado", content = @Content)
+    })
+    @PostMapping("/calculo/lote")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<CalculateTaxTypeResponseDTO>> calculateTaxTypes(@Valid @RequestBody BatchCalculateTaxTypeRequestDTO batchCalculateRequest) {
+        List<CalculateTaxTypeResponseDTO> calculateTaxTypeResponses = taxTypeService.calculateTaxTypes(batchCalculateRequest.items());
+        return ResponseEntity.ok(calculateTaxTypeResponses);
+    }
+
+    @Operation(summary = "Calcular impostos compostos", description = "Aplica vários impostos sobre um mesmo valor base, por fora ou por dentro, opcionalmente em cascata na ordem informada, e devolve o valor de cada imposto e o total.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cálculo composto realizado com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos fornecidos", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Tipo de imposto não encontrado", content = @Content)
+    })
+    @PostMapping("/calculo/composto")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CompositeCalculateTaxResponseDTO> calculateCompositeTax(@Valid @RequestBody CompositeCalculateTaxRequestDTO compositeRequest) {
+        CompositeCalculateTaxResponseDTO compositeResponse = taxTypeService.calculateCompositeTax(compositeRequest);
+        return ResponseEntity.ok(compositeResponse);
+    }
+
+    @Operation(summary = "Calcular impostos em fluxo (NDJSON)", description = "Lê um registro JSON (taxId, baseValue) por linha e devolve um resultado por linha à medida que processa, com uso de memória constante.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Fluxo processado; linhas inválidas são devolvidas como objetos de erro", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE))
+    })
+    @PostMapping(value = "/calculo/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public void calculateTaxTypeStream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        taxCalculationStreamService.calculateTaxTypeStream(request.getInputStream(), response.getOutputStream());
+    }
+
     @Operation(summary = "Excluir um tipo de imposto", description = "Remove um tipo de imposto do sistema pelo ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Tipo de imposto excluído com sucesso"),
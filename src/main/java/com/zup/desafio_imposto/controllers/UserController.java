@@ -1,10 +1,14 @@
 package com.zup.desafio_imposto.controllers;
 
+import com.zup.desafio_imposto.config.security.JwtClaimsResolver;
 import com.zup.desafio_imposto.dtos.request.LoginRequestDTO;
+import com.zup.desafio_imposto.dtos.request.RefreshTokenRequestDTO;
 import com.zup.desafio_imposto.dtos.request.UserRequestDTO;
 import com.zup.desafio_imposto.dtos.response.LoginResponseDTO;
+import com.zup.desafio_imposto.dtos.response.PageResponseDTO;
+import com.zup.desafio_imposto.dtos.response.UserImportResponseDTO;
 import com.zup.desafio_imposto.dtos.response.UserResponseDTO;
-import com.zup.desafio_imposto.models.User;
+import com.zup.desafio_imposto.services.UserImportService;
 import com.zup.desafio_imposto.services.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,18 +16,27 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RestController
 @RequestMapping("/users")
 @Tag(name = "Usuários", description = "Gerenciamento de usuários e autenticação")
 public class UserController {
 
+    static final String TEXT_CSV_VALUE = "text/csv";
+
     private final UserService userService;
 
     public UserController(UserService userService) {
@@ -31,9 +44,15 @@ public class UserController {
     }
 
     @GetMapping
-    @Operation(summary = "Listar todos os usuários", description = "Retorna uma lista de todos os usuários cadastrados no sistema.")
-    public List<User> getAllUsers() {
-        return userService.getAllUsers();
+    @Operation(summary = "Listar usuários", description = "Retorna uma página de usuários ordenada por id. Use o nextCursor da resposta como cursor da próxima página.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de usuários"),
+            @ApiResponse(responseCode = "400", description = "Tamanho de página inválido",
+                    content = @Content(mediaType = "application/json"))
+    })
+    public ResponseEntity<PageResponseDTO<UserResponseDTO>> listUsers(@RequestParam(required = false) Long cursor,
+                                                                      @RequestParam(defaultValue = "" + PageResponseDTO.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(userService.listUsers(cursor, size));
     }
 
     @PostMapping
@@ -51,12 +70,58 @@ public class UserController {
 
     }
 
+    @PostMapping(value = "/import", consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Importar usuários em massa", description = "Cadastra vários usuários a partir de um CSV (cabeçalho username,password,role; papéis separados por ponto e vírgula) ou de um NDJSON com um usuário por linha. Linhas inválidas ou com nome já cadastrado não interrompem a importação e voltam na lista de erros.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Importação processada; a resposta traz quantas linhas foram recebidas e importadas e os erros por linha",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = UserImportResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Cabeçalho CSV inválido ou arquivo acima do limite de linhas",
+                    content = @Content(mediaType = "application/json"))
+    })
+    public ResponseEntity<UserImportResponseDTO> importUsers(HttpServletRequest request,
+                                                             @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType) throws IOException {
+        UserImportService.Format format = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+                ? UserImportService.Format.NDJSON
+                : UserImportService.Format.CSV;
+        return ResponseEntity.ok(userService.importUsers(request.getInputStream(), format));
+    }
+
     @PostMapping("/login")
     @Operation(summary = "Autenticar um usuário", description = "Realiza a autenticação de um usuário com base nas credenciais fornecidas.")
-    //Alteração do tipo de retorno para ResponseEntity<?>: Permite retornar diferentes tipos de objetos no corpo da resposta
-    public ResponseEntity<LoginResponseDTO> loginUser(@Valid @RequestBody LoginRequestDTO loginRequest) {
-        LoginResponseDTO loginResponse = userService.loginUser(loginRequest);
-        return ResponseEntity.ok().body(loginResponse);
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Login realizado com sucesso"),
+            @ApiResponse(responseCode = "429", description = "Muitas tentativas de login simultâneas; tente novamente após o tempo indicado em Retry-After",
+                    content = @Content(mediaType = "application/json"))
+    })
+    // O retorno assíncrono libera a thread do Tomcat enquanto a senha é verificada no pool dedicado
+    public CompletableFuture<ResponseEntity<LoginResponseDTO>> loginUser(@Valid @RequestBody LoginRequestDTO loginRequest) {
+        return userService.loginUser(loginRequest)
+                .thenApply(loginResponse -> ResponseEntity.ok().body(loginResponse));
+    }
 
+    @PostMapping("/refresh")
+    @Operation(summary = "Renovar o token de acesso", description = "Troca um refresh token válido por um novo token de acesso e um novo refresh token. O refresh token enviado deixa de valer.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tokens renovados com sucesso"),
+            @ApiResponse(responseCode = "401", description = "Refresh token inválido, expirado, revogado ou já utilizado",
+                    content = @Content(mediaType = "application/json"))
+    })
+    public ResponseEntity<LoginResponseDTO> refreshToken(@Valid @RequestBody RefreshTokenRequestDTO refreshRequest) {
+        return ResponseEntity.ok(userService.refreshToken(refreshRequest));
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Encerrar a sessão", description = "Revoga o refresh token informado e, se a requisição trouxer o cabeçalho Authorization, também o token de acesso.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Refresh token revogado"),
+            @ApiResponse(responseCode = "401", description = "Refresh token inválido ou expirado",
+                    content = @Content(mediaType = "application/json"))
+    })
+    public ResponseEntity<Void> logoutUser(@Valid @RequestBody RefreshTokenRequestDTO refreshRequest,
+                                           @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        userService.logoutUser(refreshRequest, JwtClaimsResolver.extractToken(authorization));
+        return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.zup.desafio_imposto.dtos.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchCalculateTaxTypeRequestDTO (
+        @NotEmpty(message = "Por favor, insira ao menos um cálculo.")
+        @Size(max = BatchCalculateTaxTypeRequestDTO.MAX_ITEMS, message = "O lote deve ter no máximo " + BatchCalculateTaxTypeRequestDTO.MAX_ITEMS + " cálculos.")
+        List<@NotNull(message = "O cálculo não pode ser nulo.") @Valid CalculateTaxTypeRequestDTO> items
+) {
+    public static final int MAX_ITEMS = 10_000;
+}
@@ -1,8 +1,11 @@
 package com.zup.desafio_imposto.dtos.request;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 
+import java.time.LocalDate;
+
 public record CalculateTaxTypeRequestDTO (
         @NotNull(message = "Por favor, insira o ID do imposto.")
         @Positive(message = "O id do imposto deve ser maior que zero")
@@ -10,5 +13,13 @@ public record CalculateTaxTypeRequestDTO (
 
         @NotNull(message = "Por favor, insira o valor base")
         @Positive(message = "O valor base deve ser maior que zero.")
-        Double baseValue
-) {}
\ No newline at end of file
+        @Digits(integer = 13, fraction = 2, message = "O valor base deve ter até 13 dígitos inteiros e 2 casas decimais")
+        Double baseValue,
+
+        // Opcional; aplica a alíquota vigente nesta data (AAAA-MM-DD). Quando ausente, a de hoje
+        LocalDate referenceDate
+) {
+    public CalculateTaxTypeRequestDTO(Long taxId, Double baseValue) {
+        this(taxId, baseValue, null);
+    }
+}
@@ -0,0 +1,32 @@
+package com.zup.desafio_imposto.dtos.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record CompositeCalculateTaxRequestDTO (
+        @NotNull(message = "Por favor, insira o valor base")
+        @Positive(message = "O valor base deve ser maior que zero.")
+        @Digits(integer = 13, fraction = 2, message = "O valor base deve ter até 13 dígitos inteiros e 2 casas decimais")
+        Double baseValue,
+
+        // A ordem importa apenas para os itens cumulativos
+        @NotEmpty(message = "Por favor, insira ao menos um imposto.")
+        @Size(max = CompositeCalculateTaxRequestDTO.MAX_TAXES, message = "A composição deve ter no máximo " + CompositeCalculateTaxRequestDTO.MAX_TAXES + " impostos.")
+        List<@NotNull(message = "O imposto não pode ser nulo.") @Valid CompositeTaxItemRequestDTO> taxes,
+
+        // Opcional; aplica as alíquotas vigentes nesta data (AAAA-MM-DD). Quando ausente, as de hoje
+        LocalDate referenceDate
+) {
+    public static final int MAX_TAXES = 32;
+
+    public CompositeCalculateTaxRequestDTO(Double baseValue, List<CompositeTaxItemRequestDTO> taxes) {
+        this(baseValue, taxes, null);
+    }
+}
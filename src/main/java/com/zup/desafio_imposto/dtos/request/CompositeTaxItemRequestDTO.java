@@ -0,0 +1,26 @@
+package com.zup.desafio_imposto.dtos.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.zup.desafio_imposto.calculation.TaxApplicationMode;
+import com.zup.desafio_imposto.validation.ValidEnum;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record CompositeTaxItemRequestDTO (
+        @NotNull(message = "Por favor, insira o ID do imposto.")
+        @Positive(message = "O id do imposto deve ser maior que zero")
+        Long taxId,
+
+        // Opcional; quando ausente, POR_FORA
+        @ValidEnum(enumClass = TaxApplicationMode.class, message = "Valor inválido para o campo incidencia.\nValores disponíveis:\nPOR_FORA\nPOR_DENTRO")
+        @JsonProperty("incidencia")
+        String mode,
+
+        // Opcional; quando verdadeiro, a base inclui os impostos calculados antes deste na lista
+        @JsonProperty("cumulativo")
+        Boolean cascade
+) {
+    public CompositeTaxItemRequestDTO(Long taxId) {
+        this(taxId, null, null);
+    }
+}
@@ -0,0 +1,9 @@
+package com.zup.desafio_imposto.dtos.request;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequestDTO(
+        @NotBlank(message = "Por favor, insira o refresh token.")
+        String refreshToken
+) {
+}
@@ -0,0 +1,27 @@
+package com.zup.desafio_imposto.dtos.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+public record TaxBracketRequestDTO (
+        @NotNull(message = "Por favor, insira o limite inferior da faixa.")
+        @PositiveOrZero(message = "O limite inferior da faixa não pode ser negativo")
+        @Digits(integer = 13, fraction = 2, message = "O limite inferior deve ter até 13 dígitos inteiros e 2 casas decimais")
+        @JsonProperty("limiteInferior")
+        Double lowerBound,
+
+        @NotNull(message = "Por favor, insira a alíquota da faixa.")
+        @PositiveOrZero(message = "A alíquota da faixa não pode ser negativa")
+        @Digits(integer = 3, fraction = 4, message = "A alíquota deve ter até 3 dígitos inteiros e 4 casas decimais")
+        @JsonProperty("aliquota")
+        Double rate,
+
+        // Opcional; quando ausente, zero
+        @PositiveOrZero(message = "A parcela a deduzir não pode ser negativa")
+        @Digits(integer = 13, fraction = 2, message = "A parcela a deduzir deve ter até 13 dígitos inteiros e 2 casas decimais")
+        @JsonProperty("parcelaADeduzir")
+        Double deduction
+) {
+}
@@ -0,0 +1,21 @@
+package com.zup.desafio_imposto.dtos.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.time.LocalDate;
+
+public record TaxRateVersionRequestDTO (
+        @NotNull(message = "Por favor, insira o valor da alíquota.")
+        @Positive(message = "A alíquota deve ser maior que zero")
+        @Digits(integer = 3, fraction = 4, message = "A alíquota deve ter até 3 dígitos inteiros e 4 casas decimais")
+        @JsonProperty("aliquota")
+        Double rate,
+
+        @NotNull(message = "Por favor, insira a data de início da vigência.")
+        @JsonProperty("inicioVigencia")
+        LocalDate validFrom
+) {
+}
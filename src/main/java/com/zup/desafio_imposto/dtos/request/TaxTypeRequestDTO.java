@@ -1,9 +1,16 @@
 package com.zup.desafio_imposto.dtos.request;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.zup.desafio_imposto.calculation.TaxRoundingMode;
+import com.zup.desafio_imposto.validation.ValidEnum;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
 
 public record TaxTypeRequestDTO (
         @NotBlank(message = "Por favor, insira o nome do Imposto.")
@@ -16,7 +23,27 @@ public record TaxTypeRequestDTO (
 
         @NotNull(message = "Por favor, insira o valor da alíquota.")
         @Positive(message = "A alíquota deve ser maior que zero")
+        @Digits(integer = 3, fraction = 4, message = "A alíquota deve ter até 3 dígitos inteiros e 4 casas decimais")
         @JsonProperty("aliquota")
-        Double rate
+        Double rate,
+
+        // Opcional; quando ausente, HALF_EVEN
+        @ValidEnum(enumClass = TaxRoundingMode.class, message = "Valor inválido para o campo arredondamento.\nValores disponíveis:\nHALF_EVEN\nHALF_UP\nUP\nDOWN")
+        @JsonProperty("arredondamento")
+        String roundingMode,
+
+        // Opcional; com faixas, o cálculo segue a tabela progressiva e "aliquota" fica como alíquota de referência
+        @Size(max = MAX_BRACKETS, message = "A tabela progressiva pode ter no máximo " + MAX_BRACKETS + " faixas")
+        @JsonProperty("faixas")
+        List<@NotNull @Valid TaxBracketRequestDTO> brackets
 ) {
-}
\ No newline at end of file
+    public static final int MAX_BRACKETS = 64;
+
+    public TaxTypeRequestDTO(String name, String description, Double rate) {
+        this(name, description, rate, null, null);
+    }
+
+    public TaxTypeRequestDTO(String name, String description, Double rate, String roundingMode) {
+        this(name, description, rate, roundingMode, null);
+    }
+}
@@ -0,0 +1,10 @@
+package com.zup.desafio_imposto.dtos.response;
+
+public record CacheStatsResponseDTO (
+        boolean enabled,
+        long hits,
+        long misses,
+        long evictions,
+        int size,
+        double hitRatio
+) {}
@@ -0,0 +1,8 @@
+package com.zup.desafio_imposto.dtos.response;
+
+public record CalculateTaxTypeStreamErrorDTO (
+        long line,
+        String error,
+        String message
+)
+{}
@@ -0,0 +1,11 @@
+package com.zup.desafio_imposto.dtos.response;
+
+import java.util.List;
+
+public record CompositeCalculateTaxResponseDTO (
+        Double baseValue,
+        List<CompositeTaxItemResponseDTO> taxes,
+        Double totalTax,
+        // Valor base acrescido de todos os impostos
+        Double totalValue
+) {}
@@ -0,0 +1,10 @@
+package com.zup.desafio_imposto.dtos.response;
+
+public record CompositeTaxItemResponseDTO (
+        Long taxId,
+        String taxName,
+        String mode,
+        Double calculationBase,
+        Double rate,
+        Double taxCalculated
+) {}
@@ -1,3 +1,8 @@
 package com.zup.desafio_imposto.dtos.response;
 
-public record LoginResponseDTO(String token){}
+public record LoginResponseDTO(String token, String refreshToken) {
+
+    public LoginResponseDTO(String token) {
+        this(token, null);
+    }
+}
@@ -0,0 +1,26 @@
+package com.zup.desafio_imposto.dtos.response;
+
+import java.util.List;
+import java.util.function.Function;
+
+// Página por cursor: nextCursor é o último id retornado, ou nulo quando não há mais itens
+public record PageResponseDTO<T>(List<T> content, Long nextCursor) {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 500;
+
+    public static void validateSize(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("O tamanho da página deve estar entre 1 e " + MAX_SIZE);
+        }
+    }
+
+    // Recebe até size + 1 itens: o excedente só indica que existe uma próxima página
+    public static <T> PageResponseDTO<T> of(List<T> items, int size, Function<T, Long> idExtractor) {
+        if (items.size() <= size) {
+            return new PageResponseDTO<>(List.copyOf(items), null);
+        }
+        List<T> content = List.copyOf(items.subList(0, size));
+        return new PageResponseDTO<>(content, idExtractor.apply(content.get(size - 1)));
+    }
+}
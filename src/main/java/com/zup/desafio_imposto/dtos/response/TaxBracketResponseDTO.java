@@ -0,0 +1,4 @@
+package com.zup.desafio_imposto.dtos.response;
+
+public record TaxBracketResponseDTO (Double lowerBound, Double rate, Double deduction)
+{}
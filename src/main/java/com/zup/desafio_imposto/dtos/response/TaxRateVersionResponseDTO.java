@@ -0,0 +1,6 @@
+package com.zup.desafio_imposto.dtos.response;
+
+import java.time.LocalDate;
+
+public record TaxRateVersionResponseDTO (LocalDate validFrom, Double rate)
+{}
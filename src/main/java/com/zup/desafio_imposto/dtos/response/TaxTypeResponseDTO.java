@@ -1,4 +1,13 @@
 package com.zup.desafio_imposto.dtos.response;
 
-public record TaxTypeResponseDTO (Long id, String name, String description, Double rate)
-{}
+import com.zup.desafio_imposto.calculation.TaxRoundingMode;
+
+import java.util.List;
+
+public record TaxTypeResponseDTO (Long id, String name, String description, Double rate, TaxRoundingMode roundingMode,
+                                  List<TaxBracketResponseDTO> brackets, List<TaxRateVersionResponseDTO> rateVersions)
+{
+    public TaxTypeResponseDTO(Long id, String name, String description, Double rate) {
+        this(id, name, description, rate, TaxRoundingMode.DEFAULT, List.of(), List.of());
+    }
+}
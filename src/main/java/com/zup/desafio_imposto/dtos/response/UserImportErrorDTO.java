@@ -0,0 +1,9 @@
+package com.zup.desafio_imposto.dtos.response;
+
+public record UserImportErrorDTO (
+        long line,
+        String username,
+        String error,
+        String message
+)
+{}
@@ -0,0 +1,10 @@
+package com.zup.desafio_imposto.dtos.response;
+
+import java.util.List;
+
+public record UserImportResponseDTO (
+        int received,
+        int imported,
+        List<UserImportErrorDTO> errors
+)
+{}
@@ -0,0 +1,7 @@
+package com.zup.desafio_imposto.exceptions;
+
+public class InvalidRefreshTokenException extends RuntimeException{
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
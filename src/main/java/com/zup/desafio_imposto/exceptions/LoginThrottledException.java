@@ -0,0 +1,14 @@
+package com.zup.desafio_imposto.exceptions;
+
+public class LoginThrottledException extends RuntimeException{
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,7 +1,11 @@
 package com.zup.desafio_imposto.mappers;
 
+import com.zup.desafio_imposto.calculation.TaxRoundingMode;
 import com.zup.desafio_imposto.dtos.request.TaxTypeRequestDTO;
+import com.zup.desafio_imposto.dtos.response.TaxBracketResponseDTO;
+import com.zup.desafio_imposto.dtos.response.TaxRateVersionResponseDTO;
 import com.zup.desafio_imposto.dtos.response.TaxTypeResponseDTO;
+import com.zup.desafio_imposto.models.TaxBracket;
 import com.zup.desafio_imposto.models.TaxType;
 import org.springframework.stereotype.Component;
 
@@ -13,7 +17,14 @@ public class TaxTypeMapper {
                 taxType.getId(),
                 taxType.getName(),
                 taxType.getDescription(),
-                taxType.getRate()
+                taxType.getRate(),
+                taxType.getRoundingMode(),
+                taxType.getBrackets().stream()
+                        .map(bracket -> new TaxBracketResponseDTO(bracket.getLowerBound(), bracket.getRate(), bracket.getDeduction()))
+                        .toList(),
+                taxType.getRateVersions().stream()
+                        .map(rateVersion -> new TaxRateVersionResponseDTO(rateVersion.getValidFrom(), rateVersion.getRate()))
+                        .toList()
         );
     }
 
@@ -22,6 +33,15 @@ public class TaxTypeMapper {
         taxType.setName(taxRequest.name());
         taxType.setDescription(taxRequest.description());
         taxType.setRate(taxRequest.rate());
+        taxType.setRoundingMode(taxRequest.roundingMode() == null
+                ? TaxRoundingMode.DEFAULT
+                : TaxRoundingMode.valueOf(taxRequest.roundingMode()));
+        if (taxRequest.brackets() != null) {
+            taxRequest.brackets().forEach(bracket -> taxType.addBracket(new TaxBracket(
+                    bracket.lowerBound(),
+                    bracket.rate(),
+                    bracket.deduction() == null ? 0.0 : bracket.deduction())));
+        }
 
         return taxType;
     }
@@ -0,0 +1,58 @@
+package com.zup.desafio_imposto.models;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+// Refresh token emitido no login. Só o jti fica gravado; o token em si é um JWT assinado.
+// Os papéis não são copiados: a troca os relê do usuário, para que uma mudança de papéis valha no próximo refresh
+@Entity
+@Table(name = "refresh_tokens", indexes = @Index(name = "idx_refresh_tokens_username", columnList = "username"))
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 36)
+    private String jti;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // Preenchido quando o token é trocado por outro (rotação) ou revogado no logout
+    @Column(name = "revoked_at")
+    private Instant revokedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public Instant getRevokedAt() {
+        return revokedAt;
+    }
+
+    public RefreshToken(String jti, String username, Instant expiresAt) {
+        this.jti = jti;
+        this.username = username;
+        this.expiresAt = expiresAt;
+    }
+
+    public RefreshToken() {
+    }
+}
@@ -0,0 +1,42 @@
+package com.zup.desafio_imposto.models;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+// Token de acesso revogado antes do "exp". Fonte da lista em memória de cada instância;
+// a linha pode ser apagada depois de expiresAt, quando o token já é recusado pela própria expiração
+@Entity
+@Table(name = "revoked_tokens", indexes = @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at"))
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 36)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public RevokedToken(String jti, Instant expiresAt) {
+        this.jti = jti;
+        this.expiresAt = expiresAt;
+    }
+
+    public RevokedToken() {
+    }
+}
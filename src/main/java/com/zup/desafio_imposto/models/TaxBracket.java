@@ -0,0 +1,71 @@
+package com.zup.desafio_imposto.models;
+
+import jakarta.persistence.*;
+
+// Faixa de uma tabela progressiva: a partir de lowerBound, imposto = base * rate% - deduction
+@Entity
+@Table(indexes = @Index(name = "idx_tax_bracket_tax_type", columnList = "tax_type_id"))
+public class TaxBracket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "tax_type_id", nullable = false)
+    private TaxType taxType;
+
+    @Column(nullable = false)
+    private Double lowerBound;
+
+    @Column(nullable = false)
+    private Double rate;
+
+    @Column(nullable = false)
+    private Double deduction;
+
+    public Long getId() {
+        return id;
+    }
+
+    public TaxType getTaxType() {
+        return taxType;
+    }
+
+    public void setTaxType(TaxType taxType) {
+        this.taxType = taxType;
+    }
+
+    public Double getLowerBound() {
+        return lowerBound;
+    }
+
+    public void setLowerBound(Double lowerBound) {
+        this.lowerBound = lowerBound;
+    }
+
+    public Double getRate() {
+        return rate;
+    }
+
+    public void setRate(Double rate) {
+        this.rate = rate;
+    }
+
+    public Double getDeduction() {
+        return deduction;
+    }
+
+    public void setDeduction(Double deduction) {
+        this.deduction = deduction;
+    }
+
+    public TaxBracket(Double lowerBound, Double rate, Double deduction) {
+        this.lowerBound = lowerBound;
+        this.rate = rate;
+        this.deduction = deduction;
+    }
+
+    public TaxBracket() {
+    }
+}
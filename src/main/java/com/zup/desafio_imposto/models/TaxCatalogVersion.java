@@ -0,0 +1,34 @@
+package com.zup.desafio_imposto.models;
+
+import jakarta.persistence.*;
+
+// Linha única com a versão do catálogo de impostos (ETag de GET /tax/tipos). Cada escrita em tax_type
+// incrementa a versão na mesma transação, então todas as instâncias leem o mesmo valor com uma busca pela chave
+@Entity
+@Table(name = "tax_catalog_version")
+public class TaxCatalogVersion {
+
+    public static final long SINGLETON_ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private long version;
+
+    public Long getId() {
+        return id;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public TaxCatalogVersion(Long id, long version) {
+        this.id = id;
+        this.version = version;
+    }
+
+    public TaxCatalogVersion() {
+    }
+}
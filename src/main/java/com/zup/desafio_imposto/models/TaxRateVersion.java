@@ -0,0 +1,49 @@
+package com.zup.desafio_imposto.models;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+// Alíquota de um imposto a partir de validFrom, até o início da vigência seguinte
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_tax_rate_version_tax_type_valid_from", columnNames = {"tax_type_id", "valid_from"}))
+public class TaxRateVersion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "valid_from", nullable = false)
+    private LocalDate validFrom;
+
+    @Column(nullable = false)
+    private Double rate;
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getValidFrom() {
+        return validFrom;
+    }
+
+    public void setValidFrom(LocalDate validFrom) {
+        this.validFrom = validFrom;
+    }
+
+    public Double getRate() {
+        return rate;
+    }
+
+    public void setRate(Double rate) {
+        this.rate = rate;
+    }
+
+    public TaxRateVersion(LocalDate validFrom, Double rate) {
+        this.validFrom = validFrom;
+        this.rate = rate;
+    }
+
+    public TaxRateVersion() {
+    }
+}
@@ -1,10 +1,21 @@
 package com.zup.desafio_imposto.models;
 
-
+import com.zup.desafio_imposto.calculation.BracketSchedule;
+import com.zup.desafio_imposto.calculation.FixedPointTaxCalculator;
+import com.zup.desafio_imposto.calculation.RateTimeline;
+import com.zup.desafio_imposto.calculation.TaxRoundingMode;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
 @Entity
 public class TaxType {
 
@@ -19,6 +30,39 @@ public class TaxType {
     @NotNull(message = "A alíquota não pode ser nula")
     @DecimalMin(value = "0.0", inclusive = false, message = "A alíquota deve ser maior que 0")
     private Double rate;
+    @Enumerated(EnumType.STRING)
+    private TaxRoundingMode roundingMode;
+    // Incrementada pelo JPA a cada atualização; compõe o ETag do recurso
+    @Version
+    private Long version;
+
+    // Tabela progressiva opcional; sem faixas, o imposto é proporcional a rate
+    @OneToMany(mappedBy = "taxType", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OrderBy("lowerBound ASC")
+    @BatchSize(size = 64)
+    private List<TaxBracket> brackets = new ArrayList<>();
+
+    // Vigências de alíquota; antes da primeira vale rate. A coleção pertence a TaxType para que
+    // uma nova vigência incremente version. Carregada em uma consulta separada para não multiplicar as faixas
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @JoinColumn(name = "tax_type_id", nullable = false)
+    @Fetch(FetchMode.SUBSELECT)
+    @OrderBy("validFrom ASC")
+    private List<TaxRateVersion> rateVersions = new ArrayList<>();
+
+    // Alíquota em ponto fixo, derivada de rate na primeira utilização; as instâncias ficam no TaxTypeCache
+    @Transient
+    private long rateUnits = UNRESOLVED_RATE_UNITS;
+
+    // Faixas compiladas em arrays primitivos no primeiro uso; como a entidade fica no TaxTypeCache, isso ocorre uma vez por carga
+    @Transient
+    private volatile BracketSchedule bracketSchedule;
+
+    // Índice das vigências compilado no primeiro uso, como as faixas
+    @Transient
+    private volatile RateTimeline rateTimeline;
+
+    private static final long UNRESOLVED_RATE_UNITS = -1;
 
     public Long getId() {
         return id;
@@ -50,6 +94,116 @@ public class TaxType {
 
     public void setRate(@NotNull(message = "A alíquota não pode ser nula") @DecimalMin(value = "0.0", inclusive = false, message = "A alíquota deve ser maior que 0") Double rate) {
         this.rate = rate;
+        this.rateUnits = UNRESOLVED_RATE_UNITS;
+        this.rateTimeline = null;
+    }
+
+    public long getRateUnits() {
+        long units = rateUnits;
+        if (units == UNRESOLVED_RATE_UNITS) {
+            units = FixedPointTaxCalculator.toRateUnits(rate);
+            rateUnits = units;
+        }
+        return units;
+    }
+
+    // Alíquota vigente no dia informado (dias desde 1970-01-01)
+    public long getRateUnitsAt(long epochDay) {
+        RateTimeline timeline = getRateTimeline();
+        return timeline == null ? getRateUnits() : timeline.rateUnitsAt(epochDay);
+    }
+
+    public List<TaxRateVersion> getRateVersions() {
+        return rateVersions;
+    }
+
+    public void addRateVersion(TaxRateVersion rateVersion) {
+        rateVersions.add(rateVersion);
+        rateTimeline = null;
+    }
+
+    // Nulo quando o imposto não tem vigências
+    public RateTimeline getRateTimeline() {
+        RateTimeline timeline = rateTimeline;
+        if (timeline == null && rateVersions != null && !rateVersions.isEmpty()) {
+            timeline = compileRateTimeline();
+            rateTimeline = timeline;
+        }
+        return timeline;
+    }
+
+    private RateTimeline compileRateTimeline() {
+        List<TaxRateVersion> sorted = rateVersions.stream()
+                .sorted(Comparator.comparing(TaxRateVersion::getValidFrom))
+                .toList();
+        long[] validFrom = new long[sorted.size()];
+        long[] rates = new long[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            validFrom[i] = sorted.get(i).getValidFrom().toEpochDay();
+            rates[i] = FixedPointTaxCalculator.toRateUnits(sorted.get(i).getRate());
+        }
+        return new RateTimeline(getRateUnits(), validFrom, rates);
+    }
+
+    public List<TaxBracket> getBrackets() {
+        return brackets;
+    }
+
+    public void setBrackets(List<TaxBracket> brackets) {
+        this.brackets = new ArrayList<>();
+        brackets.forEach(this::addBracket);
+    }
+
+    public void addBracket(TaxBracket bracket) {
+        bracket.setTaxType(this);
+        brackets.add(bracket);
+        bracketSchedule = null;
+    }
+
+    public boolean hasBrackets() {
+        return brackets != null && !brackets.isEmpty();
+    }
+
+    // Nulo quando o imposto não tem faixas. A corrida entre threads só compila a mesma tabela mais de uma vez
+    public BracketSchedule getBracketSchedule() {
+        BracketSchedule schedule = bracketSchedule;
+        if (schedule == null && hasBrackets()) {
+            schedule = compileBracketSchedule();
+            bracketSchedule = schedule;
+        }
+        return schedule;
+    }
+
+    private BracketSchedule compileBracketSchedule() {
+        List<TaxBracket> sorted = brackets.stream()
+                .sorted(Comparator.comparing(TaxBracket::getLowerBound))
+                .toList();
+        long[] lowerBounds = new long[sorted.size()];
+        long[] rates = new long[sorted.size()];
+        long[] deductions = new long[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            TaxBracket bracket = sorted.get(i);
+            lowerBounds[i] = FixedPointTaxCalculator.toMinorUnits(bracket.getLowerBound());
+            rates[i] = FixedPointTaxCalculator.toRateUnits(bracket.getRate());
+            deductions[i] = FixedPointTaxCalculator.toMinorUnits(bracket.getDeduction());
+        }
+        return new BracketSchedule(lowerBounds, rates, deductions);
+    }
+
+    public TaxRoundingMode getRoundingMode() {
+        return roundingMode == null ? TaxRoundingMode.DEFAULT : roundingMode;
+    }
+
+    public void setRoundingMode(TaxRoundingMode roundingMode) {
+        this.roundingMode = roundingMode;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
     }
 
     public TaxType(Long id, String name, String description, Double rate) {
@@ -8,8 +8,11 @@ import java.util.Set;
 @Entity
 public class User {
 
+    // Ids de sequência (reservados em blocos de 50) permitem ao Hibernate agrupar os INSERTs em lotes JDBC;
+    // com IDENTITY cada insert precisa ir ao banco sozinho para devolver o id
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     private String username;
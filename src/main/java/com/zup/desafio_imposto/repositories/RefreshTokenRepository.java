@@ -0,0 +1,27 @@
+package com.zup.desafio_imposto.repositories;
+
+import com.zup.desafio_imposto.models.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    // Busca pelo índice único do jti
+    Optional<RefreshToken> findByJti(String jti);
+
+    // Condicional para que duas trocas simultâneas do mesmo token não sejam ambas aceitas: só uma altera a linha
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revokedAt = :now WHERE r.id = :id AND r.revokedAt IS NULL")
+    int revokeIfActive(@Param("id") Long id, @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revokedAt = :now WHERE r.username = :username AND r.revokedAt IS NULL")
+    int revokeAllActiveByUsername(@Param("username") String username, @Param("now") Instant now);
+}
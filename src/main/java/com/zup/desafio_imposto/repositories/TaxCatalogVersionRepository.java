@@ -0,0 +1,22 @@
+package com.zup.desafio_imposto.repositories;
+
+import com.zup.desafio_imposto.models.TaxCatalogVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TaxCatalogVersionRepository extends JpaRepository<TaxCatalogVersion, Long> {
+
+    @Query("SELECT c.version FROM TaxCatalogVersion c WHERE c.id = :id")
+    Optional<Long> findVersion(@Param("id") long id);
+
+    // Incremento feito pelo banco: duas escritas concorrentes nunca gravam o mesmo número
+    @Modifying
+    @Query("UPDATE TaxCatalogVersion c SET c.version = c.version + 1 WHERE c.id = :id")
+    int increment(@Param("id") long id);
+}
@@ -1,11 +1,37 @@
 package com.zup.desafio_imposto.repositories;
 
 import com.zup.desafio_imposto.models.TaxType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface TaxTypeRepository extends JpaRepository<TaxType, Long> {
     boolean existsByName(String name);
 
-}
\ No newline at end of file
+    // Só a coluna version, buscada pela chave: é o ETag de GET /tax/tipos/{id}
+    @Query("SELECT COALESCE(t.version, 0) FROM TaxType t WHERE t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Página por cursor em ordem de id; filtros nulos são ignorados. A chave primária atende o cursor e a ordem,
+    // e os filtros são conferidos linha a linha: um filtro seletivo percorre mais linhas até completar a página.
+    // minRate/maxRate comparam a alíquota base (rate), a mesma devolvida em rate na resposta, e não a vigência atual
+    @Query("""
+            SELECT t FROM TaxType t
+            WHERE t.id > :cursor
+              AND (:namePattern IS NULL OR t.name LIKE :namePattern ESCAPE '\\')
+              AND (:minRate IS NULL OR t.rate >= :minRate)
+              AND (:maxRate IS NULL OR t.rate <= :maxRate)
+            ORDER BY t.id
+            """)
+    List<TaxType> findPageAfter(@Param("cursor") long cursor,
+                                @Param("namePattern") String namePattern,
+                                @Param("minRate") Double minRate,
+                                @Param("maxRate") Double maxRate,
+                                Limit limit);
+}
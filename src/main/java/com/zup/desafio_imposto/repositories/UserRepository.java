@@ -1,13 +1,32 @@
 package com.zup.desafio_imposto.repositories;
 
+import com.zup.desafio_imposto.repositories.projections.UserRoleProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.zup.desafio_imposto.models.User;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
-}
\ No newline at end of file
+
+    // Verificação de duplicados em conjunto, usada pela importação em massa
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    // O limite é aplicado aos usuários (pela chave primária) antes do join, para que papéis não consumam a página
+    @Query(value = """
+            SELECT u.id AS id, u.username AS username, r.name AS roleName
+            FROM (SELECT id, username FROM users WHERE id > :cursor ORDER BY id LIMIT :limit) u
+            LEFT JOIN users_roles ur ON ur.user_id = u.id
+            LEFT JOIN roles r ON r.id = ur.role_id
+            ORDER BY u.id, r.name
+            """, nativeQuery = true)
+    List<UserRoleProjection> findUserRolesAfter(@Param("cursor") long cursor, @Param("limit") int limit);
+}
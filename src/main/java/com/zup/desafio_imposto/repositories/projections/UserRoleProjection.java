@@ -0,0 +1,11 @@
+package com.zup.desafio_imposto.repositories.projections;
+
+// Uma linha por par usuário/papel; usuários sem papel vêm com roleName nulo
+public interface UserRoleProjection {
+
+    Long getId();
+
+    String getUsername();
+
+    String getRoleName();
+}
@@ -3,9 +3,21 @@ package com.zup.desafio_imposto.services;
 import com.zup.desafio_imposto.dtos.request.LoginRequestDTO;
 import com.zup.desafio_imposto.dtos.response.LoginResponseDTO;
 
+import java.util.concurrent.CompletableFuture;
+
 
 public interface AuthenticationService {
 
     LoginResponseDTO authenticate(LoginRequestDTO loginRequest);
 
+    CompletableFuture<LoginResponseDTO> authenticateAsync(LoginRequestDTO loginRequest);
+
+    LoginResponseDTO refresh(String refreshToken);
+
+    // accessToken é opcional; quando vem, também é revogado
+    void logout(String refreshToken, String accessToken);
+
+    // Para toda alteração de senha ou papéis: revoga os refresh tokens do usuário e descarta o login dele em cache
+    void invalidateSessions(String username);
+
 }
@@ -0,0 +1,16 @@
+package com.zup.desafio_imposto.services;
+
+public interface RefreshTokenService {
+
+    String issue(String username);
+
+    Rotation rotate(String refreshToken);
+
+    // Devolve o usuário dono do token revogado
+    String revoke(String refreshToken);
+
+    // Revoga todas as sessões ativas do usuário; devolve quantas foram revogadas
+    int revokeAll(String username);
+
+    record Rotation(String username, String roles, String refreshToken) {}
+}
@@ -0,0 +1,10 @@
+package com.zup.desafio_imposto.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface TaxCalculationStreamService {
+
+    long calculateTaxTypeStream(InputStream input, OutputStream output) throws IOException;
+}
@@ -1,20 +1,44 @@
 package com.zup.desafio_imposto.services;
 
 import com.zup.desafio_imposto.dtos.request.CalculateTaxTypeRequestDTO;
+import com.zup.desafio_imposto.dtos.request.CompositeCalculateTaxRequestDTO;
+import com.zup.desafio_imposto.dtos.request.TaxRateVersionRequestDTO;
 import com.zup.desafio_imposto.dtos.request.TaxTypeRequestDTO;
+import com.zup.desafio_imposto.dtos.response.CacheStatsResponseDTO;
 import com.zup.desafio_imposto.dtos.response.CalculateTaxTypeResponseDTO;
+import com.zup.desafio_imposto.dtos.response.CompositeCalculateTaxResponseDTO;
+import com.zup.desafio_imposto.dtos.response.PageResponseDTO;
 import com.zup.desafio_imposto.dtos.response.TaxTypeResponseDTO;
 
 import java.util.List;
 public interface TaxTypeService {
 
-    public List<TaxTypeResponseDTO> findAll();
+    public PageResponseDTO<TaxTypeResponseDTO> findAll(Long cursor, int size, String namePrefix, Double minRate, Double maxRate);
 
     TaxTypeResponseDTO findById(Long id);
 
+    String getCatalogVersion();
+
+    String getVersion(Long id);
+
     TaxTypeResponseDTO addTax(TaxTypeRequestDTO taxRequest);
 
+    TaxTypeResponseDTO addRateVersion(Long id, TaxRateVersionRequestDTO rateVersionRequest);
+
     CalculateTaxTypeResponseDTO calculateTaxType(CalculateTaxTypeRequestDTO calculateTaxRequest);
 
+    List<CalculateTaxTypeResponseDTO> calculateTaxTypes(List<CalculateTaxTypeRequestDTO> calculateTaxRequests);
+
+    CompositeCalculateTaxResponseDTO calculateCompositeTax(CompositeCalculateTaxRequestDTO compositeRequest);
+
+    // Valor do imposto em centavos, arredondado conforme o tipo de imposto
+    long calculateTaxInMinorUnits(Long taxId, long baseValueInMinorUnits);
+
+    // Estatísticas do cache de resultados de /tax/calculo
+    CacheStatsResponseDTO getCalculationCacheStats();
+
     void deleteTaxById(Long id);
+
+    // Descarta os caches locais quando outra instância alterou o catálogo
+    void syncCachesWithCatalog();
 }
@@ -0,0 +1,12 @@
+package com.zup.desafio_imposto.services;
+
+import io.jsonwebtoken.Claims;
+
+public interface TokenRevocationService {
+
+    void revoke(Claims accessTokenClaims);
+
+    void syncFromStore();
+
+    void pruneExpired();
+}
@@ -0,0 +1,13 @@
+package com.zup.desafio_imposto.services;
+
+import com.zup.desafio_imposto.dtos.response.UserImportResponseDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface UserImportService {
+
+    enum Format { CSV, NDJSON }
+
+    UserImportResponseDTO importUsers(InputStream input, Format format) throws IOException;
+}
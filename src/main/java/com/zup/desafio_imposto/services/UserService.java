@@ -1,18 +1,28 @@
 package com.zup.desafio_imposto.services;
 
 import com.zup.desafio_imposto.dtos.request.LoginRequestDTO;
+import com.zup.desafio_imposto.dtos.request.RefreshTokenRequestDTO;
 import com.zup.desafio_imposto.dtos.request.UserRequestDTO;
 import com.zup.desafio_imposto.dtos.response.LoginResponseDTO;
+import com.zup.desafio_imposto.dtos.response.PageResponseDTO;
+import com.zup.desafio_imposto.dtos.response.UserImportResponseDTO;
 import com.zup.desafio_imposto.dtos.response.UserResponseDTO;
-import com.zup.desafio_imposto.models.User;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
 
 public interface UserService {
 
     UserResponseDTO createUser(UserRequestDTO userRequest);
 
-    LoginResponseDTO loginUser (LoginRequestDTO login);
+    UserImportResponseDTO importUsers(InputStream input, UserImportService.Format format) throws IOException;
 
-    List<User> getAllUsers();
+    CompletableFuture<LoginResponseDTO> loginUser (LoginRequestDTO login);
+
+    LoginResponseDTO refreshToken(RefreshTokenRequestDTO refreshRequest);
+
+    void logoutUser(RefreshTokenRequestDTO refreshRequest, String accessToken);
+
+    PageResponseDTO<UserResponseDTO> listUsers(Long cursor, int size);
 }
\ No newline at end of file
@@ -1,65 +1,199 @@
 package com.zup.desafio_imposto.services.impl;
 
+import com.zup.desafio_imposto.cache.LoginResultCache;
 import com.zup.desafio_imposto.config.security.JwtTokenProvider;
+import com.zup.desafio_imposto.config.security.PasswordVerificationExecutor;
 import com.zup.desafio_imposto.dtos.request.LoginRequestDTO;
 import com.zup.desafio_imposto.dtos.response.LoginResponseDTO;
 import com.zup.desafio_imposto.models.Role;
 import com.zup.desafio_imposto.models.User;
 import com.zup.desafio_imposto.repositories.UserRepository;
 import com.zup.desafio_imposto.services.AuthenticationService;
+import com.zup.desafio_imposto.services.RefreshTokenService;
+import com.zup.desafio_imposto.services.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+// Cada método público gera o timer auth.service com as tags class e method
+@Timed("auth.service")
 @Service
 public class AuthenticationServiceImpl implements AuthenticationService {
 
+    private static final Logger logger = LoggerFactory.getLogger(AuthenticationServiceImpl.class);
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final PasswordVerificationExecutor passwordVerificationExecutor;
+    private final LoginResultCache loginResultCache;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+
+    // Tempo do BCrypt por resultado; senha errada custa o mesmo que a certa
+    private final Timer passwordMatchTimer;
+    private final Timer passwordMismatchTimer;
 
     public AuthenticationServiceImpl(UserRepository userRepository,
                                      PasswordEncoder passwordEncoder,
-                                     JwtTokenProvider jwtTokenProvider) {
+                                     JwtTokenProvider jwtTokenProvider,
+                                     PasswordVerificationExecutor passwordVerificationExecutor,
+                                     MeterRegistry meterRegistry,
+                                     LoginResultCache loginResultCache,
+                                     RefreshTokenService refreshTokenService,
+                                     TokenRevocationService tokenRevocationService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.passwordVerificationExecutor = passwordVerificationExecutor;
+        this.loginResultCache = loginResultCache;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.passwordMatchTimer = passwordVerifyTimer(meterRegistry, "match");
+        this.passwordMismatchTimer = passwordVerifyTimer(meterRegistry, "mismatch");
+    }
+
+    private static Timer passwordVerifyTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("security.password.verify")
+                .description("Tempo de verificação de senha no login")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     @Override
     public LoginResponseDTO authenticate(LoginRequestDTO loginRequest) {
+        String cachedRoles = findCachedRoles(loginRequest);
+        if (cachedRoles != null) {
+            return buildLoginResponse(loginRequest.username(), cachedRoles);
+        }
+        long invalidationStamp = loginResultCache.invalidationStamp();
+        User user = findUser(loginRequest);
+
+        // Valida a senha
+        validatePassword(loginRequest.password(), user.getPassword());
+        upgradePasswordEncodingIfNeeded(user, loginRequest.password());
+
+        return buildLoginResponse(user.getUsername(), cacheLogin(loginRequest, user, invalidationStamp));
+    }
+
+    @Override
+    public CompletableFuture<LoginResponseDTO> authenticateAsync(LoginRequestDTO loginRequest) {
+        // Repetições do mesmo login não ocupam o pool do BCrypt, mas recebem tokens novos
+        String cachedRoles = findCachedRoles(loginRequest);
+        if (cachedRoles != null) {
+            return CompletableFuture.completedFuture(buildLoginResponse(loginRequest.username(), cachedRoles));
+        }
+        long invalidationStamp = loginResultCache.invalidationStamp();
+        User user = findUser(loginRequest);
+
+        // O BCrypt roda no pool dedicado; se ele estiver saturado, o login é recusado com 429
+        return passwordVerificationExecutor.submit(() -> {
+            validatePassword(loginRequest.password(), user.getPassword());
+            upgradePasswordEncodingIfNeeded(user, loginRequest.password());
+            return buildLoginResponse(user.getUsername(), cacheLogin(loginRequest, user, invalidationStamp));
+        });
+    }
+
+    @Override
+    public LoginResponseDTO refresh(String refreshToken) {
+        // Sem senha: o refresh token já foi emitido para quem passou pelo BCrypt no login
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        return new LoginResponseDTO(generateToken(rotation.username(), rotation.roles()), rotation.refreshToken());
+    }
+
+    @Override
+    public void logout(String refreshToken, String accessToken) {
+        String username = refreshTokenService.revoke(refreshToken);
+        if (accessToken != null) {
+            revokeAccessToken(accessToken, username);
+        }
+    }
+
+    @Override
+    public void invalidateSessions(String username) {
+        // Chamado depois de gravar a alteração; um login em andamento com os dados antigos não volta ao cache
+        loginResultCache.evictUser(username);
+        int revoked = refreshTokenService.revokeAll(username);
+        logger.info("Credenciais do usuário {} alteradas; {} sessões revogadas", username, revoked);
+    }
+
+    private void revokeAccessToken(String accessToken, String username) {
+        // O filtro JWT já recusou tokens inválidos; aqui só se confere que o token é do mesmo usuário
+        Claims claims = jwtTokenProvider.getValidatedClaims(accessToken);
+        if (username.equals(claims.getSubject())) {
+            tokenRevocationService.revoke(claims);
+        }
+    }
+
+    private String findCachedRoles(LoginRequestDTO loginRequest) {
+        if (loginRequest == null) {
+            return null;
+        }
+        return loginResultCache.get(loginRequest.username(), loginRequest.password());
+    }
+
+    private String cacheLogin(LoginRequestDTO loginRequest, User user, long invalidationStamp) {
+        // Só logins bem-sucedidos chegam aqui; falhas nunca entram no cache
+        String roles = extractRoles(user);
+        loginResultCache.put(loginRequest.username(), loginRequest.password(), roles, invalidationStamp);
+        return roles;
+    }
+
+    private User findUser(LoginRequestDTO loginRequest) {
         // Valida se o loginRequest não é nulo
         if (loginRequest == null) {
             throw new IllegalArgumentException("Requisição de login não pode ser nula!");
         }
 
         // Busca o usuário pelo username
-        User user = userRepository.findByUsername(loginRequest.username())
+        return userRepository.findByUsername(loginRequest.username())
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado!"));
+    }
 
-        // Valida a senha
-        validatePassword(loginRequest.password(), user.getPassword());
-
-        // Extrai os papéis do usuário
-        String roles = extractRoles(user);
-
+    private LoginResponseDTO buildLoginResponse(String username, String roles) {
         // Gera o token JWT
-        String token = generateToken(user.getUsername(), roles);
+        String token = generateToken(username, roles);
 
-        // Retorna o token no DTO de resposta
-        return new LoginResponseDTO(token);
+        // Retorna o token e um refresh token novo no DTO de resposta
+        return new LoginResponseDTO(token, refreshTokenService.issue(username));
     }
 
     private void validatePassword(String rawPassword, String encodedPassword) {
         // Verifica se a senha fornecida corresponde à senha armazenada
-        if (!passwordEncoder.matches(rawPassword, encodedPassword)) {
+        long start = System.nanoTime();
+        boolean matches = passwordEncoder.matches(rawPassword, encodedPassword);
+        (matches ? passwordMatchTimer : passwordMismatchTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!matches) {
             throw new BadCredentialsException("Senha inválida!");
         }
     }
 
+    private void upgradePasswordEncodingIfNeeded(User user, String rawPassword) {
+        // Hashes com custo desatualizado ou sem o prefixo do algoritmo são regravados com a senha que acabou de ser validada
+        if (!passwordEncoder.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+        try {
+            user.setPassword(passwordEncoder.encode(rawPassword));
+            userRepository.save(user);
+        } catch (RuntimeException e) {
+            // A regravação é oportunista: uma falha aqui não deve impedir o login
+            logger.warn("Não foi possível atualizar o hash da senha do usuário {}: {}", user.getUsername(), e.getMessage());
+        }
+    }
+
     private String extractRoles(User user) {
         // Concatena os nomes dos papéis em uma string separada por vírgulas
         return user.getRoles().stream()
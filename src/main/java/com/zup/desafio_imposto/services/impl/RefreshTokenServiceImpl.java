@@ -0,0 +1,106 @@
+package com.zup.desafio_imposto.services.impl;
+
+import com.zup.desafio_imposto.config.security.JwtTokenProvider;
+import com.zup.desafio_imposto.exceptions.InvalidRefreshTokenException;
+import com.zup.desafio_imposto.models.RefreshToken;
+import com.zup.desafio_imposto.models.Role;
+import com.zup.desafio_imposto.models.User;
+import com.zup.desafio_imposto.repositories.RefreshTokenRepository;
+import com.zup.desafio_imposto.repositories.UserRepository;
+import com.zup.desafio_imposto.services.RefreshTokenService;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// Refresh tokens com rotação: cada troca revoga o token usado e emite outro.
+// A troca é verificação de assinatura + busca pelo jti e pelo usuário, sem BCrypt. Os papéis do novo token de acesso
+// vêm do usuário no momento da troca, não do login: um papel retirado deixa de valer no próximo refresh
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenServiceImpl.class);
+    private static final String INVALID_TOKEN_MESSAGE = "Refresh token inválido ou expirado!";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final Duration validity;
+
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository,
+                                   UserRepository userRepository,
+                                   JwtTokenProvider jwtTokenProvider,
+                                   @Value("${security.jwt.refresh-token-days:14}") long validityDays) {
+        if (validityDays <= 0) {
+            throw new IllegalArgumentException("A validade do refresh token deve ser maior que zero");
+        }
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.validity = Duration.ofDays(validityDays);
+    }
+
+    @Override
+    public String issue(String username) {
+        String jti = UUID.randomUUID().toString();
+        Instant expiresAt = Instant.now().plus(validity);
+        refreshTokenRepository.save(new RefreshToken(jti, username, expiresAt));
+        return jwtTokenProvider.generateRefreshToken(username, jti, Date.from(expiresAt));
+    }
+
+    // A revogação em massa por reuso precisa sobreviver à exceção que recusa a troca
+    @Override
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String refreshToken) {
+        RefreshToken stored = findStoredToken(refreshToken);
+        Instant now = Instant.now();
+        if (refreshTokenRepository.revokeIfActive(stored.getId(), now) == 0) {
+            // Token já trocado ou revogado sendo apresentado de novo: pode ter vazado, então todas as sessões do usuário caem
+            int revoked = refreshTokenRepository.revokeAllActiveByUsername(stored.getUsername(), now);
+            logger.warn("Reuso de refresh token do usuário {}; {} sessões revogadas", stored.getUsername(), revoked);
+            throw new InvalidRefreshTokenException(INVALID_TOKEN_MESSAGE);
+        }
+        // Usuário removido depois do login: o token já foi revogado acima e não há o que emitir
+        User user = userRepository.findByUsername(stored.getUsername())
+                .orElseThrow(() -> new InvalidRefreshTokenException(INVALID_TOKEN_MESSAGE));
+        String roles = user.getRoles().stream()
+                .map(Role::getName)
+                .collect(Collectors.joining(","));
+        return new Rotation(user.getUsername(), roles, issue(user.getUsername()));
+    }
+
+    @Override
+    @Transactional
+    public String revoke(String refreshToken) {
+        RefreshToken stored = findStoredToken(refreshToken);
+        // Logout repetido não é erro
+        refreshTokenRepository.revokeIfActive(stored.getId(), Instant.now());
+        return stored.getUsername();
+    }
+
+    @Override
+    @Transactional
+    public int revokeAll(String username) {
+        return refreshTokenRepository.revokeAllActiveByUsername(username, Instant.now());
+    }
+
+    private RefreshToken findStoredToken(String refreshToken) {
+        Claims claims;
+        try {
+            claims = jwtTokenProvider.getValidatedRefreshClaims(refreshToken);
+        } catch (RuntimeException e) {
+            throw new InvalidRefreshTokenException(INVALID_TOKEN_MESSAGE);
+        }
+        return refreshTokenRepository.findByJti(claims.getId())
+                .filter(stored -> stored.getUsername().equals(claims.getSubject()))
+                .orElseThrow(() -> new InvalidRefreshTokenException(INVALID_TOKEN_MESSAGE));
+    }
+}
@@ -0,0 +1,135 @@
+package com.zup.desafio_imposto.services.impl;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.zup.desafio_imposto.dtos.request.CalculateTaxTypeRequestDTO;
+import com.zup.desafio_imposto.dtos.response.CalculateTaxTypeStreamErrorDTO;
+import com.zup.desafio_imposto.exceptions.TaxNotFoundException;
+import com.zup.desafio_imposto.services.TaxCalculationStreamService;
+import com.zup.desafio_imposto.services.TaxTypeService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Cada método público gera o timer tax.service com as tags class e method
+@Timed("tax.service")
+@Service
+public class TaxCalculationStreamServiceImpl implements TaxCalculationStreamService {
+
+    static final int MAX_LINE_LENGTH = 8 * 1024;
+    private static final int FLUSH_INTERVAL = 512;
+
+    private static final int END_OF_STREAM = -1;
+    private static final int LINE_READ = 0;
+    private static final int LINE_TOO_LONG = 1;
+
+    private final TaxTypeService taxTypeService;
+    private final Validator validator;
+    private final ObjectReader requestReader;
+    private final ObjectWriter lineWriter;
+
+    public TaxCalculationStreamServiceImpl(TaxTypeService taxTypeService, ObjectMapper objectMapper, Validator validator) {
+        this.taxTypeService = taxTypeService;
+        this.validator = validator;
+        this.requestReader = objectMapper.readerFor(CalculateTaxTypeRequestDTO.class);
+        // O flush é feito em blocos de FLUSH_INTERVAL linhas, e não a cada registro
+        this.lineWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public long calculateTaxTypeStream(InputStream input, OutputStream output) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        StringBuilder line = new StringBuilder(256);
+        long lineNumber = 0;
+
+        try (JsonGenerator generator = lineWriter.getFactory().createGenerator(output, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null); // O separador entre registros é a quebra de linha
+            int status;
+            while ((status = readLine(reader, line)) != END_OF_STREAM) {
+                lineNumber++;
+                if (status == LINE_TOO_LONG) {
+                    writeLine(generator, new CalculateTaxTypeStreamErrorDTO(lineNumber, "Requisição Inválida",
+                            "A linha excede o tamanho máximo de " + MAX_LINE_LENGTH + " caracteres."));
+                } else if (!line.toString().isBlank()) {
+                    writeLine(generator, calculateLine(line.toString(), lineNumber));
+                }
+                if (lineNumber % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+            generator.flush();
+        }
+        return lineNumber;
+    }
+
+    private Object calculateLine(String line, long lineNumber) {
+        CalculateTaxTypeRequestDTO request;
+        try {
+            request = requestReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            return new CalculateTaxTypeStreamErrorDTO(lineNumber, "Requisição Inválida", "JSON inválido.");
+        }
+        // A linha "null" é JSON válido, mas não é um registro
+        if (request == null) {
+            return new CalculateTaxTypeStreamErrorDTO(lineNumber, "Requisição Inválida", "JSON inválido.");
+        }
+
+        Set<ConstraintViolation<CalculateTaxTypeRequestDTO>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(" "));
+            return new CalculateTaxTypeStreamErrorDTO(lineNumber, "Erro de Validação", message);
+        }
+
+        try {
+            return taxTypeService.calculateTaxType(request);
+        } catch (TaxNotFoundException e) {
+            return new CalculateTaxTypeStreamErrorDTO(lineNumber, "Não Encontrado", e.getMessage());
+        }
+    }
+
+    private void writeLine(JsonGenerator generator, Object value) throws IOException {
+        lineWriter.writeValue(generator, value);
+        generator.writeRaw('\n');
+    }
+
+    // Lê uma linha sem nunca guardar mais que MAX_LINE_LENGTH caracteres em memória
+    private int readLine(BufferedReader reader, StringBuilder line) throws IOException {
+        line.setLength(0);
+        boolean tooLong = false;
+        int c = reader.read();
+        if (c == -1) {
+            return END_OF_STREAM;
+        }
+        while (c != -1 && c != '\n') {
+            if (c != '\r' && !tooLong) {
+                if (line.length() == MAX_LINE_LENGTH) {
+                    tooLong = true;
+                    line.setLength(0);
+                } else {
+                    line.append((char) c);
+                }
+            }
+            c = reader.read();
+        }
+        return tooLong ? LINE_TOO_LONG : LINE_READ;
+    }
+}
@@ -1,36 +1,123 @@
 package com.zup.desafio_imposto.services.impl;
 
+import com.zup.desafio_imposto.cache.CacheStats;
+import com.zup.desafio_imposto.cache.TaxCalculationResultCache;
+import com.zup.desafio_imposto.cache.TaxTypeCache;
+import com.zup.desafio_imposto.calculation.BracketSchedule;
+import com.zup.desafio_imposto.calculation.FixedPointTaxCalculator;
+import com.zup.desafio_imposto.calculation.TaxApplicationMode;
 import com.zup.desafio_imposto.dtos.request.CalculateTaxTypeRequestDTO;
+import com.zup.desafio_imposto.dtos.request.CompositeCalculateTaxRequestDTO;
+import com.zup.desafio_imposto.dtos.request.CompositeTaxItemRequestDTO;
+import com.zup.desafio_imposto.dtos.request.TaxRateVersionRequestDTO;
 import com.zup.desafio_imposto.dtos.request.TaxTypeRequestDTO;
+import com.zup.desafio_imposto.dtos.response.CacheStatsResponseDTO;
 import com.zup.desafio_imposto.dtos.response.CalculateTaxTypeResponseDTO;
+import com.zup.desafio_imposto.dtos.response.CompositeCalculateTaxResponseDTO;
+import com.zup.desafio_imposto.dtos.response.CompositeTaxItemResponseDTO;
+import com.zup.desafio_imposto.dtos.response.PageResponseDTO;
 import com.zup.desafio_imposto.dtos.response.TaxTypeResponseDTO;
 import com.zup.desafio_imposto.exceptions.DuplicateTaxNameException;
 import com.zup.desafio_imposto.exceptions.TaxNotFoundException;
 import com.zup.desafio_imposto.mappers.TaxTypeMapper;
+import com.zup.desafio_imposto.models.TaxCatalogVersion;
+import com.zup.desafio_imposto.models.TaxRateVersion;
 import com.zup.desafio_imposto.models.TaxType;
+import com.zup.desafio_imposto.repositories.TaxCatalogVersionRepository;
 import com.zup.desafio_imposto.repositories.TaxTypeRepository;
 import com.zup.desafio_imposto.services.TaxTypeService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+// Cada método público gera o timer tax.service com as tags class e method
+@Timed("tax.service")
 @Service
 public class TaxTypeServiceImpl implements TaxTypeService {
 
+    // Fuso usado para decidir qual alíquota está vigente "hoje"
+    private static final ZoneId RATE_ZONE = ZoneId.of("America/Sao_Paulo");
+
     private final TaxTypeRepository taxTypeRepository;
+    private final TaxCatalogVersionRepository catalogVersionRepository;
     private final TaxTypeMapper taxTypeMapper;
+    private final TaxTypeCache taxTypeCache;
+    private final TaxCalculationResultCache resultCache;
+
+    // Versão do catálogo vista pela última sincronização dos caches
+    private volatile long syncedCatalogVersion;
 
-    public TaxTypeServiceImpl(TaxTypeRepository taxTypeRepository, TaxTypeMapper taxTypeMapper) {
+    public TaxTypeServiceImpl(TaxTypeRepository taxTypeRepository, TaxCatalogVersionRepository catalogVersionRepository,
+                              TaxTypeMapper taxTypeMapper, TaxTypeCache taxTypeCache, TaxCalculationResultCache resultCache) {
         this.taxTypeRepository = taxTypeRepository;
+        this.catalogVersionRepository = catalogVersionRepository;
         this.taxTypeMapper = taxTypeMapper;
+        this.taxTypeCache = taxTypeCache;
+        this.resultCache = resultCache;
+    }
+
+    // Cria a linha da versão do catálogo antes da primeira escrita; as escritas só fazem o incremento
+    @PostConstruct
+    void initCatalogVersion() {
+        if (!catalogVersionRepository.existsById(TaxCatalogVersion.SINGLETON_ID)) {
+            try {
+                catalogVersionRepository.save(new TaxCatalogVersion(TaxCatalogVersion.SINGLETON_ID, 0L));
+            } catch (DataIntegrityViolationException e) {
+                // Outra instância criou a linha ao mesmo tempo
+            }
+        }
+        // Lida antes de qualquer carga nos caches: uma escrita de outra instância a partir daqui é percebida
+        syncedCatalogVersion = currentCatalogVersion();
+    }
+
+    // Os caches desta instância só veem as próprias escritas. Quando a versão do catálogo muda, os dois são descartados
+    // e recarregados sob demanda; as escritas locais também mudam a versão e causam um descarte a mais, o que é
+    // aceitável porque o catálogo muda raramente
+    @Override
+    @Scheduled(fixedDelayString = "${tax.cache.sync-interval-ms:10000}")
+    public void syncCachesWithCatalog() {
+        long current = currentCatalogVersion();
+        if (current != syncedCatalogVersion) {
+            syncedCatalogVersion = current;
+            taxTypeCache.clear();
+            resultCache.clear();
+        }
     }
 
     @Override
-    public List<TaxTypeResponseDTO> findAll() {
-        return taxTypeRepository.findAll()
+    public PageResponseDTO<TaxTypeResponseDTO> findAll(Long cursor, int size, String namePrefix, Double minRate, Double maxRate) {
+        PageResponseDTO.validateSize(size);
+        if (minRate != null && maxRate != null && minRate > maxRate) {
+            throw new IllegalArgumentException("A alíquota mínima não pode ser maior que a máxima");
+        }
+        // Busca um item a mais para saber se existe próxima página
+        List<TaxTypeResponseDTO> taxTypes = taxTypeRepository.findPageAfter(cursor == null ? 0L : cursor,
+                        toLikePrefix(namePrefix), minRate, maxRate, Limit.of(size + 1))
                 .stream()
                 .map(taxTypeMapper::toResponseDTO)
                 .toList();
+        return PageResponseDTO.of(taxTypes, size, TaxTypeResponseDTO::id);
+    }
+
+    static String toLikePrefix(String namePrefix) {
+        if (namePrefix == null || namePrefix.isEmpty()) {
+            return null;
+        }
+        // Curingas digitados pelo usuário são tratados como texto
+        return namePrefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
     }
 
     @Override
@@ -40,39 +127,235 @@ public class TaxTypeServiceImpl implements TaxTypeService {
     }
 
     @Override
+    public String getCatalogVersion() {
+        // Uma linha lida pela chave, seja qual for o tamanho do catálogo; como vem do banco, todas as instâncias
+        // emitem o mesmo ETag. Escritas feitas fora deste serviço não incrementam a versão
+        return String.valueOf(currentCatalogVersion());
+    }
+
+    private long currentCatalogVersion() {
+        return catalogVersionRepository.findVersion(TaxCatalogVersion.SINGLETON_ID).orElse(0L);
+    }
+
+    @Override
+    public String getVersion(Long id) {
+        // Lida do banco pela chave, e não do cache local: uma alteração feita em outra instância muda o ETag na hora
+        Long version = taxTypeRepository.findVersionById(id)
+                .orElseThrow(() -> new TaxNotFoundException("Imposto não encontrado"));
+        return id + "-" + version;
+    }
+
+    @Override
+    @Transactional
     public TaxTypeResponseDTO addTax(TaxTypeRequestDTO taxRequest) {
         TaxType taxType = taxTypeMapper.toEntity(taxRequest);
+        taxType.getBracketSchedule(); // Compila as faixas antes de gravar: uma tabela inconsistente é recusada com 400
+        TaxType savedTaxType = taxTypeRepository.save(taxType);
+        bumpCatalogVersion();
+        taxTypeCache.put(savedTaxType);
+        return taxTypeMapper.toResponseDTO(savedTaxType);
+    }
+
+    @Override
+    @Transactional
+    public TaxTypeResponseDTO addRateVersion(Long id, TaxRateVersionRequestDTO rateVersionRequest) {
+        // Carrega uma instância nova: a do cache é compartilhada com os cálculos em andamento
+        TaxType taxType = taxTypeRepository.findById(id)
+                .orElseThrow(() -> new TaxNotFoundException("Imposto não encontrado"));
+        if (taxType.hasBrackets()) {
+            throw new IllegalArgumentException("Imposto com tabela progressiva não aceita vigências de alíquota");
+        }
+        taxType.addRateVersion(new TaxRateVersion(rateVersionRequest.validFrom(), rateVersionRequest.rate()));
+        taxType.getRateTimeline(); // Recusa datas de início repetidas antes de gravar
         TaxType savedTaxType = taxTypeRepository.save(taxType);
+        bumpCatalogVersion();
+        taxTypeCache.put(savedTaxType);
+        resultCache.evictTax(id);
         return taxTypeMapper.toResponseDTO(savedTaxType);
     }
 
     @Override
     public CalculateTaxTypeResponseDTO calculateTaxType(CalculateTaxTypeRequestDTO calculateTaxRequest) {
+        long epochDay = referenceEpochDay(calculateTaxRequest.referenceDate(), today());
+        // Pares repetidos (imposto, valor) são respondidos sem buscar o imposto nem calcular
+        CalculateTaxTypeResponseDTO cached = resultCache.get(calculateTaxRequest.taxId(), calculateTaxRequest.baseValue(), epochDay);
+        if (cached != null) {
+            return cached;
+        }
+        long invalidationStamp = resultCache.invalidationStamp();
         TaxType taxType = findTaxByIdOrThrow(calculateTaxRequest.taxId()); // Obtém o imposto pelo ID
-        double taxValue = calculateTaxValue(taxType.getRate(), calculateTaxRequest.baseValue()); // Calcula o valor do imposto
-        return new CalculateTaxTypeResponseDTO(
-                taxType.getName(), // Nome do imposto
-                calculateTaxRequest.baseValue(), // Valor base
-                taxType.getRate(), // Taxa do imposto
-                taxValue // Valor calculado do imposto
+        CalculateTaxTypeResponseDTO response = buildCalculateResponse(taxType, calculateTaxRequest.baseValue(), epochDay);
+        resultCache.put(calculateTaxRequest.taxId(), calculateTaxRequest.baseValue(), epochDay, response, invalidationStamp);
+        return response;
+    }
+
+    @Override
+    public List<CalculateTaxTypeResponseDTO> calculateTaxTypes(List<CalculateTaxTypeRequestDTO> calculateTaxRequests) {
+        // Cada imposto distinto do lote é buscado uma única vez
+        Set<Long> taxIds = calculateTaxRequests.stream()
+                .map(CalculateTaxTypeRequestDTO::taxId)
+                .collect(Collectors.toSet());
+        Map<Long, TaxType> taxTypesById = findTaxesByIdsOrThrow(taxIds);
+
+        // Os resultados seguem a ordem de entrada
+        long today = today();
+        return calculateTaxRequests.stream()
+                .map(request -> buildCalculateResponse(taxTypesById.get(request.taxId()), request.baseValue(),
+                        referenceEpochDay(request.referenceDate(), today)))
+                .toList();
+    }
+
+    @Override
+    public CompositeCalculateTaxResponseDTO calculateCompositeTax(CompositeCalculateTaxRequestDTO compositeRequest) {
+        List<CompositeTaxItemRequestDTO> items = compositeRequest.taxes();
+        Set<Long> taxIds = new HashSet<>();
+        for (CompositeTaxItemRequestDTO item : items) {
+            if (!taxIds.add(item.taxId())) {
+                throw new IllegalArgumentException("Imposto repetido na composição: " + item.taxId());
+            }
+        }
+        // Todos os impostos da composição em uma única ida ao banco
+        Map<Long, TaxType> taxTypesById = findTaxesByIdsOrThrow(taxIds);
+
+        long baseInMinorUnits = FixedPointTaxCalculator.toMinorUnits(compositeRequest.baseValue());
+        long epochDay = referenceEpochDay(compositeRequest.referenceDate(), today());
+        long totalTaxInMinorUnits = 0;
+        List<CompositeTaxItemResponseDTO> taxes = new ArrayList<>(items.size());
+        for (CompositeTaxItemRequestDTO item : items) {
+            TaxType taxType = taxTypesById.get(item.taxId());
+            TaxApplicationMode mode = item.mode() == null ? TaxApplicationMode.DEFAULT : TaxApplicationMode.valueOf(item.mode());
+            // Cumulativo: incide sobre a base acrescida dos impostos anteriores na lista
+            long itemBase = Boolean.TRUE.equals(item.cascade())
+                    ? addMinorUnits(baseInMinorUnits, totalTaxInMinorUnits)
+                    : baseInMinorUnits;
+
+            long taxInMinorUnits;
+            long calculationBase;
+            long rateUnits;
+            if (mode == TaxApplicationMode.POR_DENTRO) {
+                if (taxType.hasBrackets()) {
+                    throw new IllegalArgumentException("Imposto com tabela progressiva não pode ser calculado por dentro: " + taxType.getName());
+                }
+                rateUnits = taxType.getRateUnitsAt(epochDay);
+                taxInMinorUnits = FixedPointTaxCalculator.calculateTaxInclusive(itemBase, rateUnits, taxType.getRoundingMode());
+                // Por dentro, a base de cálculo já contém o próprio imposto
+                calculationBase = addMinorUnits(itemBase, taxInMinorUnits);
+            } else {
+                rateUnits = appliedRateUnits(taxType, itemBase, epochDay);
+                taxInMinorUnits = calculateTaxInMinorUnits(taxType, itemBase, epochDay);
+                calculationBase = itemBase;
+            }
+            totalTaxInMinorUnits = addMinorUnits(totalTaxInMinorUnits, taxInMinorUnits);
+            taxes.add(new CompositeTaxItemResponseDTO(
+                    taxType.getId(),
+                    taxType.getName(),
+                    mode.name(),
+                    FixedPointTaxCalculator.fromMinorUnits(calculationBase),
+                    FixedPointTaxCalculator.fromRateUnits(rateUnits),
+                    FixedPointTaxCalculator.fromMinorUnits(taxInMinorUnits)
+            ));
+        }
+        return new CompositeCalculateTaxResponseDTO(
+                compositeRequest.baseValue(),
+                taxes,
+                FixedPointTaxCalculator.fromMinorUnits(totalTaxInMinorUnits),
+                FixedPointTaxCalculator.fromMinorUnits(addMinorUnits(baseInMinorUnits, totalTaxInMinorUnits))
         );
     }
 
     @Override
+    public long calculateTaxInMinorUnits(Long taxId, long baseValueInMinorUnits) {
+        return calculateTaxInMinorUnits(findTaxByIdOrThrow(taxId), baseValueInMinorUnits, today());
+    }
+
+    @Override
+    public CacheStatsResponseDTO getCalculationCacheStats() {
+        CacheStats stats = resultCache.stats();
+        return new CacheStatsResponseDTO(resultCache.isEnabled(), stats.hits(), stats.misses(), stats.evictions(),
+                stats.size(), stats.hitRatio());
+    }
+
+    @Override
+    @Transactional
     public void deleteTaxById(Long id) {
         if (!taxTypeRepository.existsById(id)) {
             throw new TaxNotFoundException("Imposto não encontrado");
         }
         taxTypeRepository.deleteById(id);
+        bumpCatalogVersion();
+        taxTypeCache.evict(id);
+        resultCache.evictTax(id);
+    }
+
+    // Na mesma transação da escrita: a versão só muda se a escrita for confirmada
+    private void bumpCatalogVersion() {
+        if (catalogVersionRepository.increment(TaxCatalogVersion.SINGLETON_ID) == 0) {
+            catalogVersionRepository.save(new TaxCatalogVersion(TaxCatalogVersion.SINGLETON_ID, 1L));
+        }
     }
 
     private TaxType findTaxByIdOrThrow(Long id) {
-        return taxTypeRepository.findById(id)
+        return taxTypeCache.get(id, taxTypeRepository::findById)
                 .orElseThrow(() -> new TaxNotFoundException("Imposto não encontrado"));
     }
 
-    private double calculateTaxValue(double rate, double baseValue) {
-        return baseValue * rate / 100.0;
+    private Map<Long, TaxType> findTaxesByIdsOrThrow(Set<Long> ids) {
+        Map<Long, TaxType> taxTypesById = taxTypeCache.getAll(ids, taxTypeRepository::findAllById);
+        if (taxTypesById.size() < ids.size()) {
+            List<Long> missingIds = ids.stream()
+                    .filter(id -> !taxTypesById.containsKey(id))
+                    .sorted()
+                    .toList();
+            throw new TaxNotFoundException("Imposto não encontrado: " + missingIds);
+        }
+        return taxTypesById;
+    }
+
+    // Compartilhado com ReactiveTaxTypeServiceImpl: os dois modos calculam com a mesma regra
+    static CalculateTaxTypeResponseDTO buildCalculateResponse(TaxType taxType, Double baseValue, long epochDay) {
+        // Conta feita em centavos; o double só aparece na borda da API
+        long baseInMinorUnits = FixedPointTaxCalculator.toMinorUnits(baseValue);
+        return new CalculateTaxTypeResponseDTO(
+                taxType.getName(), // Nome do imposto
+                baseValue, // Valor base
+                FixedPointTaxCalculator.fromRateUnits(appliedRateUnits(taxType, baseInMinorUnits, epochDay)), // Taxa do imposto
+                FixedPointTaxCalculator.fromMinorUnits(calculateTaxInMinorUnits(taxType, baseInMinorUnits, epochDay)) // Valor calculado do imposto
+        );
+    }
+
+    static long today() {
+        return LocalDate.now(RATE_ZONE).toEpochDay();
+    }
+
+    static long referenceEpochDay(LocalDate referenceDate, long today) {
+        return referenceDate == null ? today : referenceDate.toEpochDay();
+    }
+
+    // Uma cadeia cumulativa longa pode estourar 64 bits; o erro é do pedido, não do servidor
+    private static long addMinorUnits(long a, long b) {
+        try {
+            return Math.addExact(a, b);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("O valor do imposto excede o limite suportado");
+        }
+    }
+
+    // Na tabela progressiva, a taxa informada é a alíquota da faixa aplicada
+    private static long appliedRateUnits(TaxType taxType, long baseInMinorUnits, long epochDay) {
+        BracketSchedule schedule = taxType.getBracketSchedule();
+        if (schedule == null) {
+            return taxType.getRateUnitsAt(epochDay);
+        }
+        return schedule.rateUnitsAt(schedule.bracketIndex(baseInMinorUnits));
+    }
+
+    // Vigências de alíquota valem só para impostos proporcionais; a tabela progressiva não é datada
+    private static long calculateTaxInMinorUnits(TaxType taxType, long baseInMinorUnits, long epochDay) {
+        BracketSchedule schedule = taxType.getBracketSchedule();
+        if (schedule != null) {
+            return schedule.calculateTax(baseInMinorUnits, taxType.getRoundingMode());
+        }
+        return FixedPointTaxCalculator.calculateTax(baseInMinorUnits, taxType.getRateUnitsAt(epochDay), taxType.getRoundingMode());
     }
 
     private void validateDuplicateTaxName(String name){
@@ -0,0 +1,363 @@
+package com.zup.desafio_imposto.services.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.zup.desafio_imposto.config.security.PasswordHashingExecutor;
+import com.zup.desafio_imposto.dtos.request.UserRequestDTO;
+import com.zup.desafio_imposto.dtos.response.UserImportErrorDTO;
+import com.zup.desafio_imposto.dtos.response.UserImportResponseDTO;
+import com.zup.desafio_imposto.mappers.UserMapper;
+import com.zup.desafio_imposto.models.Role;
+import com.zup.desafio_imposto.models.User;
+import com.zup.desafio_imposto.repositories.RoleRepository;
+import com.zup.desafio_imposto.repositories.UserRepository;
+import com.zup.desafio_imposto.services.UserImportService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+// Importação de usuários em massa a partir de CSV (username,password,role) ou NDJSON (um UserRequestDTO por linha).
+// Em vez de repetir createUser por linha, valida tudo antes, verifica duplicados com uma consulta por bloco de nomes,
+// busca os papéis uma vez (papéis que não existem no banco recusam a linha), gera os hashes em paralelo no PasswordHashingExecutor e grava em lotes JDBC.
+// Linhas com problema não interrompem a importação: voltam na resposta com o número da linha.
+// Cada bloco é gravado na sua própria transação: se um bloco falha, só as linhas dele voltam como erro,
+// e os blocos já gravados continuam no banco (contados em "imported").
+@Timed("user.service")
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    static final int MAX_LINE_LENGTH = 8 * 1024;
+    // Igual a spring.jpa.properties.hibernate.jdbc.batch_size: cada bloco vira um lote de INSERTs
+    static final int BATCH_SIZE = 50;
+    // Quantidade de nomes por consulta IN
+    static final int LOOKUP_CHUNK_SIZE = 1000;
+    static final String CSV_HEADER = "username,password,role";
+    private static final String CSV_ROLE_SEPARATOR = ";";
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportServiceImpl.class);
+
+    private record ImportRow(long line, UserRequestDTO request) {}
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final UserMapper userMapper;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final Validator validator;
+    private final ObjectReader requestReader;
+    private final int maxRows;
+
+    public UserImportServiceImpl(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder,
+                                 UserMapper userMapper, PasswordHashingExecutor passwordHashingExecutor,
+                                 ObjectMapper objectMapper, Validator validator,
+                                 @Value("${users.import.max-rows:10000}") int maxRows) {
+        if (maxRows <= 0) {
+            throw new IllegalArgumentException("O limite de linhas da importação deve ser maior que zero");
+        }
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.userMapper = userMapper;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.validator = validator;
+        this.requestReader = objectMapper.readerFor(UserRequestDTO.class);
+        this.maxRows = maxRows;
+    }
+
+    @Override
+    public UserImportResponseDTO importUsers(InputStream input, Format format) throws IOException {
+        List<UserImportErrorDTO> errors = new ArrayList<>();
+        List<ImportRow> rows = readRows(input, format, errors);
+        int received = rows.size() + errors.size();
+
+        List<ImportRow> newUsers = removeExistingUsernames(removeRepeatedUsernames(validate(rows, errors), errors), errors);
+        int imported = 0;
+        if (!newUsers.isEmpty()) {
+            Map<String, Role> rolesByName = loadRoles();
+            List<ImportRow> accepted = removeUnknownRoles(newUsers, rolesByName, errors);
+            imported = accepted.isEmpty() ? 0 : insert(accepted, rolesByName, errors);
+        }
+
+        errors.sort(Comparator.comparingLong(UserImportErrorDTO::line));
+        return new UserImportResponseDTO(received, imported, List.copyOf(errors));
+    }
+
+    private List<ImportRow> readRows(InputStream input, Format format, List<UserImportErrorDTO> errors) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<ImportRow> rows = new ArrayList<>();
+        boolean expectingHeader = format == Format.CSV;
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (expectingHeader) {
+                validateCsvHeader(line);
+                expectingHeader = false;
+                continue;
+            }
+            // Recusa o arquivo inteiro antes de gerar qualquer hash
+            if (rows.size() + errors.size() == maxRows) {
+                throw new IllegalArgumentException("O arquivo excede o limite de " + maxRows + " usuários por importação.");
+            }
+            if (line.length() > MAX_LINE_LENGTH) {
+                errors.add(new UserImportErrorDTO(lineNumber, null, "Requisição Inválida",
+                        "A linha excede o tamanho máximo de " + MAX_LINE_LENGTH + " caracteres."));
+                continue;
+            }
+            try {
+                rows.add(new ImportRow(lineNumber, format == Format.CSV ? parseCsvRow(line) : parseJsonRow(line)));
+            } catch (IllegalArgumentException e) {
+                errors.add(new UserImportErrorDTO(lineNumber, null, "Requisição Inválida", e.getMessage()));
+            }
+        }
+        if (expectingHeader) {
+            throw new IllegalArgumentException("Arquivo CSV vazio. A primeira linha deve ser o cabeçalho " + CSV_HEADER + ".");
+        }
+        return rows;
+    }
+
+    private void validateCsvHeader(String line) {
+        String header = parseCsvLine(line).stream()
+                .map(column -> column.trim().toLowerCase())
+                .collect(Collectors.joining(","));
+        if (!CSV_HEADER.equals(header)) {
+            throw new IllegalArgumentException("Cabeçalho CSV inválido. Esperado: " + CSV_HEADER + ".");
+        }
+    }
+
+    private UserRequestDTO parseJsonRow(String line) {
+        try {
+            UserRequestDTO request = requestReader.readValue(line);
+            if (request == null) {
+                throw new IllegalArgumentException("JSON inválido.");
+            }
+            return request;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON inválido.");
+        }
+    }
+
+    private UserRequestDTO parseCsvRow(String line) {
+        List<String> columns = parseCsvLine(line);
+        if (columns.size() != 3) {
+            throw new IllegalArgumentException("A linha deve ter 3 colunas (" + CSV_HEADER + "), mas tem " + columns.size() + ".");
+        }
+        // Vários papéis na mesma coluna são separados por ponto e vírgula: ROLE_ADMIN;ROLE_USER
+        Set<String> roles = Arrays.stream(columns.get(2).split(CSV_ROLE_SEPARATOR))
+                .map(String::trim)
+                .filter(role -> !role.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        return new UserRequestDTO(columns.get(0), columns.get(1), roles);
+    }
+
+    // Aceita campos entre aspas (RFC 4180), para senhas com vírgula; aspas dentro do campo são escritas como ""
+    static List<String> parseCsvLine(String line) {
+        List<String> columns = new ArrayList<>();
+        StringBuilder column = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    column.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    column.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                columns.add(column.toString());
+                column.setLength(0);
+            } else {
+                column.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Aspas não fechadas na linha.");
+        }
+        columns.add(column.toString());
+        return columns;
+    }
+
+    private List<ImportRow> validate(List<ImportRow> rows, List<UserImportErrorDTO> errors) {
+        List<ImportRow> valid = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            Set<ConstraintViolation<UserRequestDTO>> violations = validator.validate(row.request());
+            if (violations.isEmpty()) {
+                valid.add(row);
+            } else {
+                String message = violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining(" "));
+                errors.add(new UserImportErrorDTO(row.line(), row.request().username(), "Erro de Validação", message));
+            }
+        }
+        return valid;
+    }
+
+    // A primeira ocorrência de cada nome é importada; as seguintes apontam para ela
+    private List<ImportRow> removeRepeatedUsernames(List<ImportRow> rows, List<UserImportErrorDTO> errors) {
+        Map<String, Long> firstLineByUsername = new HashMap<>();
+        List<ImportRow> unique = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            Long firstLine = firstLineByUsername.putIfAbsent(row.request().username(), row.line());
+            if (firstLine == null) {
+                unique.add(row);
+            } else {
+                errors.add(new UserImportErrorDTO(row.line(), row.request().username(), "Conflito",
+                        "Usuário repetido no arquivo (primeira ocorrência na linha " + firstLine + ")"));
+            }
+        }
+        return unique;
+    }
+
+    private List<ImportRow> removeExistingUsernames(List<ImportRow> rows, List<UserImportErrorDTO> errors) {
+        Set<String> existing = new HashSet<>();
+        for (int start = 0; start < rows.size(); start += LOOKUP_CHUNK_SIZE) {
+            List<String> usernames = rows.subList(start, Math.min(start + LOOKUP_CHUNK_SIZE, rows.size())).stream()
+                    .map(row -> row.request().username())
+                    .toList();
+            existing.addAll(userRepository.findExistingUsernames(usernames));
+        }
+        if (existing.isEmpty()) {
+            return rows;
+        }
+        List<ImportRow> newUsers = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            if (existing.contains(row.request().username())) {
+                errors.add(new UserImportErrorDTO(row.line(), row.request().username(), "Conflito", "Usuário já cadastrado no sistema"));
+            } else {
+                newUsers.add(row);
+            }
+        }
+        return newUsers;
+    }
+
+    // Uma consulta para todos os papéis; a importação nunca cria papéis
+    private Map<String, Role> loadRoles() {
+        return roleRepository.findAll().stream()
+                .collect(Collectors.toMap(Role::getName, role -> role, (first, second) -> first));
+    }
+
+    // Um papel digitado errado no arquivo não pode virar um papel novo no banco: a linha volta como erro
+    private List<ImportRow> removeUnknownRoles(List<ImportRow> rows, Map<String, Role> rolesByName, List<UserImportErrorDTO> errors) {
+        List<ImportRow> accepted = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            List<String> unknown = row.request().role().stream()
+                    .filter(roleName -> !rolesByName.containsKey(roleName))
+                    .sorted()
+                    .toList();
+            if (unknown.isEmpty()) {
+                accepted.add(row);
+            } else {
+                errors.add(new UserImportErrorDTO(row.line(), row.request().username(), "Erro de Validação",
+                        "Papel inexistente: " + String.join(", ", unknown)));
+            }
+        }
+        return accepted;
+    }
+
+    private int insert(List<ImportRow> rows, Map<String, Role> rolesByName, List<UserImportErrorDTO> errors) {
+        int imported = 0;
+        List<CompletableFuture<String>> pendingHashes = hashPasswords(batch(rows, 0));
+        for (int start = 0; start < rows.size(); start += BATCH_SIZE) {
+            List<ImportRow> batch = batch(rows, start);
+            List<CompletableFuture<String>> hashes = pendingHashes;
+            // Os hashes do próximo bloco são gerados enquanto este é gravado
+            pendingHashes = hashPasswords(batch(rows, start + BATCH_SIZE));
+
+            List<ImportRow> hashedRows = new ArrayList<>(batch.size());
+            List<User> users = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                ImportRow row = batch.get(i);
+                String hash = joinHash(row, hashes.get(i), errors);
+                if (hash == null) {
+                    continue;
+                }
+                Set<Role> roles = row.request().role().stream().map(rolesByName::get).collect(Collectors.toSet());
+                hashedRows.add(row);
+                users.add(userMapper.toEntity(row.request(), hash, roles));
+            }
+            if (users.isEmpty()) {
+                continue;
+            }
+            // Cada bloco é gravado na sua própria transação, como um lote de INSERTs
+            try {
+                userRepository.saveAll(users);
+                imported += users.size();
+            } catch (DataAccessException e) {
+                logger.warn("Bloco da importação com {} usuários não gravado (linhas {} a {}): {}", hashedRows.size(),
+                        hashedRows.get(0).line(), hashedRows.get(hashedRows.size() - 1).line(), e.getMessage());
+                reportFailedBatch(hashedRows, e, errors);
+            }
+        }
+        return imported;
+    }
+
+    // Uma falha ao gerar um hash recusa só a própria linha; o restante do bloco segue para o banco
+    private String joinHash(ImportRow row, CompletableFuture<String> hash, List<UserImportErrorDTO> errors) {
+        try {
+            return hash.join();
+        } catch (CompletionException e) {
+            logger.warn("Hash da senha da linha {} não gerado: {}", row.line(), e.getMessage());
+            errors.add(new UserImportErrorDTO(row.line(), row.request().username(), "Erro Interno do Servidor",
+                    "Não foi possível gerar o hash da senha"));
+            return null;
+        }
+    }
+
+    // O banco não diz qual linha causou a falha, e o bloco inteiro voltou atrás: todas as linhas dele viram erro
+    private void reportFailedBatch(List<ImportRow> batch, DataAccessException e, List<UserImportErrorDTO> errors) {
+        boolean conflict = e instanceof DataIntegrityViolationException;
+        String error = conflict ? "Conflito" : "Erro Interno do Servidor";
+        String message = conflict
+                ? "Bloco não gravado: violação de integridade no banco (ex.: usuário cadastrado durante a importação)"
+                : "Bloco não gravado: falha ao acessar o banco";
+        for (ImportRow row : batch) {
+            errors.add(new UserImportErrorDTO(row.line(), row.request().username(), error, message));
+        }
+    }
+
+    private List<ImportRow> batch(List<ImportRow> rows, int start) {
+        return start >= rows.size() ? List.of() : rows.subList(start, Math.min(start + BATCH_SIZE, rows.size()));
+    }
+
+    private List<CompletableFuture<String>> hashPasswords(List<ImportRow> batch) {
+        return batch.stream()
+                .map(row -> passwordHashingExecutor.submit(() -> passwordEncoder.encode(row.request().password())))
+                .toList();
+    }
+}
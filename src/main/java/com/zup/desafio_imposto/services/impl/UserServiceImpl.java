@@ -1,8 +1,11 @@
 package com.zup.desafio_imposto.services.impl;
 
 import com.zup.desafio_imposto.dtos.request.LoginRequestDTO;
+import com.zup.desafio_imposto.dtos.request.RefreshTokenRequestDTO;
 import com.zup.desafio_imposto.dtos.request.UserRequestDTO;
 import com.zup.desafio_imposto.dtos.response.LoginResponseDTO;
+import com.zup.desafio_imposto.dtos.response.PageResponseDTO;
+import com.zup.desafio_imposto.dtos.response.UserImportResponseDTO;
 import com.zup.desafio_imposto.dtos.response.UserResponseDTO;
 import com.zup.desafio_imposto.exceptions.DuplicateUsernameException;
 import com.zup.desafio_imposto.mappers.UserMapper;
@@ -10,15 +13,27 @@ import com.zup.desafio_imposto.models.Role;
 import com.zup.desafio_imposto.models.User;
 import com.zup.desafio_imposto.repositories.RoleRepository;
 import com.zup.desafio_imposto.repositories.UserRepository;
+import com.zup.desafio_imposto.repositories.projections.UserRoleProjection;
 import com.zup.desafio_imposto.services.AuthenticationService;
+import com.zup.desafio_imposto.services.UserImportService;
 import com.zup.desafio_imposto.services.UserService;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
+// Cada método público gera o timer user.service com as tags class e method
+@Timed("user.service")
 @Service
 public class UserServiceImpl implements UserService {
 
@@ -32,17 +47,36 @@ public class UserServiceImpl implements UserService {
 
     private final AuthenticationService authenticationService;
 
-    public UserServiceImpl(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder bCryptPasswordEncoder, UserMapper userMapper, AuthenticationService authenticationService) {
+    private final UserImportService userImportService;
+
+    public UserServiceImpl(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder bCryptPasswordEncoder, UserMapper userMapper, AuthenticationService authenticationService, UserImportService userImportService) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.bCryptPasswordEncoder = bCryptPasswordEncoder;
         this.userMapper = userMapper;
         this.authenticationService = authenticationService;
+        this.userImportService = userImportService;
     }
 
     @Override
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public PageResponseDTO<UserResponseDTO> listUsers(Long cursor, int size) {
+        PageResponseDTO.validateSize(size);
+        // Busca um usuário a mais para saber se existe próxima página
+        List<UserRoleProjection> rows = userRepository.findUserRolesAfter(cursor == null ? 0L : cursor, size + 1);
+        return PageResponseDTO.of(groupRolesByUser(rows), size, UserResponseDTO::id);
+    }
+
+    private List<UserResponseDTO> groupRolesByUser(List<UserRoleProjection> rows) {
+        // As linhas chegam ordenadas por id, então os papéis de cada usuário são consecutivos
+        Map<Long, UserResponseDTO> users = new LinkedHashMap<>();
+        for (UserRoleProjection row : rows) {
+            UserResponseDTO user = users.computeIfAbsent(row.getId(),
+                    id -> new UserResponseDTO(id, row.getUsername(), new LinkedHashSet<>()));
+            if (row.getRoleName() != null) {
+                user.role().add(row.getRoleName());
+            }
+        }
+        return new ArrayList<>(users.values());
     }
 
     @Override
@@ -62,8 +96,23 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public LoginResponseDTO loginUser(LoginRequestDTO login) {
-        return authenticationService.authenticate(login);
+    public UserImportResponseDTO importUsers(InputStream input, UserImportService.Format format) throws IOException {
+        return userImportService.importUsers(input, format);
+    }
+
+    @Override
+    public CompletableFuture<LoginResponseDTO> loginUser(LoginRequestDTO login) {
+        return authenticationService.authenticateAsync(login);
+    }
+
+    @Override
+    public LoginResponseDTO refreshToken(RefreshTokenRequestDTO refreshRequest) {
+        return authenticationService.refresh(refreshRequest.refreshToken());
+    }
+
+    @Override
+    public void logoutUser(RefreshTokenRequestDTO refreshRequest, String accessToken) {
+        authenticationService.logout(refreshRequest.refreshToken(), accessToken);
     }
 
     private Set<Role> getRolesFromRequest(Set<String> roleNames) {
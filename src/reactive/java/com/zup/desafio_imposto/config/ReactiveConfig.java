@@ -0,0 +1,53 @@
+package com.zup.desafio_imposto.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+// Infraestrutura do modo reativo (perfil reactive)
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfig {
+
+    private ConnectionPool connectionPool;
+
+    // Com o Tomcat também no classpath, o Spring Boot o escolheria para o modo reativo; o Netty atende
+    // milhares de conexões abertas com poucas threads de event loop
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    // O pool fica fora do contexto: um ConnectionFactory registrado como bean desligaria o DataSource do JPA,
+    // que o restante da aplicação ainda usa
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(@Value("${tax.reactive.r2dbc.url}") String url,
+                                                 @Value("${tax.reactive.r2dbc.username}") String username,
+                                                 @Value("${tax.reactive.r2dbc.password}") String password,
+                                                 @Value("${tax.reactive.r2dbc.pool-size:20}") int poolSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .initialSize(1)
+                .maxSize(poolSize)
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @PreDestroy
+    void closeConnectionPool() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.zup.desafio_imposto.config.security;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+// Equivalente reativo do JwtAuthenticationFilter. Não é um bean: registrado como WebFilter no contexto,
+// o WebFlux o aplicaria também fora da cadeia de segurança. A autenticação vai no contexto do Reactor, não em ThreadLocal
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private final JwtClaimsResolver claimsResolver;
+
+    public JwtAuthenticationWebFilter(JwtClaimsResolver claimsResolver) {
+        this.claimsResolver = claimsResolver;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String token = JwtClaimsResolver.extractToken(exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+        if (token == null) {
+            return chain.filter(exchange);
+        }
+
+        UsernamePasswordAuthenticationToken authentication;
+        try {
+            authentication = claimsResolver.authenticate(token);
+        } catch (RuntimeException e) {
+            return handleInvalidToken(exchange.getResponse(), e.getMessage());
+        }
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+    }
+
+    private Mono<Void> handleInvalidToken(ServerHttpResponse response, String errorMessage) {
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        DataBuffer body = response.bufferFactory().wrap(JwtClaimsResolver.createErrorResponse(errorMessage).getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(body));
+    }
+}
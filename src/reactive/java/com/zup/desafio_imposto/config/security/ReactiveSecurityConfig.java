@@ -0,0 +1,63 @@
+package com.zup.desafio_imposto.config.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+// Segurança do modo reativo (perfil reactive): só leitura e cálculo de impostos, autenticados por JWT.
+// Os tokens são emitidos pela aplicação servlet, que compartilha JWT_SECRET_KEY
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+    @Bean
+    SecurityWebFilterChain reactiveSecurityFilterChain(ServerHttpSecurity http,
+                                                       JwtTokenProvider jwtTokenProvider,
+                                                       @Value("${security.jwt.claims-cache.max-entries:10000}") int claimsCacheMaxEntries,
+                                                       MeterRegistry meterRegistry,
+                                                       TokenRevocationList revocationList) {
+        JwtClaimsResolver claimsResolver = new JwtClaimsResolver(jwtTokenProvider, new JwtClaimsCache(claimsCacheMaxEntries),
+                meterRegistry, revocationList);
+        return http.csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                // Sem sessão: cada requisição traz o próprio token
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(authorize -> authorize
+                        // Só o health check é anônimo; as métricas exigem token como as demais rotas
+                        .pathMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                        .pathMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        // Mesma regra do modo padrão: o cálculo é restrito a ADMIN
+                        .pathMatchers(HttpMethod.POST, "/tax/calculo").hasRole("ADMIN")
+                        .anyExchange().authenticated())
+                .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedEntryPoint()))
+                .addFilterAt(new JwtAuthenticationWebFilter(claimsResolver), SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    private ServerAuthenticationEntryPoint unauthorizedEntryPoint() {
+        return (exchange, authException) -> {
+            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            DataBuffer body = exchange.getResponse().bufferFactory()
+                    .wrap(JwtClaimsResolver.createErrorResponse("Unauthorized").getBytes(StandardCharsets.UTF_8));
+            return exchange.getResponse().writeWith(Mono.just(body));
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.zup.desafio_imposto.controllers;
+
+import com.zup.desafio_imposto.dtos.request.CalculateTaxTypeRequestDTO;
+import com.zup.desafio_imposto.dtos.response.CalculateTaxTypeResponseDTO;
+import com.zup.desafio_imposto.dtos.response.PageResponseDTO;
+import com.zup.desafio_imposto.dtos.response.TaxTypeResponseDTO;
+import com.zup.desafio_imposto.services.ReactiveTaxTypeService;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+// Variante reativa (perfil reactive) das rotas de leitura e cálculo do TaxTypeController, com os mesmos contratos
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RestController
+@RequestMapping("/tax")
+public class ReactiveTaxTypeController {
+
+    private final ReactiveTaxTypeService taxTypeService;
+
+    public ReactiveTaxTypeController(ReactiveTaxTypeService taxTypeService) {
+        this.taxTypeService = taxTypeService;
+    }
+
+    @GetMapping("/tipos")
+    public Mono<ResponseEntity<PageResponseDTO<TaxTypeResponseDTO>>> getAllTaxTypes(@RequestParam(required = false) Long cursor,
+                                                                                    @RequestParam(defaultValue = "" + PageResponseDTO.DEFAULT_SIZE) int size,
+                                                                                    @RequestParam(required = false) String name,
+                                                                                    @RequestParam(required = false) Double minRate,
+                                                                                    @RequestParam(required = false) Double maxRate) {
+        return taxTypeService.findAll(cursor, size, name, minRate, maxRate).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/tipos/{id}")
+    public Mono<ResponseEntity<TaxTypeResponseDTO>> getTaxTypeById(@PathVariable Long id) {
+        return taxTypeService.findById(id).map(ResponseEntity::ok);
+    }
+
+    @PostMapping("/calculo")
+    public Mono<ResponseEntity<CalculateTaxTypeResponseDTO>> calculateTaxType(@Valid @RequestBody CalculateTaxTypeRequestDTO calculateTaxTypeRequest) {
+        return taxTypeService.calculateTaxType(calculateTaxTypeRequest).map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,71 @@
+package com.zup.desafio_imposto.exceptions;
+
+import com.zup.desafio_imposto.exceptions.GlobalExceptionHandler.ErrorResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+// Mesmas respostas de erro do GlobalExceptionHandler para as rotas do modo reativo
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveExceptionHandler.class);
+
+    private ResponseEntity<ErrorResponse> buildErrorResponse(HttpStatus status, String error, String message) {
+        return ResponseEntity.status(status).body(new ErrorResponse(error, message));
+    }
+
+    @ExceptionHandler(TaxNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleTaxNotFoundException(TaxNotFoundException ex) {
+        logger.error("Erro! Imposto não encontrado: {}", ex.getMessage());
+        return buildErrorResponse(HttpStatus.NOT_FOUND, "Não Encontrado", ex.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
+        logger.error("Erro de argumento inválido: {}", ex.getMessage());
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, "Requisição Inválida", ex.getMessage());
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, Object>> handleValidationExceptions(WebExchangeBindException ex) {
+        logger.error("Erro de validação: {}", ex.getMessage());
+        Map<String, String> fieldErrors = ex.getBindingResult().getFieldErrors()
+                .stream()
+                .collect(Collectors.toMap(
+                        FieldError::getField,
+                        fieldError -> Objects.requireNonNullElse(fieldError.getDefaultMessage(), "Mensagem de erro não disponível"),
+                        (first, second) -> first
+                ));
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                "erro", "Erro de Validação",
+                "detalhes", fieldErrors
+        ));
+    }
+
+    // Corpo ilegível ou parâmetro com tipo errado
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleServerWebInputException(ServerWebInputException ex) {
+        logger.error("Requisição ilegível: {}", ex.getMessage());
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, "Requisição Inválida", ex.getReason());
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
+        logger.error("Erro inesperado do tipo {}: {}", ex.getClass().getName(), ex.getMessage(), ex);
+        return buildErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Erro Interno do Servidor",
+                "Ocorreu um erro inesperado. Por favor, tente novamente mais tarde.");
+    }
+}
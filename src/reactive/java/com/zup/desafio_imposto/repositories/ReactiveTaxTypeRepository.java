@@ -0,0 +1,123 @@
+package com.zup.desafio_imposto.repositories;
+
+import com.zup.desafio_imposto.calculation.TaxRoundingMode;
+import com.zup.desafio_imposto.models.TaxBracket;
+import com.zup.desafio_imposto.models.TaxRateVersion;
+import com.zup.desafio_imposto.models.TaxType;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Leitura de TaxType via R2DBC para o modo reativo, sobre as mesmas tabelas mapeadas pelo JPA.
+// As entidades voltam com faixas e vigências carregadas, prontas para o cálculo compartilhado com o TaxTypeServiceImpl
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTaxTypeRepository {
+
+    private static final String SELECT_TAX_TYPE = "SELECT id, name, description, rate, rounding_mode, version FROM tax_type";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveTaxTypeRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<TaxType> findById(long id) {
+        return databaseClient.sql(SELECT_TAX_TYPE + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveTaxTypeRepository::toTaxType)
+                .one()
+                .flatMap(taxType -> withBracketsAndRateVersions(List.of(taxType)))
+                .map(taxTypes -> taxTypes.get(0));
+    }
+
+    // Mesma semântica de TaxTypeRepository.findPageAfter: página por cursor em ordem de id, filtros nulos ignorados,
+    // faixa de alíquota sobre a alíquota base
+    public Flux<TaxType> findPageAfter(long cursor, String namePattern, Double minRate, Double maxRate, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_TAX_TYPE).append(" WHERE id > :cursor");
+        if (namePattern != null) {
+            sql.append(" AND name LIKE :namePattern ESCAPE '\\'");
+        }
+        if (minRate != null) {
+            sql.append(" AND rate >= :minRate");
+        }
+        if (maxRate != null) {
+            sql.append(" AND rate <= :maxRate");
+        }
+        sql.append(" ORDER BY id LIMIT :limit");
+
+        DatabaseClient.GenericExecuteSpec query = databaseClient.sql(sql.toString())
+                .bind("cursor", cursor)
+                .bind("limit", limit);
+        if (namePattern != null) {
+            query = query.bind("namePattern", namePattern);
+        }
+        if (minRate != null) {
+            query = query.bind("minRate", minRate);
+        }
+        if (maxRate != null) {
+            query = query.bind("maxRate", maxRate);
+        }
+        return query.map(ReactiveTaxTypeRepository::toTaxType)
+                .all()
+                .collectList()
+                .flatMap(this::withBracketsAndRateVersions)
+                .flatMapIterable(Function.identity());
+    }
+
+    // Faixas e vigências da página inteira em duas consultas, executadas em paralelo
+    private Mono<List<TaxType>> withBracketsAndRateVersions(List<TaxType> taxTypes) {
+        if (taxTypes.isEmpty()) {
+            return Mono.just(taxTypes);
+        }
+        List<Long> ids = taxTypes.stream().map(TaxType::getId).toList();
+        Mono<Map<Long, List<TaxBracket>>> brackets = databaseClient.sql("""
+                        SELECT tax_type_id, lower_bound, rate, deduction FROM tax_bracket
+                        WHERE tax_type_id IN (:ids) ORDER BY tax_type_id, lower_bound""")
+                .bind("ids", ids)
+                .map(row -> Map.entry(row.get("tax_type_id", Long.class), new TaxBracket(
+                        row.get("lower_bound", Double.class),
+                        row.get("rate", Double.class),
+                        row.get("deduction", Double.class))))
+                .all()
+                .collect(Collectors.groupingBy(Map.Entry::getKey, Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
+        Mono<Map<Long, List<TaxRateVersion>>> rateVersions = databaseClient.sql("""
+                        SELECT tax_type_id, valid_from, rate FROM tax_rate_version
+                        WHERE tax_type_id IN (:ids) ORDER BY tax_type_id, valid_from""")
+                .bind("ids", ids)
+                .map(row -> Map.entry(row.get("tax_type_id", Long.class), new TaxRateVersion(
+                        row.get("valid_from", LocalDate.class),
+                        row.get("rate", Double.class))))
+                .all()
+                .collect(Collectors.groupingBy(Map.Entry::getKey, Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
+
+        return Mono.zip(brackets, rateVersions).map(children -> {
+            for (TaxType taxType : taxTypes) {
+                children.getT1().getOrDefault(taxType.getId(), List.of()).forEach(taxType::addBracket);
+                children.getT2().getOrDefault(taxType.getId(), List.of()).forEach(taxType::addRateVersion);
+            }
+            return taxTypes;
+        });
+    }
+
+    private static TaxType toTaxType(Readable row) {
+        TaxType taxType = new TaxType(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("description", String.class),
+                row.get("rate", Double.class));
+        String roundingMode = row.get("rounding_mode", String.class);
+        taxType.setRoundingMode(roundingMode == null ? null : TaxRoundingMode.valueOf(roundingMode));
+        taxType.setVersion(row.get("version", Long.class));
+        return taxType;
+    }
+}
@@ -0,0 +1,16 @@
+package com.zup.desafio_imposto.services;
+
+import com.zup.desafio_imposto.dtos.request.CalculateTaxTypeRequestDTO;
+import com.zup.desafio_imposto.dtos.response.CalculateTaxTypeResponseDTO;
+import com.zup.desafio_imposto.dtos.response.PageResponseDTO;
+import com.zup.desafio_imposto.dtos.response.TaxTypeResponseDTO;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveTaxTypeService {
+
+    Mono<PageResponseDTO<TaxTypeResponseDTO>> findAll(Long cursor, int size, String namePrefix, Double minRate, Double maxRate);
+
+    Mono<TaxTypeResponseDTO> findById(Long id);
+
+    Mono<CalculateTaxTypeResponseDTO> calculateTaxType(CalculateTaxTypeRequestDTO calculateTaxRequest);
+}
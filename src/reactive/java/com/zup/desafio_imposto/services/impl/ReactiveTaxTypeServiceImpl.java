@@ -0,0 +1,63 @@
+package com.zup.desafio_imposto.services.impl;
+
+import com.zup.desafio_imposto.dtos.request.CalculateTaxTypeRequestDTO;
+import com.zup.desafio_imposto.dtos.response.CalculateTaxTypeResponseDTO;
+import com.zup.desafio_imposto.dtos.response.PageResponseDTO;
+import com.zup.desafio_imposto.dtos.response.TaxTypeResponseDTO;
+import com.zup.desafio_imposto.exceptions.TaxNotFoundException;
+import com.zup.desafio_imposto.mappers.TaxTypeMapper;
+import com.zup.desafio_imposto.models.TaxType;
+import com.zup.desafio_imposto.repositories.ReactiveTaxTypeRepository;
+import com.zup.desafio_imposto.services.ReactiveTaxTypeService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+// Leitura e cálculo de impostos sem bloquear threads. As validações e o cálculo são os do TaxTypeServiceImpl.
+// Sem TaxTypeCache: as escritas acontecem nas instâncias servlet, e um cache aqui nunca seria invalidado
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTaxTypeServiceImpl implements ReactiveTaxTypeService {
+
+    private final ReactiveTaxTypeRepository taxTypeRepository;
+    private final TaxTypeMapper taxTypeMapper;
+
+    public ReactiveTaxTypeServiceImpl(ReactiveTaxTypeRepository taxTypeRepository, TaxTypeMapper taxTypeMapper) {
+        this.taxTypeRepository = taxTypeRepository;
+        this.taxTypeMapper = taxTypeMapper;
+    }
+
+    @Override
+    public Mono<PageResponseDTO<TaxTypeResponseDTO>> findAll(Long cursor, int size, String namePrefix, Double minRate, Double maxRate) {
+        // defer: parâmetros inválidos viram erro do Mono, tratado como 400 pelo ReactiveExceptionHandler
+        return Mono.defer(() -> {
+            PageResponseDTO.validateSize(size);
+            if (minRate != null && maxRate != null && minRate > maxRate) {
+                throw new IllegalArgumentException("A alíquota mínima não pode ser maior que a máxima");
+            }
+            // Busca um item a mais para saber se existe próxima página
+            return taxTypeRepository.findPageAfter(cursor == null ? 0L : cursor,
+                            TaxTypeServiceImpl.toLikePrefix(namePrefix), minRate, maxRate, size + 1)
+                    .map(taxTypeMapper::toResponseDTO)
+                    .collectList()
+                    .map(taxTypes -> PageResponseDTO.of(taxTypes, size, TaxTypeResponseDTO::id));
+        });
+    }
+
+    @Override
+    public Mono<TaxTypeResponseDTO> findById(Long id) {
+        return findTaxByIdOrError(id).map(taxTypeMapper::toResponseDTO);
+    }
+
+    @Override
+    public Mono<CalculateTaxTypeResponseDTO> calculateTaxType(CalculateTaxTypeRequestDTO calculateTaxRequest) {
+        long epochDay = TaxTypeServiceImpl.referenceEpochDay(calculateTaxRequest.referenceDate(), TaxTypeServiceImpl.today());
+        return findTaxByIdOrError(calculateTaxRequest.taxId())
+                .map(taxType -> TaxTypeServiceImpl.buildCalculateResponse(taxType, calculateTaxRequest.baseValue(), epochDay));
+    }
+
+    private Mono<TaxType> findTaxByIdOrError(Long id) {
+        return taxTypeRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new TaxNotFoundException("Imposto não encontrado")));
+    }
+}
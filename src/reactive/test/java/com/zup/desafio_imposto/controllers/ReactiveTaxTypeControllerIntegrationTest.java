@@ -0,0 +1,218 @@
+package com.zup.desafio_imposto.controllers;
+
+import com.zup.desafio_imposto.config.security.JwtTokenProvider;
+import com.zup.desafio_imposto.models.TaxBracket;
+import com.zup.desafio_imposto.models.TaxRateVersion;
+import com.zup.desafio_imposto.models.TaxType;
+import com.zup.desafio_imposto.repositories.TaxTypeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+
+// Sobe a aplicação no perfil reactive (WebFlux sobre Netty) com H2: o JPA grava os dados e as rotas os leem via R2DBC
+@ActiveProfiles("reactive")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "tax.reactive.r2dbc.url=r2dbc:h2:mem:///reactive;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "JWT_SECRET_KEY=Y2hhdmUtZGUtdGVzdGUtY29tLXBlbG8tbWVub3MtMjU2LWJpdHM=",
+        "security.password.bcrypt-cost=4"
+})
+class ReactiveTaxTypeControllerIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private TaxTypeRepository taxTypeRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private String token;
+    private Long icmsId;
+    private Long irpfId;
+
+    @BeforeEach
+    void setUp() {
+        token = jwtTokenProvider.generateToken("admin", "ADMIN");
+
+        TaxType icms = new TaxType(null, "ICMS", "Imposto sobre circulação", 18.0);
+        icms.addRateVersion(new TaxRateVersion(LocalDate.of(2020, 1, 1), 20.0));
+        icmsId = taxTypeRepository.save(icms).getId();
+
+        TaxType irpf = new TaxType(null, "IRPF", "Imposto de renda", 10.0);
+        irpf.addBracket(new TaxBracket(0.0, 0.0, 0.0));
+        irpf.addBracket(new TaxBracket(2000.0, 10.0, 200.0));
+        irpfId = taxTypeRepository.save(irpf).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taxTypeRepository.deleteAll();
+    }
+
+    @Test
+    void shouldRejectRequest_WhenTokenIsMissing() {
+        webTestClient.get().uri("/tax/tipos/{id}", icmsId)
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody().jsonPath("$.error").isEqualTo("Unauthorized");
+    }
+
+    @Test
+    void shouldRejectRequest_WhenTokenIsInvalid() {
+        webTestClient.get().uri("/tax/tipos/{id}", icmsId)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token-invalido")
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody().jsonPath("$.error").exists();
+    }
+
+    @Test
+    void shouldKeepOnlyHealthCheckAnonymous() {
+        webTestClient.get().uri("/actuator/health")
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get().uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void shouldReturnTaxTypeWithBracketsAndRateVersions() {
+        webTestClient.get().uri("/tax/tipos/{id}", irpfId)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("IRPF")
+                .jsonPath("$.brackets.length()").isEqualTo(2)
+                .jsonPath("$.brackets[1].lowerBound").isEqualTo(2000.0);
+
+        webTestClient.get().uri("/tax/tipos/{id}", icmsId)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.rateVersions[0].validFrom").isEqualTo("2020-01-01")
+                .jsonPath("$.rateVersions[0].rate").isEqualTo(20.0);
+    }
+
+    @Test
+    void shouldReturnNotFound_WhenTaxTypeDoesNotExist() {
+        webTestClient.get().uri("/tax/tipos/{id}", 999_999)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.message").isEqualTo("Imposto não encontrado");
+    }
+
+    @Test
+    void shouldPageAndFilterTaxTypes() {
+        webTestClient.get().uri(uri -> uri.path("/tax/tipos").queryParam("size", 1).build())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(1)
+                .jsonPath("$.content[0].name").isEqualTo("ICMS")
+                .jsonPath("$.nextCursor").isEqualTo(icmsId);
+
+        webTestClient.get().uri(uri -> uri.path("/tax/tipos").queryParam("name", "IR").build())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(1)
+                .jsonPath("$.content[0].name").isEqualTo("IRPF")
+                .jsonPath("$.nextCursor").doesNotExist();
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenPageSizeIsInvalid() {
+        webTestClient.get().uri(uri -> uri.path("/tax/tipos").queryParam("size", 0).build())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Requisição Inválida");
+    }
+
+    @Test
+    void shouldCalculateWithRateInForceOnReferenceDate() {
+        webTestClient.post().uri("/tax/calculo")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"taxId\": " + icmsId + ", \"baseValue\": 1000.0, \"referenceDate\": \"2019-06-01\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.rate").isEqualTo(18.0)
+                .jsonPath("$.taxCalculated").isEqualTo(180.0);
+
+        webTestClient.post().uri("/tax/calculo")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"taxId\": " + icmsId + ", \"baseValue\": 1000.0, \"referenceDate\": \"2021-06-01\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.rate").isEqualTo(20.0)
+                .jsonPath("$.taxCalculated").isEqualTo(200.0);
+    }
+
+    @Test
+    void shouldCalculateProgressiveTax() {
+        webTestClient.post().uri("/tax/calculo")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"taxId\": " + irpfId + ", \"baseValue\": 3000.0}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.rate").isEqualTo(10.0)
+                .jsonPath("$.taxCalculated").isEqualTo(100.0);
+    }
+
+    @Test
+    void shouldForbidCalculation_WhenTokenHasOnlyUserRole() {
+        String userToken = jwtTokenProvider.generateToken("user", "ROLE_USER");
+
+        webTestClient.get().uri("/tax/tipos/{id}", icmsId)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken)
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.post().uri("/tax/calculo")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"taxId\": " + icmsId + ", \"baseValue\": 1000.0}")
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenCalculationRequestIsInvalid() {
+        webTestClient.post().uri("/tax/calculo")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"taxId\": " + icmsId + ", \"baseValue\": -1}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.detalhes.baseValue").isEqualTo("O valor base deve ser maior que zero.");
+    }
+}
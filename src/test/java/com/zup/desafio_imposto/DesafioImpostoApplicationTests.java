@@ -4,7 +4,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-@SpringBootTest
+@SpringBootTest(properties = "JWT_SECRET_KEY=Y2hhdmUtZGUtdGVzdGUtY29tLXBlbG8tbWVub3MtMjU2LWJpdHM=")
 class DesafioImpostoApplicationTest {
 
 	@Test
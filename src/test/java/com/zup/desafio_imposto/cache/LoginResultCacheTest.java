@@ -0,0 +1,126 @@
+package com.zup.desafio_imposto.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginResultCacheTest {
+
+    private final String login = "ROLE_ADMIN";
+
+    @Test
+    void shouldServeStoredLoginForSameCredentialsOnly() {
+        // Arrange
+        LoginResultCache cache = new LoginResultCache(true, 30, 100);
+
+        // Act
+        cache.put("admin", "123456", login, cache.invalidationStamp());
+
+        // Assert
+        assertEquals(login, cache.get("admin", "123456"));
+        assertNull(cache.get("admin", "1234567"));
+        assertNull(cache.get("outro", "123456"));
+        assertEquals(new CacheStats(1, 2, 0, 1), cache.stats());
+    }
+
+    @Test
+    void shouldExpireLogin_AfterTtl() {
+        // Arrange
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        LoginResultCache cache = new LoginResultCache(true, 30, 100, clock);
+        cache.put("admin", "123456", login, cache.invalidationStamp());
+
+        // Act
+        clock.advance(Duration.ofSeconds(29));
+        String beforeTtl = cache.get("admin", "123456");
+        clock.advance(Duration.ofSeconds(1));
+        String afterTtl = cache.get("admin", "123456");
+
+        // Assert
+        assertEquals(login, beforeTtl);
+        assertNull(afterTtl);
+        assertEquals(0, cache.stats().size());
+    }
+
+    @Test
+    void shouldDiscardLoginCompletedBeforeAnInvalidation() {
+        // Arrange
+        LoginResultCache cache = new LoginResultCache(true, 30, 100);
+        long stamp = cache.invalidationStamp();
+
+        // Act
+        cache.evictUser("admin"); // Senha ou papéis mudaram enquanto o login estava em andamento
+        cache.put("admin", "123456", login, stamp);
+
+        // Assert
+        assertNull(cache.get("admin", "123456"));
+    }
+
+    @Test
+    void shouldNotGrowBeyondMaxEntries() {
+        // Arrange
+        LoginResultCache cache = new LoginResultCache(true, 30, 2);
+
+        // Act
+        cache.put("a", "senha", login, cache.invalidationStamp());
+        cache.put("b", "senha", login, cache.invalidationStamp());
+        cache.put("c", "senha", login, cache.invalidationStamp());
+
+        // Assert
+        assertEquals(2, cache.stats().size());
+        assertNull(cache.get("c", "senha"));
+    }
+
+    @Test
+    void shouldDoNothing_WhenDisabled() {
+        // Arrange
+        LoginResultCache cache = new LoginResultCache(false, 30, 100);
+
+        // Act
+        cache.put("admin", "123456", login, cache.invalidationStamp());
+
+        // Assert
+        assertNull(cache.get("admin", "123456"));
+        assertEquals(new CacheStats(0, 0, 0, 0), cache.stats());
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new LoginResultCache(true, 0, 100));
+        assertThrows(IllegalArgumentException.class, () -> new LoginResultCache(true, 30, 0));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.zup.desafio_imposto.cache;
+
+import com.zup.desafio_imposto.dtos.response.CalculateTaxTypeResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaxCalculationResultCacheTest {
+
+    private static final long DAY = 20_000;
+
+    private final CalculateTaxTypeResponseDTO icms = new CalculateTaxTypeResponseDTO("ICMS", 100.0, 18.0, 18.0);
+    private final CalculateTaxTypeResponseDTO iss = new CalculateTaxTypeResponseDTO("ISS", 100.0, 5.0, 5.0);
+
+    @Test
+    void shouldServeStoredResultForSameKeyOnly() {
+        // Arrange
+        TaxCalculationResultCache cache = new TaxCalculationResultCache(true, 100);
+
+        // Act
+        cache.put(1L, 100.0, DAY, icms, cache.invalidationStamp());
+
+        // Assert
+        assertSame(icms, cache.get(1L, 100.0, DAY));
+        assertNull(cache.get(1L, 100.0, DAY + 1));
+        assertNull(cache.get(1L, 100.01, DAY));
+        assertNull(cache.get(2L, 100.0, DAY));
+        assertEquals(new CacheStats(1, 3, 0, 1), cache.stats());
+        assertEquals(0.25, cache.stats().hitRatio());
+    }
+
+    @Test
+    void shouldEvictOnlyResultsOfTheChangedTax() {
+        // Arrange
+        TaxCalculationResultCache cache = new TaxCalculationResultCache(true, 100);
+        cache.put(1L, 100.0, DAY, icms, cache.invalidationStamp());
+        cache.put(1L, 200.0, DAY, icms, cache.invalidationStamp());
+        cache.put(2L, 100.0, DAY, iss, cache.invalidationStamp());
+
+        // Act
+        cache.evictTax(1L);
+
+        // Assert
+        assertNull(cache.get(1L, 100.0, DAY));
+        assertSame(iss, cache.get(2L, 100.0, DAY));
+        assertEquals(1, cache.stats().size());
+        assertEquals(2, cache.stats().evictions());
+    }
+
+    @Test
+    void shouldDiscardResultCalculatedBeforeAnInvalidation() {
+        // Arrange
+        TaxCalculationResultCache cache = new TaxCalculationResultCache(true, 100);
+        long stamp = cache.invalidationStamp();
+
+        // Act
+        cache.evictTax(1L); // O imposto mudou enquanto o cálculo estava em andamento
+        cache.put(1L, 100.0, DAY, icms, stamp);
+
+        // Assert
+        assertNull(cache.get(1L, 100.0, DAY));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntry_WhenFull() {
+        // Arrange: um único segmento com duas entradas
+        TaxCalculationResultCache cache = new TaxCalculationResultCache(true, 1);
+        cache.put(1L, 100.0, DAY, icms, cache.invalidationStamp());
+
+        // Act
+        cache.put(2L, 100.0, DAY, iss, cache.invalidationStamp());
+
+        // Assert
+        assertNull(cache.get(1L, 100.0, DAY));
+        assertSame(iss, cache.get(2L, 100.0, DAY));
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void shouldNeverStoreOrCount_WhenDisabled() {
+        // Arrange
+        TaxCalculationResultCache cache = new TaxCalculationResultCache(false, 100);
+
+        // Act
+        cache.put(1L, 100.0, DAY, icms, cache.invalidationStamp());
+
+        // Assert
+        assertNull(cache.get(1L, 100.0, DAY));
+        assertEquals(new CacheStats(0, 0, 0, 0), cache.stats());
+    }
+
+    @Test
+    void shouldRejectNonPositiveMaxEntries() {
+        assertThrows(IllegalArgumentException.class, () -> new TaxCalculationResultCache(true, 0));
+    }
+}
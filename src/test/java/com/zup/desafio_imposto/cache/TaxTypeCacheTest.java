@@ -0,0 +1,105 @@
+package com.zup.desafio_imposto.cache;
+
+import com.zup.desafio_imposto.models.TaxType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaxTypeCacheTest {
+
+    private TaxTypeCache taxTypeCache;
+
+    @BeforeEach
+    void setUp() {
+        taxTypeCache = new TaxTypeCache(2);
+    }
+
+    @Test
+    void shouldLoadOnMissAndServeFromCacheOnHit() {
+        // Arrange
+        TaxType taxType = new TaxType(1L, "ICMS", "Imposto sobre circulação", 18.0);
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        Optional<TaxType> first = taxTypeCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.of(taxType);
+        });
+        Optional<TaxType> second = taxTypeCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.of(taxType);
+        });
+
+        // Assert
+        assertSame(taxType, first.orElseThrow());
+        assertSame(taxType, second.orElseThrow());
+        assertEquals(1, loads.get());
+        assertEquals(new CacheStats(1, 1, 0, 1), taxTypeCache.stats());
+    }
+
+    @Test
+    void shouldNotCacheMissingTaxTypes() {
+        // Act
+        taxTypeCache.get(1L, id -> Optional.empty());
+
+        // Assert
+        assertEquals(0, taxTypeCache.stats().size());
+        assertEquals(1, taxTypeCache.stats().misses());
+    }
+
+    @Test
+    void shouldLoadOnlyMissingIds_WhenGettingSeveralTaxTypes() {
+        // Arrange
+        TaxType icms = new TaxType(1L, "ICMS", "Imposto sobre circulação", 18.0);
+        TaxType iss = new TaxType(2L, "ISS", "Imposto sobre serviços", 5.0);
+        taxTypeCache.put(icms);
+
+        // Act
+        Map<Long, TaxType> result = taxTypeCache.getAll(Set.of(1L, 2L), ids -> {
+            assertEquals(Set.of(2L), ids);
+            return List.of(iss);
+        });
+
+        // Assert
+        assertEquals(Map.of(1L, icms, 2L, iss), result);
+        assertEquals(1, taxTypeCache.stats().hits());
+        assertEquals(1, taxTypeCache.stats().misses());
+    }
+
+    @Test
+    void shouldCountEvictions_WhenTaxTypeIsRemovedOrCacheIsFull() {
+        // Arrange
+        taxTypeCache.put(new TaxType(1L, "ICMS", "Imposto sobre circulação", 18.0));
+        taxTypeCache.put(new TaxType(2L, "ISS", "Imposto sobre serviços", 5.0));
+
+        // Act
+        taxTypeCache.put(new TaxType(3L, "IPI", "Imposto sobre produtos", 10.0));
+        taxTypeCache.evict(3L);
+
+        // Assert
+        assertEquals(2, taxTypeCache.stats().evictions());
+        assertEquals(1, taxTypeCache.stats().size());
+    }
+
+    @Test
+    void shouldDiscardConcurrentLoad_WhenTaxTypeIsEvictedWhileLoading() {
+        // Arrange
+        TaxType stale = new TaxType(1L, "ICMS", "Imposto sobre circulação", 18.0);
+
+        // Act
+        taxTypeCache.get(1L, id -> {
+            taxTypeCache.evict(1L); // Exclusão concorrente durante o carregamento
+            return Optional.of(stale);
+        });
+
+        // Assert
+        assertEquals(0, taxTypeCache.stats().size());
+    }
+}
@@ -0,0 +1,64 @@
+package com.zup.desafio_imposto.calculation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BracketScheduleTest {
+
+    // Tabela mensal do IRPF: limites e parcelas a deduzir em centavos, alíquotas em unidades de RATE_SCALE
+    private final BracketSchedule irpf = new BracketSchedule(
+            new long[]{0, 225_921, 282_666, 375_106, 466_469},
+            new long[]{0, 75_000, 150_000, 225_000, 275_000},
+            new long[]{0, 16_944, 38_144, 66_277, 89_600});
+
+    @Test
+    void shouldFindBracketByBinarySearch() {
+        assertEquals(0, irpf.bracketIndex(0));
+        assertEquals(0, irpf.bracketIndex(225_920));
+        assertEquals(1, irpf.bracketIndex(225_921));
+        assertEquals(2, irpf.bracketIndex(300_000));
+        assertEquals(4, irpf.bracketIndex(466_469));
+        assertEquals(4, irpf.bracketIndex(Long.MAX_VALUE));
+    }
+
+    @Test
+    void shouldApplyRateAndDeductionOfTheBracket() {
+        // 15% de R$ 3.000,00 - R$ 381,44 = R$ 68,56
+        assertEquals(6_856, irpf.calculateTax(300_000, TaxRoundingMode.HALF_EVEN));
+        // 27,5% de R$ 5.000,00 - R$ 896,00 = R$ 479,00
+        assertEquals(47_900, irpf.calculateTax(500_000, TaxRoundingMode.HALF_EVEN));
+        assertEquals(0, irpf.calculateTax(225_920, TaxRoundingMode.HALF_EVEN));
+        assertEquals(150_000, irpf.rateUnitsAt(irpf.bracketIndex(300_000)));
+    }
+
+    @Test
+    void shouldExemptBaseBelowFirstBracket() {
+        // Arrange
+        BracketSchedule schedule = new BracketSchedule(new long[]{100_000}, new long[]{100_000}, new long[]{0});
+
+        // Act & Assert
+        assertEquals(BracketSchedule.NO_BRACKET, schedule.bracketIndex(99_999));
+        assertEquals(0, schedule.calculateTax(99_999, TaxRoundingMode.HALF_EVEN));
+        assertEquals(0, schedule.rateUnitsAt(BracketSchedule.NO_BRACKET));
+    }
+
+    @Test
+    void shouldNeverReturnNegativeTax() {
+        // Arrange: parcela a deduzir maior que o imposto da faixa
+        BracketSchedule schedule = new BracketSchedule(new long[]{0}, new long[]{10_000}, new long[]{1_000});
+
+        // Act & Assert
+        assertEquals(0, schedule.calculateTax(500, TaxRoundingMode.HALF_EVEN));
+    }
+
+    @Test
+    void shouldRejectUnsortedOrDuplicateLowerBounds() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new BracketSchedule(new long[]{0, 100, 100}, new long[]{0, 1, 2}, new long[]{0, 0, 0}));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BracketSchedule(new long[]{100, 0}, new long[]{1, 2}, new long[]{0, 0}));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BracketSchedule(new long[]{}, new long[]{}, new long[]{}));
+    }
+}
@@ -0,0 +1,129 @@
+package com.zup.desafio_imposto.calculation;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixedPointTaxCalculatorTest {
+
+    @Test
+    void shouldCalculateTaxInCents() {
+        // 18% de R$ 100,00 = R$ 18,00
+        assertEquals(1800, FixedPointTaxCalculator.calculateTax(10_000, 180_000, TaxRoundingMode.HALF_EVEN));
+        // 5% de R$ 10,00 = R$ 0,50
+        assertEquals(50, FixedPointTaxCalculator.calculateTax(1_000, 50_000, TaxRoundingMode.HALF_EVEN));
+    }
+
+    @Test
+    void shouldRoundHalfEvenToNearestEvenCent() {
+        // 10% de R$ 0,25 = 2,5 centavos -> 2; 10% de R$ 0,35 = 3,5 centavos -> 4
+        assertEquals(2, FixedPointTaxCalculator.calculateTax(25, 100_000, TaxRoundingMode.HALF_EVEN));
+        assertEquals(4, FixedPointTaxCalculator.calculateTax(35, 100_000, TaxRoundingMode.HALF_EVEN));
+    }
+
+    @Test
+    void shouldRoundHalfUpAwayFromZero() {
+        assertEquals(3, FixedPointTaxCalculator.calculateTax(25, 100_000, TaxRoundingMode.HALF_UP));
+        assertEquals(-3, FixedPointTaxCalculator.calculateTax(-25, 100_000, TaxRoundingMode.HALF_UP));
+    }
+
+    @Test
+    void shouldRoundUpAndDown() {
+        // 1% de R$ 1,01 = 1,01 centavo
+        assertEquals(2, FixedPointTaxCalculator.calculateTax(101, 10_000, TaxRoundingMode.UP));
+        assertEquals(1, FixedPointTaxCalculator.calculateTax(101, 10_000, TaxRoundingMode.DOWN));
+    }
+
+    @Test
+    void shouldSubtractDeductionBeforeRounding() {
+        // 7,5% de R$ 2.259,21 - R$ 169,44 = 0,075 centavo
+        assertEquals(0, FixedPointTaxCalculator.calculateTax(225_921, 75_000, 16_944, TaxRoundingMode.HALF_EVEN));
+        assertEquals(1, FixedPointTaxCalculator.calculateTax(225_921, 75_000, 16_944, TaxRoundingMode.UP));
+    }
+
+    @Test
+    void shouldGrossUpInclusiveTax() {
+        // ICMS por dentro de 18% sobre R$ 1.000,00: 1000 * 18 / 82 = 219,5121...
+        assertEquals(21_951, FixedPointTaxCalculator.calculateTaxInclusive(100_000, 180_000, TaxRoundingMode.HALF_EVEN));
+        assertEquals(21_952, FixedPointTaxCalculator.calculateTaxInclusive(100_000, 180_000, TaxRoundingMode.UP));
+        // O imposto é 18% da base já acrescida dele mesmo
+        assertEquals(21_951, FixedPointTaxCalculator.calculateTax(100_000 + 21_951, 180_000, TaxRoundingMode.HALF_EVEN));
+    }
+
+    @Test
+    void shouldRejectInclusiveTax_WhenRateIsNotBelowOneHundredPercent() {
+        assertThrows(IllegalArgumentException.class,
+                () -> FixedPointTaxCalculator.calculateTaxInclusive(100_000, 1_000_000, TaxRoundingMode.HALF_EVEN));
+    }
+
+    @Test
+    void shouldFallBackToBigDecimal_WhenDeductionOverflowsLong() {
+        long deduction = Long.MAX_VALUE / 1_000;
+
+        assertEquals(-deduction, FixedPointTaxCalculator.calculateTax(0, 0, deduction, TaxRoundingMode.HALF_EVEN));
+    }
+
+    @Test
+    void shouldMatchBigDecimalForRandomInputs() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 100_000; i++) {
+            long base = random.nextLong(-1_000_000_000_000L, 1_000_000_000_000L);
+            long rate = random.nextLong(1, 10_000_000L);
+            long deduction = random.nextLong(0, 1_000_000_000_000L);
+            for (TaxRoundingMode mode : TaxRoundingMode.values()) {
+                assertEquals(reference(base, rate, mode), FixedPointTaxCalculator.calculateTax(base, rate, mode),
+                        () -> base + " x " + rate + " (" + mode + ")");
+                assertEquals(reference(base, rate, deduction, mode), FixedPointTaxCalculator.calculateTax(base, rate, deduction, mode),
+                        () -> base + " x " + rate + " - " + deduction + " (" + mode + ")");
+            }
+        }
+    }
+
+    @Test
+    void shouldFallBackToBigDecimal_WhenProductOverflowsLong() {
+        // 999.9999% de ~9,2 quatrilhões de centavos: o produto passa de 64 bits, o resultado não
+        long base = Long.MAX_VALUE / 1_000;
+        long rate = 9_999_999;
+
+        assertEquals(reference(base, rate, TaxRoundingMode.HALF_EVEN),
+                FixedPointTaxCalculator.calculateTax(base, rate, TaxRoundingMode.HALF_EVEN));
+    }
+
+    @Test
+    void shouldRejectResultThatDoesNotFitInLong() {
+        assertThrows(IllegalArgumentException.class,
+                () -> FixedPointTaxCalculator.calculateTax(Long.MAX_VALUE, 9_999_999, TaxRoundingMode.HALF_EVEN));
+    }
+
+    @Test
+    void shouldConvertExactDecimalsToScaledUnits() {
+        assertEquals(123_456, FixedPointTaxCalculator.toMinorUnits(1234.56));
+        assertEquals(10, FixedPointTaxCalculator.toMinorUnits(0.1));
+        assertEquals(182_500, FixedPointTaxCalculator.toRateUnits(18.25));
+        assertEquals(1, FixedPointTaxCalculator.toRateUnits(0.0001));
+        assertEquals(1234.56, FixedPointTaxCalculator.fromMinorUnits(123_456));
+    }
+
+    @Test
+    void shouldRejectValuesWithMoreDecimalsThanTheScale() {
+        assertThrows(IllegalArgumentException.class, () -> FixedPointTaxCalculator.toMinorUnits(1.005));
+        assertThrows(IllegalArgumentException.class, () -> FixedPointTaxCalculator.toRateUnits(0.00001));
+        assertThrows(IllegalArgumentException.class, () -> FixedPointTaxCalculator.toMinorUnits(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> FixedPointTaxCalculator.toMinorUnits(1e17));
+    }
+
+    private long reference(long base, long rate, TaxRoundingMode mode) {
+        return reference(base, rate, 0, mode);
+    }
+
+    private long reference(long base, long rate, long deduction, TaxRoundingMode mode) {
+        return BigDecimal.valueOf(base)
+                .multiply(BigDecimal.valueOf(rate))
+                .subtract(BigDecimal.valueOf(deduction).multiply(BigDecimal.valueOf(FixedPointTaxCalculator.DIVISOR)))
+                .divide(BigDecimal.valueOf(FixedPointTaxCalculator.DIVISOR), 0, mode.toRoundingMode())
+                .longValueExact();
+    }
+}
@@ -0,0 +1,40 @@
+package com.zup.desafio_imposto.calculation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateTimelineTest {
+
+    private static final long JAN_2024 = LocalDate.of(2024, 1, 1).toEpochDay();
+    private static final long JUL_2024 = LocalDate.of(2024, 7, 1).toEpochDay();
+
+    // Alíquota base de 17%, 18% a partir de jan/2024 e 19,5% a partir de jul/2024
+    private final RateTimeline timeline = new RateTimeline(170_000,
+            new long[]{JAN_2024, JUL_2024},
+            new long[]{180_000, 195_000});
+
+    @Test
+    void shouldUseBaseRateBeforeFirstVersion() {
+        assertEquals(170_000, timeline.rateUnitsAt(JAN_2024 - 1));
+        assertEquals(170_000, timeline.rateUnitsAt(Long.MIN_VALUE));
+    }
+
+    @Test
+    void shouldUseVersionInEffectOnTheDay() {
+        assertEquals(180_000, timeline.rateUnitsAt(JAN_2024));
+        assertEquals(180_000, timeline.rateUnitsAt(JUL_2024 - 1));
+        assertEquals(195_000, timeline.rateUnitsAt(JUL_2024));
+        assertEquals(195_000, timeline.rateUnitsAt(Long.MAX_VALUE));
+    }
+
+    @Test
+    void shouldRejectRepeatedStartDates() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RateTimeline(170_000, new long[]{JAN_2024, JAN_2024}, new long[]{180_000, 190_000}));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RateTimeline(170_000, new long[]{}, new long[]{}));
+    }
+}
@@ -0,0 +1,40 @@
+package com.zup.desafio_imposto.config;
+
+import com.zup.desafio_imposto.cache.LoginResultCache;
+import com.zup.desafio_imposto.cache.TaxCalculationResultCache;
+import com.zup.desafio_imposto.cache.TaxTypeCache;
+import com.zup.desafio_imposto.models.TaxType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MetricsConfigTest {
+
+    @Test
+    void shouldExposeCacheCountersAndSize_WhenCacheIsUsed() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TaxTypeCache taxTypeCache = new TaxTypeCache(10);
+        TaxCalculationResultCache resultCache = new TaxCalculationResultCache(true, 10);
+        new MetricsConfig().cacheMetrics(taxTypeCache, resultCache, new LoginResultCache(true, 30, 10)).bindTo(registry);
+
+        TaxType icms = new TaxType(1L, "ICMS", "Imposto sobre circulação", 18.0);
+
+        // Act
+        taxTypeCache.get(1L, id -> Optional.of(icms));
+        taxTypeCache.get(1L, id -> Optional.of(icms));
+        taxTypeCache.get(1L, id -> Optional.of(icms));
+        taxTypeCache.evict(1L);
+
+        // Assert
+        assertEquals(2, registry.get("cache.gets").tags("cache", "tax-types", "result", "hit").functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tags("cache", "tax-types", "result", "miss").functionCounter().count());
+        assertEquals(1, registry.get("cache.evictions").tag("cache", "tax-types").functionCounter().count());
+        assertEquals(0, registry.get("cache.size").tag("cache", "tax-types").gauge().value());
+        assertEquals(0, registry.get("cache.size").tag("cache", "tax-results").gauge().value());
+        assertEquals(0, registry.get("cache.size").tag("cache", "login-results").gauge().value());
+    }
+}
@@ -0,0 +1,86 @@
+package com.zup.desafio_imposto.config.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BCryptCostCalibratorTest {
+
+    @Test
+    void shouldUseMinimumCost_WhenTargetIsBelowAnyMeasurement() {
+        // Act
+        int cost = BCryptCostCalibrator.calibrate(Duration.ofNanos(1));
+
+        // Assert
+        assertEquals(BCryptCostCalibrator.MIN_COST, cost);
+    }
+
+    @Test
+    void shouldNeverExceedMaximumCost() {
+        // Act
+        int cost = BCryptCostCalibrator.calibrate(Duration.ofMillis(150));
+
+        // Assert
+        assertTrue(cost >= BCryptCostCalibrator.MIN_COST);
+        assertTrue(cost <= BCryptCostCalibrator.MAX_COST);
+    }
+
+    @Test
+    void shouldEncodeWithAlgorithmPrefixAndConfiguredCost() {
+        // Arrange
+        PasswordEncoder encoder = BCryptCostCalibrator.delegatingEncoder(11);
+
+        // Act
+        String encoded = encoder.encode("senha123");
+
+        // Assert
+        assertTrue(encoded.startsWith("{bcrypt}$2a$11$"));
+        assertTrue(encoder.matches("senha123", encoded));
+        assertFalse(encoder.upgradeEncoding(encoded));
+    }
+
+    @Test
+    void shouldAcceptAndUpgradeLegacyUnprefixedHash() {
+        // Arrange
+        PasswordEncoder encoder = BCryptCostCalibrator.delegatingEncoder(11);
+        String legacyHash = new BCryptPasswordEncoder(4).encode("senha123");
+
+        // Act & Assert
+        assertTrue(encoder.matches("senha123", legacyHash));
+        assertFalse(encoder.matches("outraSenha", legacyHash));
+        assertTrue(encoder.upgradeEncoding(legacyHash));
+    }
+
+    @Test
+    void shouldUpgradeHash_WhenCostIsBelowConfigured() {
+        // Arrange
+        PasswordEncoder weaker = BCryptCostCalibrator.delegatingEncoder(10);
+        PasswordEncoder stronger = BCryptCostCalibrator.delegatingEncoder(11);
+
+        // Act
+        String encoded = weaker.encode("senha123");
+
+        // Assert
+        assertTrue(stronger.matches("senha123", encoded));
+        assertTrue(stronger.upgradeEncoding(encoded));
+    }
+
+    @Test
+    void shouldReencodeHash_WhenCostIsAboveConfigured() {
+        // Arrange: hash gravado em uma máquina mais rápida, calibrada com custo maior
+        PasswordEncoder faster = BCryptCostCalibrator.delegatingEncoder(11);
+        PasswordEncoder slower = BCryptCostCalibrator.delegatingEncoder(10);
+
+        // Act
+        String encoded = faster.encode("senha123");
+
+        // Assert
+        assertTrue(slower.matches("senha123", encoded));
+        assertTrue(slower.upgradeEncoding(encoded));
+        assertTrue(slower.encode("senha123").startsWith("{bcrypt}$2a$10$"));
+    }
+}
@@ -0,0 +1,36 @@
+package com.zup.desafio_imposto.config.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void shouldNeverReportFalseNegatives_AndKeepFalsePositivesNearTarget() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        String[] inserted = new String[10_000];
+        for (int i = 0; i < inserted.length; i++) {
+            inserted[i] = UUID.randomUUID().toString();
+            filter.add(inserted[i]);
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        for (String value : inserted) {
+            assertTrue(filter.mightContain(value));
+        }
+        // Alvo de 1%; a margem evita falhas intermitentes
+        assertTrue(falsePositives < 2_000, "Falsos positivos: " + falsePositives);
+    }
+}
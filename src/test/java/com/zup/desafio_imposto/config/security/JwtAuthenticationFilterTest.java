@@ -1,6 +1,7 @@
 package com.zup.desafio_imposto.config.security;
 
 import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,10 +11,13 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.Date;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
@@ -22,6 +26,8 @@ class JwtAuthenticationFilterTest {
 
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    private SimpleMeterRegistry meterRegistry;
+
     @Mock
     private JwtTokenProvider jwtTokenProvider;
 
@@ -37,7 +43,8 @@ class JwtAuthenticationFilterTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtTokenProvider);
+        meterRegistry = new SimpleMeterRegistry();
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtTokenProvider, new JwtClaimsCache(100), meterRegistry, new TokenRevocationList(1));
         SecurityContextHolder.clearContext(); // Limpa o contexto de segurança antes de cada teste
     }
 
@@ -49,13 +56,12 @@ class JwtAuthenticationFilterTest {
         String role = "USER";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenProvider.validateToken(token)).thenReturn(true);
-        when(jwtTokenProvider.getUsername(token)).thenReturn(username);
 
         // Simule um objeto customizado, se necessário
         Claims claims = mock(Claims.class); // Simulando o objeto Claims
+        when(claims.getSubject()).thenReturn(username);
         when(claims.get("role")).thenReturn(role); // Simulando o comportamento do método get
-        when(jwtTokenProvider.getClaims(token)).thenReturn(claims); // Retornando o objeto simulado
+        when(jwtTokenProvider.getValidatedClaims(token)).thenReturn(claims); // Retornando o objeto simulado
 
         // Act
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -67,6 +73,98 @@ class JwtAuthenticationFilterTest {
     }
 
 
+    @Test
+    void shouldGrantOneAuthorityPerRole_WhenTokenHasMultipleRoles() throws ServletException, IOException {
+        // Arrange
+        String token = "multiRoleToken";
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn("testUser");
+        when(claims.get("role")).thenReturn("ROLE_ADMIN,ROLE_USER");
+        when(claims.get("roles")).thenReturn(RoleAuthorities.mask("ROLE_ADMIN,ROLE_USER"));
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtTokenProvider.getValidatedClaims(token)).thenReturn(claims);
+
+        // Act
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_USER"), SecurityContextHolder.getContext().getAuthentication()
+                .getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        verify(filterChain, times(1)).doFilter(request, response);
+    }
+
+    @Test
+    void shouldReturnUnauthorized_WhenRefreshTokenIsUsedAsAccessToken() throws ServletException, IOException {
+        // Arrange
+        String token = "refreshToken";
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn("testUser");
+        when(claims.get("type")).thenReturn("refresh");
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtTokenProvider.getValidatedClaims(token)).thenReturn(claims);
+        PrintWriter writer = mock(PrintWriter.class);
+        when(response.getWriter()).thenReturn(writer);
+
+        // Act
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        assertEquals(null, SecurityContextHolder.getContext().getAuthentication());
+        verify(response).setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        verify(filterChain, never()).doFilter(request, response);
+    }
+
+    @Test
+    void shouldReturnUnauthorized_WhenTokenWasRevoked() throws ServletException, IOException {
+        // Arrange
+        TokenRevocationList revocationList = new TokenRevocationList(100);
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtTokenProvider, new JwtClaimsCache(100), meterRegistry, revocationList);
+        String token = "validToken";
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn("testUser");
+        when(claims.getId()).thenReturn("jti-1");
+        when(claims.get("role")).thenReturn("ROLE_USER");
+        when(claims.getExpiration()).thenReturn(new Date(System.currentTimeMillis() + 60_000));
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtTokenProvider.getValidatedClaims(token)).thenReturn(claims);
+        when(response.getWriter()).thenReturn(mock(PrintWriter.class));
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        SecurityContextHolder.clearContext();
+
+        // Act
+        revocationList.revoke("jti-1", System.currentTimeMillis() + 60_000);
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        assertEquals(null, SecurityContextHolder.getContext().getAuthentication());
+        verify(response).setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        verify(filterChain, times(1)).doFilter(request, response);
+    }
+
+    @Test
+    void shouldReturnUnauthorized_WhenCachedTokenWasSignedWithRetiredKey() throws ServletException, IOException {
+        // Arrange
+        JwtKeyManager keyManager = new JwtKeyManager("Y2hhdmUtZGUtdGVzdGUtY29tLXBlbG8tbWVub3MtMjU2LWJpdHM=", "v1", "");
+        JwtTokenProvider realTokenProvider = new JwtTokenProvider(keyManager);
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(realTokenProvider, new JwtClaimsCache(100), meterRegistry, new TokenRevocationList(1));
+        String token = realTokenProvider.generateToken("testUser", "ROLE_USER");
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(response.getWriter()).thenReturn(mock(PrintWriter.class));
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain); // Fica no cache de claims
+        SecurityContextHolder.clearContext();
+
+        // Act
+        keyManager.rotate("v2", "Y2hhdmUtcm90YWNpb25hZGEtY29tLXBlbG8tbWVub3MtMjU2LWJpdHM=");
+        keyManager.retire("v1");
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        assertEquals(null, SecurityContextHolder.getContext().getAuthentication());
+        verify(response).setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        verify(filterChain, times(1)).doFilter(request, response);
+    }
 
     @Test
     void shouldNotAuthenticateWhenAuthorizationHeaderIsMissing() throws ServletException, IOException {
@@ -82,19 +180,50 @@ class JwtAuthenticationFilterTest {
     }
 
     @Test
-    void shouldNotAuthenticateWhenTokenIsInvalid() throws ServletException, IOException {
+    void shouldVerifyTokenOnlyOnce_WhenSameTokenIsReused() throws ServletException, IOException {
+        // Arrange
+        String token = "validToken";
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn("testUser");
+        when(claims.get("role")).thenReturn("ADMIN");
+        when(claims.getExpiration()).thenReturn(new Date(System.currentTimeMillis() + 60_000));
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtTokenProvider.getValidatedClaims(token)).thenReturn(claims);
+
+        // Act
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        SecurityContextHolder.clearContext();
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        assertEquals("testUser", SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        verify(jwtTokenProvider, times(1)).getValidatedClaims(token);
+        verify(jwtTokenProvider, never()).validateToken(anyString());
+        verify(jwtTokenProvider, never()).getClaims(anyString());
+        verify(filterChain, times(2)).doFilter(request, response);
+    }
+
+    @Test
+    void shouldRecordClaimsTimerBySource_WhenTokenIsVerifiedThenCached() throws ServletException, IOException {
         // Arrange
-        String token = "invalidToken";
+        String token = "validToken";
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn("testUser");
+        when(claims.get("role")).thenReturn("ADMIN");
+        when(claims.getExpiration()).thenReturn(new Date(System.currentTimeMillis() + 60_000));
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenProvider.validateToken(token)).thenReturn(false);
+        when(jwtTokenProvider.getValidatedClaims(token)).thenReturn(claims);
 
         // Act
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        assertEquals(null, SecurityContextHolder.getContext().getAuthentication());
-        verify(filterChain, times(1)).doFilter(request, response);
+        assertEquals(1, meterRegistry.get("security.jwt.claims").tag("source", "signature").timer().count());
+        assertEquals(2, meterRegistry.get("security.jwt.claims").tag("source", "cache").timer().count());
     }
 
     @Test
@@ -103,7 +232,7 @@ class JwtAuthenticationFilterTest {
         String token = "expiredToken";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenProvider.validateToken(token)).thenThrow(new RuntimeException("Token expired"));
+        when(jwtTokenProvider.getValidatedClaims(token)).thenThrow(new RuntimeException("Token expired"));
 
         // Mock do PrintWriter
         PrintWriter mockWriter = mock(PrintWriter.class);
@@ -0,0 +1,21 @@
+package com.zup.desafio_imposto.config.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+// Dependências do JwtAuthenticationFilter que as fatias @WebMvcTest não carregam (actuator e lista de revogação)
+@TestConfiguration
+public class JwtAuthenticationFilterTestConfig {
+
+    @Bean
+    public MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+
+    @Bean
+    public TokenRevocationList tokenRevocationList() {
+        return new TokenRevocationList(1);
+    }
+}
@@ -0,0 +1,117 @@
+package com.zup.desafio_imposto.config.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtClaimsCacheTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    @Test
+    void shouldReturnCachedClaimsUntilTokenExpires() {
+        // Arrange
+        MutableClock clock = new MutableClock(NOW);
+        JwtClaimsCache cache = new JwtClaimsCache(10, clock);
+        Claims claims = claimsExpiringAt(NOW.plusSeconds(60));
+        String digest = JwtClaimsCache.digest("token");
+
+        // Act
+        cache.put(digest, claims);
+
+        // Assert
+        assertSame(claims, cache.get(digest));
+        clock.instant = NOW.plusSeconds(60);
+        assertNull(cache.get(digest));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldNotCacheTokensWithoutExpiration() {
+        // Arrange
+        JwtClaimsCache cache = new JwtClaimsCache(10);
+        String digest = JwtClaimsCache.digest("token");
+
+        // Act
+        cache.put(digest, Jwts.claims().setSubject("user"));
+
+        // Assert
+        assertNull(cache.get(digest));
+    }
+
+    @Test
+    void shouldStayBounded_WhenFullOfValidTokens() {
+        // Arrange
+        JwtClaimsCache cache = new JwtClaimsCache(2, Clock.fixed(NOW, ZoneOffset.UTC));
+        cache.put(JwtClaimsCache.digest("a"), claimsExpiringAt(NOW.plusSeconds(10)));
+        cache.put(JwtClaimsCache.digest("b"), claimsExpiringAt(NOW.plusSeconds(60)));
+
+        // Act
+        cache.put(JwtClaimsCache.digest("c"), claimsExpiringAt(NOW.plusSeconds(60)));
+
+        // Assert
+        assertEquals(2, cache.size());
+        assertNull(cache.get(JwtClaimsCache.digest("a")));
+        assertNotNull(cache.get(JwtClaimsCache.digest("b")));
+        assertNotNull(cache.get(JwtClaimsCache.digest("c")));
+    }
+
+    @Test
+    void shouldEvictExpiredEntryFirst_WhenFull() {
+        // Arrange
+        MutableClock clock = new MutableClock(NOW);
+        JwtClaimsCache cache = new JwtClaimsCache(2, clock);
+        cache.put(JwtClaimsCache.digest("a"), claimsExpiringAt(NOW.plusSeconds(60)));
+        cache.put(JwtClaimsCache.digest("b"), claimsExpiringAt(NOW.plusSeconds(10)));
+        clock.instant = NOW.plusSeconds(10);
+
+        // Act
+        cache.put(JwtClaimsCache.digest("c"), claimsExpiringAt(NOW.plusSeconds(60)));
+
+        // Assert
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(JwtClaimsCache.digest("a")));
+        assertNotNull(cache.get(JwtClaimsCache.digest("c")));
+    }
+
+    @Test
+    void shouldProduceDistinctDigestsForDistinctTokens() {
+        assertEquals(JwtClaimsCache.digest("token"), JwtClaimsCache.digest("token"));
+        assertNotEquals(JwtClaimsCache.digest("token"), JwtClaimsCache.digest("token2"));
+    }
+
+    private Claims claimsExpiringAt(Instant expiration) {
+        return Jwts.claims().setSubject("user").setExpiration(Date.from(expiration));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
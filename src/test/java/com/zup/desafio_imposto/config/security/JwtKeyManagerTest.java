@@ -0,0 +1,128 @@
+package com.zup.desafio_imposto.config.security;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyManagerTest {
+
+    private static final String SECRET = "Y2hhdmUtZGUtdGVzdGUtY29tLXBlbG8tbWVub3MtMjU2LWJpdHM=";
+    private static final String ROTATED_SECRET = "Y2hhdmUtcm90YWNpb25hZGEtY29tLXBlbG8tbWVub3MtMjU2LWJpdHM=";
+
+    @Test
+    void shouldFailFast_WhenSecretIsMissing() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> new JwtKeyManager("", "default", ""));
+        assertEquals("A variável de ambiente JWT_SECRET_KEY não está definida!", exception.getMessage());
+    }
+
+    @Test
+    void shouldFailFast_WhenSecretIsShorterThan256Bits() {
+        assertThrows(IllegalStateException.class, () -> new JwtKeyManager("mySecretKey", "default", ""));
+    }
+
+    @Test
+    void shouldResolveKeyOnceAndUseItForTokensWithoutKeyId() {
+        // Arrange
+        JwtKeyManager keyManager = new JwtKeyManager(SECRET, "v1", "");
+
+        // Act
+        JwtKeyManager.SigningKey signingKey = keyManager.currentSigningKey();
+
+        // Assert
+        assertEquals("v1", signingKey.keyId());
+        assertSame(signingKey.key(), keyManager.currentSigningKey().key());
+        assertSame(signingKey.key(), keyManager.verificationKey(null));
+        assertSame(signingKey.key(), keyManager.verificationKey("v1"));
+    }
+
+    @Test
+    void shouldKeepPreviousKeyForVerification_WhenKeyIsRotated() {
+        // Arrange
+        JwtKeyManager keyManager = new JwtKeyManager(SECRET, "v1", "");
+        SecretKey oldKey = keyManager.currentSigningKey().key();
+
+        // Act
+        keyManager.rotate("v2", ROTATED_SECRET);
+
+        // Assert
+        assertEquals("v2", keyManager.currentSigningKey().keyId());
+        assertSame(oldKey, keyManager.verificationKey("v1"));
+        assertNotEquals(oldKey, keyManager.verificationKey("v2"));
+    }
+
+    @Test
+    void shouldRejectUnknownAndRetiredKeys() {
+        // Arrange
+        JwtKeyManager keyManager = new JwtKeyManager(SECRET, "v2", "v1:" + ROTATED_SECRET);
+
+        // Act
+        keyManager.retire("v1");
+
+        // Assert
+        assertThrows(JwtException.class, () -> keyManager.verificationKey("v1"));
+        assertThrows(JwtException.class, () -> keyManager.verificationKey("desconhecida"));
+        assertThrows(IllegalArgumentException.class, () -> keyManager.retire("v2"));
+    }
+
+    @Test
+    void shouldDiscardOldestKeys_WhenRotatingBeyondLimit() {
+        // Arrange
+        JwtKeyManager keyManager = new JwtKeyManager(SECRET, "v0", "");
+
+        // Act
+        for (int i = 1; i <= JwtKeyManager.MAX_PREVIOUS_KEYS + 1; i++) {
+            keyManager.rotate("v" + i, ROTATED_SECRET);
+        }
+
+        // Assert
+        assertThrows(JwtException.class, () -> keyManager.verificationKey("v0"));
+        assertNotNull(keyManager.verificationKey("v1"));
+    }
+
+    @Test
+    void shouldReplaceKeySet_AndNotifyWhenAKeyIsRetired() {
+        // Arrange
+        JwtKeyManager keyManager = new JwtKeyManager(SECRET, "v1", "");
+        AtomicInteger retirements = new AtomicInteger();
+        keyManager.onKeyRetired(retirements::incrementAndGet);
+        Map<String, String> withNewKey = new LinkedHashMap<>();
+        withNewKey.put("v1", SECRET);
+        withNewKey.put("v2", ROTATED_SECRET);
+
+        // Act
+        keyManager.replaceKeys(withNewKey);
+        int retirementsAfterPromotion = retirements.get();
+        keyManager.replaceKeys(Map.of("v2", ROTATED_SECRET));
+
+        // Assert
+        assertEquals(0, retirementsAfterPromotion);
+        assertEquals(1, retirements.get());
+        assertEquals("v2", keyManager.currentSigningKey().keyId());
+        assertThrows(JwtException.class, () -> keyManager.verificationKey("v1"));
+    }
+
+    @Test
+    void shouldNotifyRetirement_WhenRetireOrRotationDropsAKey() {
+        // Arrange
+        JwtKeyManager keyManager = new JwtKeyManager(SECRET, "v0", "");
+        AtomicInteger retirements = new AtomicInteger();
+        keyManager.onKeyRetired(retirements::incrementAndGet);
+
+        // Act
+        for (int i = 1; i <= JwtKeyManager.MAX_PREVIOUS_KEYS + 1; i++) {
+            keyManager.rotate("v" + i, ROTATED_SECRET);
+        }
+        keyManager.retire("v2");
+        keyManager.retire("inexistente");
+
+        // Assert
+        assertEquals(2, retirements.get());
+    }
+}
@@ -0,0 +1,101 @@
+package com.zup.desafio_imposto.config.security;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyReloaderTest {
+
+    private static final String SECRET = "Y2hhdmUtZGUtdGVzdGUtY29tLXBlbG8tbWVub3MtMjU2LWJpdHM=";
+    private static final String ROTATED_SECRET = "Y2hhdmUtcm90YWNpb25hZGEtY29tLXBlbG8tbWVub3MtMjU2LWJpdHM=";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldRotateAndRetireKeys_WhenFileChanges() throws IOException {
+        // Arrange
+        Path keysFile = tempDir.resolve("jwt-keys");
+        Files.writeString(keysFile, "v1:" + SECRET + "\n");
+        JwtKeyManager keyManager = new JwtKeyManager(SECRET, "default", "");
+        JwtKeyReloader reloader = new JwtKeyReloader(keyManager, keysFile.toString());
+        reloader.loadOnStartup();
+
+        // Act
+        Files.writeString(keysFile, "# mais antiga primeiro\nv1:" + SECRET + "\nv2:" + ROTATED_SECRET + "\n");
+        boolean rotated = reloader.reload();
+        boolean unchanged = reloader.reload();
+        Files.writeString(keysFile, "v2:" + ROTATED_SECRET + "\n");
+        boolean retired = reloader.reload();
+
+        // Assert
+        assertTrue(rotated);
+        assertFalse(unchanged);
+        assertTrue(retired);
+        assertEquals("v2", keyManager.currentSigningKey().keyId());
+        assertThrows(JwtException.class, () -> keyManager.verificationKey("v1"));
+        assertThrows(JwtException.class, () -> keyManager.verificationKey("default"));
+    }
+
+    @Test
+    void shouldStartWithKeysFromFile_WhenSecretIsNotSet() throws IOException {
+        // Arrange
+        Path keysFile = tempDir.resolve("jwt-keys");
+        Files.writeString(keysFile, "v1:" + SECRET + "\nv2:" + ROTATED_SECRET + "\n");
+
+        // Act
+        JwtKeyManager keyManager = new JwtKeyManager("", "default", "", keysFile.toString());
+        JwtKeyReloader reloader = new JwtKeyReloader(keyManager, keysFile.toString());
+        reloader.loadOnStartup();
+
+        // Assert
+        assertEquals("v2", keyManager.currentSigningKey().keyId());
+        assertNotNull(keyManager.verificationKey("v1"));
+        assertThrows(IllegalStateException.class, () -> new JwtKeyManager("", "default", "", ""));
+        assertThrows(RuntimeException.class, () -> new JwtKeyManager("", "default", "", tempDir.resolve("ausente").toString()));
+    }
+
+    @Test
+    void shouldKeepCurrentKeys_WhenReloadedFileIsInvalid() throws IOException {
+        // Arrange
+        Path keysFile = tempDir.resolve("jwt-keys");
+        Files.writeString(keysFile, "v1:" + SECRET + "\n");
+        JwtKeyManager keyManager = new JwtKeyManager(SECRET, "default", "");
+        JwtKeyReloader reloader = new JwtKeyReloader(keyManager, keysFile.toString());
+        reloader.loadOnStartup();
+
+        // Act
+        Files.writeString(keysFile, "sem-separador\n");
+        reloader.reloadPeriodically();
+
+        // Assert
+        assertEquals("v1", keyManager.currentSigningKey().keyId());
+        assertThrows(IllegalStateException.class, reloader::reload);
+    }
+
+    @Test
+    void shouldFailStartup_WhenConfiguredFileIsMissing() {
+        // Arrange
+        JwtKeyReloader reloader = new JwtKeyReloader(new JwtKeyManager(SECRET, "default", ""),
+                tempDir.resolve("inexistente").toString());
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, reloader::loadOnStartup);
+    }
+
+    @Test
+    void shouldDoNothing_WhenNoFileIsConfigured() {
+        // Arrange
+        JwtKeyManager keyManager = new JwtKeyManager(SECRET, "default", "");
+
+        // Act & Assert
+        assertFalse(new JwtKeyReloader(keyManager, "").reload());
+        assertEquals("default", keyManager.currentSigningKey().keyId());
+    }
+}
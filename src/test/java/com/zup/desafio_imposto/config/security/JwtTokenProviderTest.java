@@ -0,0 +1,110 @@
+package com.zup.desafio_imposto.config.security;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "Y2hhdmUtZGUtdGVzdGUtY29tLXBlbG8tbWVub3MtMjU2LWJpdHM=";
+    private static final String ROTATED_SECRET = "Y2hhdmUtcm90YWNpb25hZGEtY29tLXBlbG8tbWVub3MtMjU2LWJpdHM=";
+
+    private JwtKeyManager jwtKeyManager;
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        jwtKeyManager = new JwtKeyManager(SECRET, "v1", "");
+        jwtTokenProvider = new JwtTokenProvider(jwtKeyManager);
+    }
+
+    @Test
+    void shouldGenerateAndValidateToken() {
+        // Act
+        String token = jwtTokenProvider.generateToken("admin", "ROLE_ADMIN");
+        Claims claims = jwtTokenProvider.getValidatedClaims(token);
+
+        // Assert
+        assertEquals("admin", claims.getSubject());
+        assertEquals("ROLE_ADMIN", claims.get("role"));
+        assertNotNull(claims.getExpiration());
+    }
+
+    @Test
+    void shouldIncludeRoleMaskClaim_AlongsideLegacyRoleClaim() {
+        // Act
+        String token = jwtTokenProvider.generateToken("admin", "ROLE_ADMIN,ROLE_USER");
+        Claims claims = jwtTokenProvider.getValidatedClaims(token);
+
+        // Assert
+        assertEquals("ROLE_ADMIN,ROLE_USER", claims.get("role"));
+        assertEquals(RoleAuthorities.mask("ROLE_ADMIN,ROLE_USER"), claims.get("roles", Integer.class));
+    }
+
+    @Test
+    void shouldGiveEachAccessTokenItsOwnJti() {
+        // Act
+        Claims first = jwtTokenProvider.getValidatedClaims(jwtTokenProvider.generateToken("admin", "ROLE_ADMIN"));
+        Claims second = jwtTokenProvider.getValidatedClaims(jwtTokenProvider.generateToken("admin", "ROLE_ADMIN"));
+
+        // Assert
+        assertNotNull(first.getId());
+        assertNotEquals(first.getId(), second.getId());
+    }
+
+    @Test
+    void shouldGenerateRefreshToken_ThatIsNotAnAccessToken() {
+        // Act
+        String refreshToken = jwtTokenProvider.generateRefreshToken("admin", "jti-1", new Date(System.currentTimeMillis() + 60_000));
+        String accessToken = jwtTokenProvider.generateToken("admin", "ROLE_ADMIN");
+        Claims claims = jwtTokenProvider.getValidatedRefreshClaims(refreshToken);
+
+        // Assert
+        assertEquals("admin", claims.getSubject());
+        assertEquals("jti-1", claims.getId());
+        assertTrue(JwtTokenProvider.isRefreshToken(claims));
+        assertThrows(RuntimeException.class, () -> jwtTokenProvider.getValidatedRefreshClaims(accessToken));
+    }
+
+    @Test
+    void shouldKeepAcceptingTokensSignedWithPreviousKey_AfterRotation() {
+        // Arrange
+        String oldToken = jwtTokenProvider.generateToken("admin", "ROLE_ADMIN");
+
+        // Act
+        jwtKeyManager.rotate("v2", ROTATED_SECRET);
+        String newToken = jwtTokenProvider.generateToken("user", "ROLE_USER");
+
+        // Assert
+        assertEquals("admin", jwtTokenProvider.getValidatedClaims(oldToken).getSubject());
+        assertEquals("user", jwtTokenProvider.getValidatedClaims(newToken).getSubject());
+    }
+
+    @Test
+    void shouldRejectToken_WhenSigningKeyWasRetired() {
+        // Arrange
+        String oldToken = jwtTokenProvider.generateToken("admin", "ROLE_ADMIN");
+        jwtKeyManager.rotate("v2", ROTATED_SECRET);
+
+        // Act
+        jwtKeyManager.retire("v1");
+
+        // Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> jwtTokenProvider.getValidatedClaims(oldToken));
+        assertEquals("Token expired!", exception.getMessage());
+    }
+
+    @Test
+    void shouldRejectTamperedToken() {
+        // Arrange
+        String token = jwtTokenProvider.generateToken("admin", "ROLE_ADMIN");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> jwtTokenProvider.getValidatedClaims(tampered));
+    }
+}
@@ -0,0 +1,80 @@
+package com.zup.desafio_imposto.config.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoleAuthoritiesTest {
+
+    @Test
+    void shouldEncodeRoleNamesWithOrWithoutPrefix() {
+        // Act
+        int admin = RoleAuthorities.mask("ROLE_ADMIN");
+        int user = RoleAuthorities.mask("USER");
+        int both = RoleAuthorities.mask("ROLE_ADMIN, ROLE_USER");
+
+        // Assert
+        assertNotEquals(0, admin);
+        assertNotEquals(0, user);
+        assertEquals(admin | user, both);
+        assertEquals(0, RoleAuthorities.mask("ROLE_DESCONHECIDO"));
+        assertEquals(0, RoleAuthorities.mask(null));
+    }
+
+    @Test
+    void shouldReturnSameImmutableAuthorities_ForSameMask() {
+        // Arrange
+        int mask = RoleAuthorities.mask("ROLE_ADMIN,ROLE_USER");
+
+        // Act
+        List<GrantedAuthority> first = RoleAuthorities.forMask(mask);
+        List<GrantedAuthority> second = RoleAuthorities.forMask(mask);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_USER"), first.stream().map(GrantedAuthority::getAuthority).toList());
+        assertThrows(UnsupportedOperationException.class, () -> first.add(() -> "ROLE_HACK"));
+    }
+
+    @Test
+    void shouldIgnoreUnknownBits() {
+        // Arrange
+        int admin = RoleAuthorities.mask("ROLE_ADMIN");
+
+        // Act & Assert
+        assertSame(RoleAuthorities.forMask(admin), RoleAuthorities.forMask(admin | (1 << 30)));
+    }
+
+    @Test
+    void shouldPreferMaskClaim_OverLegacyRoleClaim() {
+        // Arrange
+        Claims claims = Jwts.claims();
+        claims.put(JwtTokenProvider.ROLE_CLAIM, "ROLE_ADMIN");
+        claims.put(JwtTokenProvider.ROLE_MASK_CLAIM, RoleAuthorities.mask("ROLE_USER"));
+
+        // Act
+        List<GrantedAuthority> authorities = RoleAuthorities.fromClaims(claims);
+
+        // Assert
+        assertEquals(List.of("ROLE_USER"), authorities.stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    void shouldDecodeLegacyRoleClaim_WhenMaskIsMissing() {
+        // Arrange
+        Claims claims = Jwts.claims();
+        claims.put(JwtTokenProvider.ROLE_CLAIM, "ROLE_ADMIN,ROLE_USER");
+
+        // Act
+        List<GrantedAuthority> authorities = RoleAuthorities.fromClaims(claims);
+
+        // Assert
+        assertSame(RoleAuthorities.forMask(RoleAuthorities.mask("ROLE_ADMIN,ROLE_USER")), authorities);
+        assertTrue(RoleAuthorities.fromClaims(Jwts.claims()).isEmpty());
+    }
+}
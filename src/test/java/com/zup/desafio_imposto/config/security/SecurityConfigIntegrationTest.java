@@ -0,0 +1,94 @@
+package com.zup.desafio_imposto.config.security;
+
+import com.zup.desafio_imposto.controllers.TaxTypeController;
+import com.zup.desafio_imposto.services.TaxCalculationStreamService;
+import com.zup.desafio_imposto.services.TaxTypeService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Regras de acesso com a cadeia de segurança real (filtros ligados), ao contrário dos testes de controller
+@WebMvcTest(TaxTypeController.class)
+@Import({SecurityConfig.class, AuthenticationEntryPointConfig.class, JwtAuthenticationFilterTestConfig.class})
+class SecurityConfigIntegrationTest {
+
+    private static final String CALCULATION_BODY = "{\"taxId\": 1, \"baseValue\": 1000.0}";
+    private static final String TAX_TYPE_BODY = "{\"name\": \"ICMS\", \"description\": \"Imposto estadual\", \"rate\": 18.0}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        public JwtTokenProvider jwtTokenProvider() {
+            return new JwtTokenProvider(new JwtKeyManager("Y2hhdmUtZGUtdGVzdGUtY29tLXBlbG8tbWVub3MtMjU2LWJpdHM=", "default", ""));
+        }
+        @Bean
+        public TaxTypeService taxTypeService() {
+            return Mockito.mock(TaxTypeService.class);
+        }
+        @Bean
+        public TaxCalculationStreamService taxCalculationStreamService() {
+            return Mockito.mock(TaxCalculationStreamService.class);
+        }
+    }
+
+    @Test
+    void shouldRejectAnonymousMetricsScrape() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldForbidAdminRoutes_WhenTokenHasOnlyUserRole() throws Exception {
+        // Arrange
+        String bearer = "Bearer " + jwtTokenProvider.generateToken("user", "ROLE_USER");
+
+        // Act & Assert
+        mockMvc.perform(get("/tax/tipos/1").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/tax/calculo").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON).content(CALCULATION_BODY))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/tax/calculo/lote").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"items\": []}"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/tax/calculo/cache").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/tax/tipos").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON).content(TAX_TYPE_BODY))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/tax/tipos/1").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void shouldAllowAdminRoutes_WhenTokenHasAdminRole() throws Exception {
+        // Arrange
+        String bearer = "Bearer " + jwtTokenProvider.generateToken("admin", "ROLE_ADMIN");
+
+        // Act & Assert
+        mockMvc.perform(post("/tax/calculo").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON).content(CALCULATION_BODY))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/tax/tipos/1").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isNoContent());
+    }
+}
@@ -58,7 +58,7 @@ class SecurityConfigTest {
     @Test
     void shouldCreatePasswordEncoder() {
         // Act
-        PasswordEncoder passwordEncoder = securityConfig.passwordEncoder();
+        PasswordEncoder passwordEncoder = new PasswordEncoderConfig().passwordEncoder(10, 100);
 
         // Assert
         assertNotNull(passwordEncoder);
@@ -0,0 +1,69 @@
+package com.zup.desafio_imposto.config.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenRevocationListTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    void shouldReportRevokedTokensOnly() {
+        // Arrange
+        TokenRevocationList revocationList = new TokenRevocationList(100);
+
+        // Act
+        revocationList.revoke("jti-1", NOW + 60_000);
+
+        // Assert
+        assertTrue(revocationList.isRevoked("jti-1"));
+        assertFalse(revocationList.isRevoked("jti-2"));
+        assertFalse(revocationList.isRevoked(null));
+        assertEquals(1, revocationList.size());
+    }
+
+    @Test
+    void shouldKeepAllRevocations_WhenCapacityIsExceeded() {
+        // Arrange
+        TokenRevocationList revocationList = new TokenRevocationList(8);
+        String[] jtis = new String[1000];
+        for (int i = 0; i < jtis.length; i++) {
+            jtis[i] = UUID.randomUUID().toString();
+        }
+
+        // Act
+        for (String jti : jtis) {
+            revocationList.revoke(jti, NOW + 60_000);
+        }
+
+        // Assert
+        for (String jti : jtis) {
+            assertTrue(revocationList.isRevoked(jti));
+        }
+        assertEquals(jtis.length, revocationList.size());
+    }
+
+    @Test
+    void shouldPruneExpiredRevocations_AndKeepTheRest() {
+        // Arrange
+        TokenRevocationList revocationList = new TokenRevocationList(100);
+        revocationList.revoke("expired", NOW - 1);
+        revocationList.revoke("valid", NOW + 60_000);
+
+        // Act
+        int pruned = revocationList.prune(NOW);
+
+        // Assert
+        assertEquals(1, pruned);
+        assertFalse(revocationList.isRevoked("expired"));
+        assertTrue(revocationList.isRevoked("valid"));
+    }
+
+    @Test
+    void shouldRejectInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenRevocationList(0));
+    }
+}
@@ -1,13 +1,26 @@
 package com.zup.desafio_imposto.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zup.desafio_imposto.calculation.TaxRoundingMode;
+import com.zup.desafio_imposto.config.security.JwtAuthenticationFilterTestConfig;
 import com.zup.desafio_imposto.config.security.JwtTokenProvider;
+import com.zup.desafio_imposto.dtos.request.BatchCalculateTaxTypeRequestDTO;
 import com.zup.desafio_imposto.dtos.request.CalculateTaxTypeRequestDTO;
+import com.zup.desafio_imposto.dtos.request.CompositeCalculateTaxRequestDTO;
+import com.zup.desafio_imposto.dtos.request.CompositeTaxItemRequestDTO;
+import com.zup.desafio_imposto.dtos.request.TaxRateVersionRequestDTO;
 import com.zup.desafio_imposto.dtos.request.TaxTypeRequestDTO;
+import com.zup.desafio_imposto.dtos.response.CacheStatsResponseDTO;
 import com.zup.desafio_imposto.dtos.response.CalculateTaxTypeResponseDTO;
+import com.zup.desafio_imposto.dtos.response.CompositeCalculateTaxResponseDTO;
+import com.zup.desafio_imposto.dtos.response.CompositeTaxItemResponseDTO;
+import com.zup.desafio_imposto.dtos.response.PageResponseDTO;
+import com.zup.desafio_imposto.dtos.response.TaxRateVersionResponseDTO;
 import com.zup.desafio_imposto.dtos.response.TaxTypeResponseDTO;
 import com.zup.desafio_imposto.exceptions.TaxNotFoundException;
+import com.zup.desafio_imposto.services.TaxCalculationStreamService;
 import com.zup.desafio_imposto.services.TaxTypeService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,25 +28,37 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
 @WebMvcTest(TaxTypeController.class)
+@Import(JwtAuthenticationFilterTestConfig.class)
 @AutoConfigureMockMvc(addFilters = false) // Desabilita os filtros de segurança
 class TaxTypeControllerIntegrationTest {
 
     private static final String BASE_URL = "/tax/tipos";
     private static final String CALCULATE_URL = "/tax/calculo";
+    private static final String BATCH_CALCULATE_URL = "/tax/calculo/lote";
+    private static final String CACHE_STATS_URL = "/tax/calculo/cache";
+    private static final String COMPOSITE_CALCULATE_URL = "/tax/calculo/composto";
+    private static final String STREAM_CALCULATE_URL = "/tax/calculo/stream";
 
     @Autowired
     private MockMvc mockMvc;
@@ -41,9 +66,18 @@ class TaxTypeControllerIntegrationTest {
     @Autowired
     private TaxTypeService taxTypeService;
 
+    @Autowired
+    private TaxCalculationStreamService taxCalculationStreamService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @BeforeEach
+    void resetMocks() {
+        // Os mocks são beans do contexto compartilhado; sem reset, invocações de um teste vazam para o próximo
+        Mockito.reset(taxTypeService, taxCalculationStreamService);
+    }
+
     @TestConfiguration
     static class TestConfig {
         @Bean
@@ -51,6 +85,10 @@ class TaxTypeControllerIntegrationTest {
             return Mockito.mock(TaxTypeService.class); // Mock do serviço
         }
         @Bean
+        public TaxCalculationStreamService taxCalculationStreamService() {
+            return Mockito.mock(TaxCalculationStreamService.class);
+        }
+        @Bean
         public JwtTokenProvider jwtTokenProvider() {
             return Mockito.mock(JwtTokenProvider.class);
         }
@@ -63,33 +101,49 @@ class TaxTypeControllerIntegrationTest {
                 new TaxTypeResponseDTO(2L, "Imposto B", "Descrição B", 15.0)
         );
 
-        when(taxTypeService.findAll()).thenReturn(taxTypes);
+        when(taxTypeService.getCatalogVersion()).thenReturn("abc-3");
+        when(taxTypeService.findAll(null, 50, null, null, null)).thenReturn(new PageResponseDTO<>(taxTypes, 2L));
 
         mockMvc.perform(get(BASE_URL)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].name").value("Imposto A"))
-                .andExpect(jsonPath("$[1].rate").value(15.0));
+                .andExpect(header().string("ETag", "\"abc-3\""))
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.content[0].name").value("Imposto A"))
+                .andExpect(jsonPath("$.content[1].rate").value(15.0))
+                .andExpect(jsonPath("$.nextCursor").value(2));
     }
 
-
-
-
     @Test
     void shouldReturnEmptyList_WhenNoTaxTypesExist() throws Exception {
-        Mockito.when(taxTypeService.findAll()).thenReturn(List.of());
+        Mockito.when(taxTypeService.findAll(null, 50, null, null, null)).thenReturn(new PageResponseDTO<>(List.of(), null));
 
         mockMvc.perform(get(BASE_URL))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isEmpty());
+                .andExpect(jsonPath("$.content").isEmpty())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void shouldPassPaginationAndFiltersToService() throws Exception {
+        when(taxTypeService.findAll(10L, 20, "IC", 5.0, 20.0)).thenReturn(new PageResponseDTO<>(List.of(), null));
+
+        mockMvc.perform(get(BASE_URL)
+                        .param("cursor", "10")
+                        .param("size", "20")
+                        .param("name", "IC")
+                        .param("minRate", "5.0")
+                        .param("maxRate", "20.0"))
+                .andExpect(status().isOk());
+
+        verify(taxTypeService).findAll(10L, 20, "IC", 5.0, 20.0);
     }
 
     @Test
     void shouldReturnNotFound_WhenTaxTypeIdDoesNotExist() throws Exception {
         Long id = 99L;
 
-        Mockito.when(taxTypeService.findById(id)).thenThrow(new TaxNotFoundException("Tipo de imposto não encontrado"));
+        Mockito.when(taxTypeService.getVersion(id)).thenThrow(new TaxNotFoundException("Tipo de imposto não encontrado"));
 
         mockMvc.perform(get(BASE_URL + "/{id}", id))
                 .andExpect(status().isNotFound())
@@ -101,15 +155,51 @@ class TaxTypeControllerIntegrationTest {
         Long id = 1L;
         TaxTypeResponseDTO taxTypeResponse = new TaxTypeResponseDTO(id, "Imposto A", "Descrição A", 10.0);
 
+        Mockito.when(taxTypeService.getVersion(id)).thenReturn("1-0");
         Mockito.when(taxTypeService.findById(id)).thenReturn(taxTypeResponse);
 
         mockMvc.perform(get(BASE_URL + "/{id}", id))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-0\""))
                 .andExpect(jsonPath("$.name").value("Imposto A"))
                 .andExpect(jsonPath("$.description").value("Descrição A"))
                 .andExpect(jsonPath("$.rate").value(10.0));
     }
 
+    @Test
+    void shouldReturnNotModified_WhenCatalogIsUnchanged() throws Exception {
+        when(taxTypeService.getCatalogVersion()).thenReturn("abc-3");
+
+        mockMvc.perform(get(BASE_URL).header("If-None-Match", "\"abc-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"abc-3\""))
+                .andExpect(content().string(""));
+
+        verify(taxTypeService, never()).findAll(any(), anyInt(), any(), any(), any());
+    }
+
+    @Test
+    void shouldReturnNotModified_WhenTaxTypeVersionMatches() throws Exception {
+        when(taxTypeService.getVersion(1L)).thenReturn("1-2");
+
+        mockMvc.perform(get(BASE_URL + "/{id}", 1L).header("If-None-Match", "\"1-2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(taxTypeService, never()).findById(anyLong());
+    }
+
+    @Test
+    void shouldReturnTaxType_WhenVersionChanged() throws Exception {
+        when(taxTypeService.getVersion(1L)).thenReturn("1-3");
+        when(taxTypeService.findById(1L)).thenReturn(new TaxTypeResponseDTO(1L, "Imposto A", "Descrição A", 12.0));
+
+        mockMvc.perform(get(BASE_URL + "/{id}", 1L).header("If-None-Match", "\"1-2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-3\""))
+                .andExpect(jsonPath("$.rate").value(12.0));
+    }
+
     @Test
     void shouldAddNewTaxType_WhenRequestIsValid() throws Exception {
         TaxTypeRequestDTO taxTypeRequest = new TaxTypeRequestDTO("Imposto A", "Descrição A", 10.0);
@@ -166,6 +256,142 @@ class TaxTypeControllerIntegrationTest {
                 .andExpect(jsonPath("$.detalhes.baseValue").value("O valor base deve ser maior que zero."));
     }
 
+    @Test
+    void shouldCalculateBatchSuccessfully_WhenRequestIsValid() throws Exception {
+        BatchCalculateTaxTypeRequestDTO batchRequest = new BatchCalculateTaxTypeRequestDTO(List.of(
+                new CalculateTaxTypeRequestDTO(1L, 100.0),
+                new CalculateTaxTypeRequestDTO(2L, 200.0)
+        ));
+        List<CalculateTaxTypeResponseDTO> batchResponse = List.of(
+                new CalculateTaxTypeResponseDTO("Imposto A", 100.0, 10.0, 10.0),
+                new CalculateTaxTypeResponseDTO("Imposto B", 200.0, 5.0, 10.0)
+        );
+
+        Mockito.when(taxTypeService.calculateTaxTypes(batchRequest.items())).thenReturn(batchResponse);
+
+        mockMvc.perform(post(BATCH_CALCULATE_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(jsonPath("$[0].taxName").value("Imposto A"))
+                .andExpect(jsonPath("$[1].baseValue").value(200.0));
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenBatchIsEmptyOrHasInvalidItems() throws Exception {
+        mockMvc.perform(post(BATCH_CALCULATE_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BatchCalculateTaxTypeRequestDTO(List.of()))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detalhes.items").value("Por favor, insira ao menos um cálculo."));
+
+        BatchCalculateTaxTypeRequestDTO invalidBatch = new BatchCalculateTaxTypeRequestDTO(List.of(
+                new CalculateTaxTypeRequestDTO(1L, -1.0)
+        ));
+
+        mockMvc.perform(post(BATCH_CALCULATE_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(invalidBatch)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detalhes['items[0].baseValue']").value("O valor base deve ser maior que zero."));
+    }
+
+    @Test
+    void shouldAddRateVersion_WhenRequestIsValid() throws Exception {
+        TaxTypeResponseDTO taxTypeResponse = new TaxTypeResponseDTO(1L, "ICMS", "Descrição", 17.0, TaxRoundingMode.DEFAULT, List.of(),
+                List.of(new TaxRateVersionResponseDTO(LocalDate.of(2024, 1, 1), 18.0)));
+        Mockito.when(taxTypeService.addRateVersion(1L, new TaxRateVersionRequestDTO(18.0, LocalDate.of(2024, 1, 1))))
+                .thenReturn(taxTypeResponse);
+
+        mockMvc.perform(post(BASE_URL + "/1/aliquotas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"aliquota\":18.0,\"inicioVigencia\":\"2024-01-01\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.rateVersions[0].validFrom").value("2024-01-01"))
+                .andExpect(jsonPath("$.rateVersions[0].rate").value(18.0));
+
+        mockMvc.perform(post(BASE_URL + "/1/aliquotas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"aliquota\":18.0}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldPassReferenceDateToCalculation() throws Exception {
+        CalculateTaxTypeRequestDTO request = new CalculateTaxTypeRequestDTO(1L, 100.0, LocalDate.of(2023, 12, 31));
+        Mockito.when(taxTypeService.calculateTaxType(request)).thenReturn(new CalculateTaxTypeResponseDTO("ICMS", 100.0, 17.0, 17.0));
+
+        mockMvc.perform(post(CALCULATE_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"taxId\":1,\"baseValue\":100.0,\"referenceDate\":\"2023-12-31\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rate").value(17.0));
+    }
+
+    @Test
+    void shouldReturnCalculationCacheStats() throws Exception {
+        Mockito.when(taxTypeService.getCalculationCacheStats()).thenReturn(new CacheStatsResponseDTO(true, 3, 1, 0, 1, 0.75));
+
+        mockMvc.perform(get(CACHE_STATS_URL))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.hitRatio").value(0.75))
+                .andExpect(jsonPath("$.size").value(1));
+    }
+
+    @Test
+    void shouldCalculateCompositeTax_WhenRequestIsValid() throws Exception {
+        CompositeCalculateTaxRequestDTO compositeRequest = new CompositeCalculateTaxRequestDTO(1000.0, List.of(
+                new CompositeTaxItemRequestDTO(1L, "POR_DENTRO", null),
+                new CompositeTaxItemRequestDTO(2L)
+        ));
+        CompositeCalculateTaxResponseDTO compositeResponse = new CompositeCalculateTaxResponseDTO(1000.0, List.of(
+                new CompositeTaxItemResponseDTO(1L, "ICMS", "POR_DENTRO", 1219.51, 18.0, 219.51),
+                new CompositeTaxItemResponseDTO(2L, "PIS", "POR_FORA", 1000.0, 1.65, 16.5)
+        ), 236.01, 1236.01);
+
+        Mockito.when(taxTypeService.calculateCompositeTax(compositeRequest)).thenReturn(compositeResponse);
+
+        mockMvc.perform(post(COMPOSITE_CALCULATE_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"baseValue\":1000.0,\"taxes\":[{\"taxId\":1,\"incidencia\":\"POR_DENTRO\"},{\"taxId\":2}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.taxes[0].taxCalculated").value(219.51))
+                .andExpect(jsonPath("$.taxes[1].mode").value("POR_FORA"))
+                .andExpect(jsonPath("$.totalValue").value(1236.01));
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenCompositeModeIsInvalid() throws Exception {
+        mockMvc.perform(post(COMPOSITE_CALCULATE_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"baseValue\":1000.0,\"taxes\":[{\"taxId\":1,\"incidencia\":\"AO_LADO\"}]}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post(COMPOSITE_CALCULATE_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"baseValue\":1000.0,\"taxes\":[]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detalhes.taxes").value("Por favor, insira ao menos um imposto."));
+    }
+
+    @Test
+    void shouldStreamNdjsonCalculation_WhenContentTypeIsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream output = invocation.getArgument(1);
+            output.write("{\"taxName\":\"Imposto A\"}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(taxCalculationStreamService).calculateTaxTypeStream(any(InputStream.class), any(OutputStream.class));
+
+        mockMvc.perform(post(STREAM_CALCULATE_URL)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"taxId\":1,\"baseValue\":100.0}\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"taxName\":\"Imposto A\"}\n"));
+    }
+
     @Test
     void shouldDeleteTaxTypeSuccessfully_WhenTaxTypeIdExists() throws Exception {
         Long id = 1L;
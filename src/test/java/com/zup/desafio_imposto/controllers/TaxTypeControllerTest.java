@@ -3,8 +3,10 @@ package com.zup.desafio_imposto.controllers;
 import com.zup.desafio_imposto.dtos.request.CalculateTaxTypeRequestDTO;
 import com.zup.desafio_imposto.dtos.request.TaxTypeRequestDTO;
 import com.zup.desafio_imposto.dtos.response.CalculateTaxTypeResponseDTO;
+import com.zup.desafio_imposto.dtos.response.PageResponseDTO;
 import com.zup.desafio_imposto.dtos.response.TaxTypeResponseDTO;
 import com.zup.desafio_imposto.exceptions.GlobalExceptionHandler;
+import com.zup.desafio_imposto.services.TaxCalculationStreamService;
 import com.zup.desafio_imposto.services.TaxTypeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,11 +15,15 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
@@ -26,6 +32,9 @@ class TaxTypeControllerTest {
     @Mock
     private TaxTypeService taxTypeService;
 
+    @Mock
+    private TaxCalculationStreamService taxCalculationStreamService;
+
     @InjectMocks
     private TaxTypeController taxTypeController;
 
@@ -41,29 +50,32 @@ class TaxTypeControllerTest {
         TaxTypeResponseDTO tax2 = new TaxTypeResponseDTO(2L, "Imposto B", "Descrição B", 15.0);
         List<TaxTypeResponseDTO> mockTaxTypes = Arrays.asList(tax1, tax2);
 
-        when(taxTypeService.findAll()).thenReturn(mockTaxTypes);
+        when(taxTypeService.getCatalogVersion()).thenReturn("abc-1");
+        when(taxTypeService.findAll(null, 50, null, null, null)).thenReturn(new PageResponseDTO<>(mockTaxTypes, null));
 
         // Act
-        ResponseEntity<List<TaxTypeResponseDTO>> response = taxTypeController.getAllTaxTypes();
+        ResponseEntity<PageResponseDTO<TaxTypeResponseDTO>> response = taxTypeController.getAllTaxTypes(null, 50, null, null, null, newWebRequest());
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(2, response.getBody().size());
-        verify(taxTypeService, times(1)).findAll();
+        assertEquals(2, response.getBody().content().size());
+        verify(taxTypeService, times(1)).findAll(null, 50, null, null, null);
     }
 
     @Test
     void shouldReturnTaxTypeById_WhenTaxTypeExists() {
         // Arrange
         TaxTypeResponseDTO taxTypeResponse = new TaxTypeResponseDTO(1L, "Imposto A", "Descrição A", 10.0);
+        when(taxTypeService.getVersion(1L)).thenReturn("1-0");
         when(taxTypeService.findById(1L)).thenReturn(taxTypeResponse);
 
         // Act
-        ResponseEntity<TaxTypeResponseDTO> response = taxTypeController.getTaxTypeById(1L);
+        ResponseEntity<TaxTypeResponseDTO> response = taxTypeController.getTaxTypeById(1L, newWebRequest());
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(taxTypeResponse, response.getBody());
+        assertEquals("\"1-0\"", response.getHeaders().getETag());
         verify(taxTypeService, times(1)).findById(1L);
     }
 
@@ -118,12 +130,13 @@ class TaxTypeControllerTest {
     void shouldHandleTaxTypeNotFound_WhenTaxTypeDoesNotExist() {
         // Arrange
         Long taxTypeId = 1L;
+        when(taxTypeService.getVersion(taxTypeId)).thenReturn("1-0");
         when(taxTypeService.findById(taxTypeId)).thenThrow(new RuntimeException("Tipo de imposto não encontrado"));
 
         // Act
         ResponseEntity<?> response = null;
         try {
-            taxTypeController.getTaxTypeById(taxTypeId);
+            taxTypeController.getTaxTypeById(taxTypeId, newWebRequest());
         } catch (RuntimeException ex) {
             response = new GlobalExceptionHandler().handleGenericException(ex);
         }
@@ -136,4 +149,26 @@ class TaxTypeControllerTest {
         assertEquals("Ocorreu um erro inesperado. Por favor, tente novamente mais tarde.", responseBody.message());
         verify(taxTypeService, times(1)).findById(taxTypeId);
     }
+
+    @Test
+    void shouldReturnNotModified_WhenCatalogVersionMatches() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tax/tipos");
+        request.addHeader("If-None-Match", "\"abc-1\"");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        when(taxTypeService.getCatalogVersion()).thenReturn("abc-1");
+
+        // Act
+        ResponseEntity<PageResponseDTO<TaxTypeResponseDTO>> response = taxTypeController.getAllTaxTypes(null, 50, null, null, null,
+                new ServletWebRequest(request, servletResponse));
+
+        // Assert
+        assertNull(response);
+        assertEquals(304, servletResponse.getStatus());
+        verify(taxTypeService, never()).findAll(any(), anyInt(), any(), any(), any());
+    }
+
+    private ServletWebRequest newWebRequest() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/tax/tipos"), new MockHttpServletResponse());
+    }
 }
@@ -1,12 +1,20 @@
 package com.zup.desafio_imposto.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zup.desafio_imposto.config.security.JwtAuthenticationFilterTestConfig;
+import com.zup.desafio_imposto.config.security.JwtKeyManager;
 import com.zup.desafio_imposto.config.security.JwtTokenProvider;
 import com.zup.desafio_imposto.dtos.request.LoginRequestDTO;
+import com.zup.desafio_imposto.dtos.request.RefreshTokenRequestDTO;
 import com.zup.desafio_imposto.dtos.request.UserRequestDTO;
 import com.zup.desafio_imposto.dtos.response.LoginResponseDTO;
+import com.zup.desafio_imposto.dtos.response.PageResponseDTO;
+import com.zup.desafio_imposto.dtos.response.UserImportErrorDTO;
+import com.zup.desafio_imposto.dtos.response.UserImportResponseDTO;
 import com.zup.desafio_imposto.dtos.response.UserResponseDTO;
-import com.zup.desafio_imposto.models.User;
+import com.zup.desafio_imposto.exceptions.InvalidRefreshTokenException;
+import com.zup.desafio_imposto.exceptions.LoginThrottledException;
+import com.zup.desafio_imposto.services.UserImportService;
 import com.zup.desafio_imposto.services.UserService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,21 +22,31 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(UserController.class)
+@Import(JwtAuthenticationFilterTestConfig.class)
 @AutoConfigureMockMvc(addFilters = false)
 class UserControllerIntegrationTest {
 
@@ -48,32 +66,51 @@ class UserControllerIntegrationTest {
     public class SecurityConfig {
         @Bean
         public JwtTokenProvider jwtTokenProvider() {
-            return new JwtTokenProvider();
+            return new JwtTokenProvider(new JwtKeyManager("Y2hhdmUtZGUtdGVzdGUtY29tLXBlbG8tbWVub3MtMjU2LWJpdHM=", "default", ""));
         }
     }
 
 
     @Test
-    void shouldGetAllUsers() throws Exception {
+    void shouldListUsersPage() throws Exception {
         // Arrange
-        User user1 = new User();
-        user1.setId(1L);
-        user1.setUsername("user1");
-        user1.setPassword("password1");
+        UserResponseDTO user1 = new UserResponseDTO(1L, "user1", Set.of("ROLE_USER"));
+        UserResponseDTO user2 = new UserResponseDTO(2L, "user2", Set.of("ROLE_ADMIN"));
 
-        User user2 = new User();
-        user2.setId(2L);
-        user2.setUsername("user2");
-        user2.setPassword("password2");
-
-        when(userService.getAllUsers()).thenReturn(List.of(user1, user2));
+        when(userService.listUsers(null, 50)).thenReturn(new PageResponseDTO<>(List.of(user1, user2), 2L));
 
         // Act & Assert
         mockMvc.perform(get("/users")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].username").value("user1"))
-                .andExpect(jsonPath("$[1].username").value("user2"));
+                .andExpect(jsonPath("$.content[0].username").value("user1"))
+                .andExpect(jsonPath("$.content[1].username").value("user2"))
+                .andExpect(jsonPath("$.content[0].password").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value(2));
+    }
+
+    @Test
+    void shouldPassCursorAndSizeToService() throws Exception {
+        // Arrange
+        when(userService.listUsers(10L, 5)).thenReturn(new PageResponseDTO<>(List.of(), null));
+
+        // Act & Assert
+        mockMvc.perform(get("/users").param("cursor", "10").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isEmpty())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenPageSizeIsInvalid() throws Exception {
+        // Arrange
+        when(userService.listUsers(null, 1000))
+                .thenThrow(new IllegalArgumentException("O tamanho da página deve estar entre 1 e 500"));
+
+        // Act & Assert
+        mockMvc.perform(get("/users").param("size", "1000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("O tamanho da página deve estar entre 1 e 500"));
     }
 
     @Test
@@ -102,13 +139,151 @@ class UserControllerIntegrationTest {
         LoginRequestDTO loginRequest = new LoginRequestDTO("validUser", "validPassword");
         LoginResponseDTO loginResponse = new LoginResponseDTO("validToken");
 
-        when(userService.loginUser(any(LoginRequestDTO.class))).thenReturn(loginResponse);
+        when(userService.loginUser(any(LoginRequestDTO.class))).thenReturn(CompletableFuture.completedFuture(loginResponse));
 
         // Act & Assert
-        mockMvc.perform(post("/users/login")
+        MvcResult mvcResult = mockMvc.perform(post("/users/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").value("validToken"));
     }
+
+    @Test
+    void shouldReturnTooManyRequests_WhenLoginPoolIsSaturated() throws Exception {
+        // Arrange
+        LoginRequestDTO loginRequest = new LoginRequestDTO("validUser", "validPassword");
+
+        when(userService.loginUser(any(LoginRequestDTO.class)))
+                .thenThrow(new LoginThrottledException("Muitas tentativas de login simultâneas. Tente novamente em instantes.", 1));
+
+        // Act & Assert
+        mockMvc.perform(post("/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.error").value("Muitas Requisições"));
+    }
+
+    @Test
+    void shouldRefreshTokens() throws Exception {
+        // Arrange
+        RefreshTokenRequestDTO refreshRequest = new RefreshTokenRequestDTO("refreshToken");
+        when(userService.refreshToken(refreshRequest)).thenReturn(new LoginResponseDTO("newToken", "newRefreshToken"));
+
+        // Act & Assert
+        mockMvc.perform(post("/users/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(refreshRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("newToken"))
+                .andExpect(jsonPath("$.refreshToken").value("newRefreshToken"));
+    }
+
+    @Test
+    void shouldReturnUnauthorized_WhenRefreshTokenIsRejected() throws Exception {
+        // Arrange
+        RefreshTokenRequestDTO refreshRequest = new RefreshTokenRequestDTO("usedRefreshToken");
+        when(userService.refreshToken(refreshRequest))
+                .thenThrow(new InvalidRefreshTokenException("Refresh token inválido ou expirado!"));
+
+        // Act & Assert
+        mockMvc.perform(post("/users/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(refreshRequest)))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Refresh token inválido ou expirado!"));
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenRefreshTokenIsBlank() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/users/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequestDTO(" "))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detalhes.refreshToken").value("Por favor, insira o refresh token."));
+    }
+
+    @Test
+    void shouldLogoutUser() throws Exception {
+        // Arrange
+        RefreshTokenRequestDTO refreshRequest = new RefreshTokenRequestDTO("refreshToken");
+
+        // Act & Assert
+        mockMvc.perform(post("/users/logout")
+                        .header("Authorization", "Bearer accessToken")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(refreshRequest)))
+                .andExpect(status().isNoContent());
+        verify(userService).logoutUser(refreshRequest, "accessToken");
+    }
+
+    @Test
+    void shouldReturnUnauthorized_WhenLogoutTokenIsInvalid() throws Exception {
+        // Arrange
+        RefreshTokenRequestDTO refreshRequest = new RefreshTokenRequestDTO("invalid");
+        doThrow(new InvalidRefreshTokenException("Refresh token inválido ou expirado!")).when(userService).logoutUser(refreshRequest, null);
+
+        // Act & Assert
+        mockMvc.perform(post("/users/logout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(refreshRequest)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldImportUsersFromNdjson() throws Exception {
+        // Arrange
+        UserImportResponseDTO importResponse = new UserImportResponseDTO(2, 1,
+                List.of(new UserImportErrorDTO(2, "admin", "Conflito", "Usuário já cadastrado no sistema")));
+        when(userService.importUsers(any(), eq(UserImportService.Format.NDJSON))).thenReturn(importResponse);
+
+        // Act & Assert
+        mockMvc.perform(post("/users/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("""
+                                {"username":"novo","password":"123456","role":["ROLE_USER"]}
+                                {"username":"admin","password":"123456","role":["ROLE_ADMIN"]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errors[0].username").value("admin"))
+                .andExpect(jsonPath("$.errors[0].error").value("Conflito"));
+    }
+
+    @Test
+    void shouldImportUsersFromCsv() throws Exception {
+        // Arrange
+        when(userService.importUsers(any(), eq(UserImportService.Format.CSV)))
+                .thenReturn(new UserImportResponseDTO(1, 1, List.of()));
+
+        // Act & Assert
+        mockMvc.perform(post("/users/import")
+                        .contentType("text/csv;charset=UTF-8")
+                        .content("username,password,role\nnovo,123456,ROLE_USER\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+        verify(userService).importUsers(any(), eq(UserImportService.Format.CSV));
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenImportFileIsRejected() throws Exception {
+        // Arrange
+        when(userService.importUsers(any(), any()))
+                .thenThrow(new IllegalArgumentException("Cabeçalho CSV inválido. Esperado: username,password,role."));
+
+        // Act & Assert
+        mockMvc.perform(post("/users/import")
+                        .contentType("text/csv")
+                        .content("nome,senha\n"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -1,11 +1,11 @@
 package com.zup.desafio_imposto.controllers;
 
 import com.zup.desafio_imposto.dtos.request.UserRequestDTO;
+import com.zup.desafio_imposto.dtos.response.PageResponseDTO;
 import com.zup.desafio_imposto.dtos.response.UserResponseDTO;
 import com.zup.desafio_imposto.exceptions.DuplicateTaxNameException;
 import com.zup.desafio_imposto.exceptions.DuplicateUsernameException;
 import com.zup.desafio_imposto.exceptions.GlobalExceptionHandler;
-import com.zup.desafio_imposto.models.User;
 import com.zup.desafio_imposto.services.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -35,25 +35,27 @@ class UserControllerTest {
     }
 
     @Test
-    void shouldReturnAllUsers() {
+    void shouldReturnUsersPage() {
         // Arrange: Configurar o comportamento do mock
-        User user1 = new User(1L, "usuario1", "senha1", null);
-        User user2 = new User(2L, "usuario2", "senha2", null);
-        List<User> mockUsers = Arrays.asList(user1, user2);
+        UserResponseDTO user1 = new UserResponseDTO(1L, "usuario1", Set.of("ROLE_USER"));
+        UserResponseDTO user2 = new UserResponseDTO(2L, "usuario2", Set.of("ROLE_ADMIN"));
+        PageResponseDTO<UserResponseDTO> page = new PageResponseDTO<>(List.of(user1, user2), 2L);
 
-        when(userService.getAllUsers()).thenReturn(mockUsers);
+        when(userService.listUsers(null, 2)).thenReturn(page);
 
         // Act: Chamar o método que queremos testar
-        List<User> result = userController.getAllUsers();
+        ResponseEntity<PageResponseDTO<UserResponseDTO>> response = userController.listUsers(null, 2);
 
         // Assert: Verificar se o resultado está correto
-        assertEquals(2, result.size());
-        assertEquals("usuario1", result.get(0).getUsername());
-        assertEquals("usuario2", result.get(1).getUsername());
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().content().size());
+        assertEquals("usuario1", response.getBody().content().get(0).username());
+        assertEquals(2L, response.getBody().nextCursor());
 
         // Verificar se o método do mock foi chamado
-        verify(userService, times(1)).getAllUsers();
+        verify(userService, times(1)).listUsers(null, 2);
     }
+
     @Test
     void shouldRegisterUserSuccessfully() {
         // Arrange: Configurar o comportamento do mock
@@ -1,6 +1,7 @@
 package com.zup.desafio_imposto.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zup.desafio_imposto.config.security.JwtAuthenticationFilterTestConfig;
 import com.zup.desafio_imposto.dtos.request.UserRequestDTO;
 import com.zup.desafio_imposto.dtos.response.UserResponseDTO;
 import com.zup.desafio_imposto.exceptions.DuplicateUsernameException;
@@ -25,6 +26,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(UserController.class)
+@Import(JwtAuthenticationFilterTestConfig.class)
 @AutoConfigureMockMvc(addFilters = false)
 class UserRegistrationControllerTest {
 
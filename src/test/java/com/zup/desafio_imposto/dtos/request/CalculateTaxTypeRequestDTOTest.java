@@ -111,4 +111,17 @@ class CalculateTaxTypeRequestDTOTest {
         assertEquals(1, violations.size());
         assertEquals("O valor base deve ser maior que zero.", violations.iterator().next().getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldFailValidation_WhenBaseValueHasFractionsOfCents() {
+        // Arrange
+        CalculateTaxTypeRequestDTO invalidDTO = new CalculateTaxTypeRequestDTO(1L, 100.005);
+
+        // Act
+        Set<ConstraintViolation<CalculateTaxTypeRequestDTO>> violations = validator.validate(invalidDTO);
+
+        // Assert
+        assertEquals(1, violations.size());
+        assertEquals("O valor base deve ter até 13 dígitos inteiros e 2 casas decimais", violations.iterator().next().getMessage());
+    }
+}
@@ -7,6 +7,7 @@ import jakarta.validation.ValidatorFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -98,4 +99,55 @@ class TaxTypeRequestDTOTest {
         assertEquals(1, violations.size());
         assertEquals("A alíquota deve ser maior que zero", violations.iterator().next().getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldFailValidation_WhenRateHasMoreThanFourDecimals() {
+        // Arrange
+        TaxTypeRequestDTO invalidDTO = new TaxTypeRequestDTO("Imposto A", "Descrição do Imposto A", 10.00001);
+
+        // Act
+        Set<ConstraintViolation<TaxTypeRequestDTO>> violations = validator.validate(invalidDTO);
+
+        // Assert
+        assertEquals(1, violations.size());
+        assertEquals("A alíquota deve ter até 3 dígitos inteiros e 4 casas decimais", violations.iterator().next().getMessage());
+    }
+
+    @Test
+    void shouldFailValidation_WhenRoundingModeIsUnknown() {
+        // Arrange
+        TaxTypeRequestDTO invalidDTO = new TaxTypeRequestDTO("Imposto A", "Descrição do Imposto A", 10.0, "CEILING");
+
+        // Act
+        Set<ConstraintViolation<TaxTypeRequestDTO>> violations = validator.validate(invalidDTO);
+
+        // Assert
+        assertEquals(1, violations.size());
+    }
+
+    @Test
+    void shouldPassValidation_WhenRoundingModeIsSupported() {
+        // Arrange
+        TaxTypeRequestDTO validDTO = new TaxTypeRequestDTO("Imposto A", "Descrição do Imposto A", 10.0, "HALF_UP");
+
+        // Act
+        Set<ConstraintViolation<TaxTypeRequestDTO>> violations = validator.validate(validDTO);
+
+        // Assert
+        assertTrue(violations.isEmpty());
+    }
+
+    @Test
+    void shouldFailValidation_WhenBracketIsInvalid() {
+        // Arrange
+        TaxTypeRequestDTO invalidDTO = new TaxTypeRequestDTO("IRPF", "Imposto de renda", 27.5, null,
+                List.of(new TaxBracketRequestDTO(-1.0, 7.5, 0.0)));
+
+        // Act
+        Set<ConstraintViolation<TaxTypeRequestDTO>> violations = validator.validate(invalidDTO);
+
+        // Assert
+        assertEquals(1, violations.size());
+        assertEquals("O limite inferior da faixa não pode ser negativo", violations.iterator().next().getMessage());
+    }
+}
@@ -50,6 +50,21 @@ class GlobalExceptionHandlerTest {
         assertEquals(errorMessage, response.getBody().message());
     }
 
+    @Test
+    void shouldHandleLoginThrottledExceptionWithRetryAfter() {
+        // Arrange
+        LoginThrottledException exception = new LoginThrottledException("Muitas tentativas", 2);
+
+        // Act
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> response = globalExceptionHandler.handleLoginThrottledException(exception);
+
+        // Assert
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("2", response.getHeaders().getFirst("Retry-After"));
+        assertEquals("Muitas Requisições", response.getBody().error());
+        assertEquals("Muitas tentativas", response.getBody().message());
+    }
+
     @Test
     void shouldHandleTaxNotFoundException() {
         // Arrange
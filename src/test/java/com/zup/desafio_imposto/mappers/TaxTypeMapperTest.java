@@ -1,10 +1,18 @@
 package com.zup.desafio_imposto.mappers;
 
+import com.zup.desafio_imposto.calculation.TaxRoundingMode;
+import com.zup.desafio_imposto.dtos.request.TaxBracketRequestDTO;
 import com.zup.desafio_imposto.dtos.request.TaxTypeRequestDTO;
+import com.zup.desafio_imposto.dtos.response.TaxBracketResponseDTO;
+import com.zup.desafio_imposto.dtos.response.TaxRateVersionResponseDTO;
 import com.zup.desafio_imposto.dtos.response.TaxTypeResponseDTO;
+import com.zup.desafio_imposto.models.TaxRateVersion;
 import com.zup.desafio_imposto.models.TaxType;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDate;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class TaxTypeMapperTest {
@@ -29,6 +37,7 @@ class TaxTypeMapperTest {
         assertThat(responseDTO.name()).isEqualTo("VAT");
         assertThat(responseDTO.description()).isEqualTo("Value Added Tax");
         assertThat(responseDTO.rate()).isEqualTo(15.0);
+        assertThat(responseDTO.roundingMode()).isEqualTo(TaxRoundingMode.HALF_EVEN);
     }
 
     @Test
@@ -44,5 +53,52 @@ class TaxTypeMapperTest {
         assertThat(taxType.getName()).isEqualTo("Income Tax");
         assertThat(taxType.getDescription()).isEqualTo("Tax on income");
         assertThat(taxType.getRate()).isEqualTo(20.0);
+        assertThat(taxType.getRoundingMode()).isEqualTo(TaxRoundingMode.HALF_EVEN);
+    }
+
+    @Test
+    void shouldMapRoundingModeFromRequest() {
+        // Arrange
+        TaxTypeRequestDTO requestDTO = new TaxTypeRequestDTO("ISS", "Imposto sobre serviços", 5.0, "HALF_UP");
+
+        // Act
+        TaxType taxType = taxTypeMapper.toEntity(requestDTO);
+
+        // Assert
+        assertThat(taxType.getRoundingMode()).isEqualTo(TaxRoundingMode.HALF_UP);
+    }
+
+    @Test
+    void shouldMapBracketsBothWays() {
+        // Arrange
+        TaxTypeRequestDTO requestDTO = new TaxTypeRequestDTO("IRPF", "Imposto de renda", 27.5, null, List.of(
+                new TaxBracketRequestDTO(0.0, 0.0, null),
+                new TaxBracketRequestDTO(2259.21, 7.5, 169.44)));
+
+        // Act
+        TaxType taxType = taxTypeMapper.toEntity(requestDTO);
+        TaxTypeResponseDTO responseDTO = taxTypeMapper.toResponseDTO(taxType);
+
+        // Assert
+        assertThat(taxType.getBrackets()).hasSize(2);
+        assertThat(taxType.getBrackets()).allSatisfy(bracket -> assertThat(bracket.getTaxType()).isSameAs(taxType));
+        assertThat(taxType.getBrackets().get(0).getDeduction()).isEqualTo(0.0);
+        assertThat(responseDTO.brackets()).containsExactly(
+                new TaxBracketResponseDTO(0.0, 0.0, 0.0),
+                new TaxBracketResponseDTO(2259.21, 7.5, 169.44));
+    }
+
+    @Test
+    void shouldMapRateVersionsToResponse() {
+        // Arrange
+        TaxType taxType = new TaxType(1L, "ICMS", "Imposto sobre circulação", 17.0);
+        taxType.addRateVersion(new TaxRateVersion(LocalDate.of(2024, 1, 1), 18.0));
+
+        // Act
+        TaxTypeResponseDTO responseDTO = taxTypeMapper.toResponseDTO(taxType);
+
+        // Assert
+        assertThat(responseDTO.rate()).isEqualTo(17.0);
+        assertThat(responseDTO.rateVersions()).containsExactly(new TaxRateVersionResponseDTO(LocalDate.of(2024, 1, 1), 18.0));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,78 @@
+package com.zup.desafio_imposto.repositories;
+
+import com.zup.desafio_imposto.cache.TaxCalculationResultCache;
+import com.zup.desafio_imposto.cache.TaxTypeCache;
+import com.zup.desafio_imposto.dtos.request.TaxRateVersionRequestDTO;
+import com.zup.desafio_imposto.dtos.request.TaxTypeRequestDTO;
+import com.zup.desafio_imposto.mappers.TaxTypeMapper;
+import com.zup.desafio_imposto.models.TaxType;
+import com.zup.desafio_imposto.services.TaxTypeService;
+import com.zup.desafio_imposto.services.impl.TaxTypeServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A versão do catálogo (ETag de GET /tax/tipos) é uma linha única no banco, incrementada pelas escritas do
+// serviço na própria transação; a versão de um imposto (ETag de GET /tax/tipos/{id}) é lida pela chave
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Import({TaxTypeServiceImpl.class, TaxTypeMapper.class, TaxTypeCache.class, TaxCalculationResultCache.class})
+class TaxCatalogVersionRepositoryTest {
+
+    @Autowired
+    private TaxTypeService taxTypeService;
+
+    @Autowired
+    private TaxTypeRepository taxTypeRepository;
+
+    @Test
+    void shouldIncrementCatalogVersion_OnEveryServiceWrite() {
+        // Arrange
+        String initial = taxTypeService.getCatalogVersion();
+
+        // Act & Assert
+        Long icmsId = taxTypeService.addTax(new TaxTypeRequestDTO("ICMS", "Imposto estadual", 18.0)).id();
+        String afterInsert = taxTypeService.getCatalogVersion();
+        assertNotEquals(initial, afterInsert);
+
+        taxTypeService.addRateVersion(icmsId, new TaxRateVersionRequestDTO(19.0, LocalDate.of(2025, 1, 1)));
+        taxTypeRepository.flush();
+        String afterRateVersion = taxTypeService.getCatalogVersion();
+        assertNotEquals(afterInsert, afterRateVersion);
+
+        taxTypeService.deleteTaxById(icmsId);
+        assertNotEquals(afterRateVersion, taxTypeService.getCatalogVersion());
+    }
+
+    @Test
+    void shouldKeepCatalogVersion_WhenOnlyReading() {
+        // Arrange
+        Long icmsId = taxTypeService.addTax(new TaxTypeRequestDTO("ICMS", "Imposto estadual", 18.0)).id();
+        String version = taxTypeService.getCatalogVersion();
+
+        // Act
+        taxTypeService.findById(icmsId);
+        taxTypeService.findAll(null, 10, null, null, null);
+
+        // Assert
+        assertEquals(version, taxTypeService.getCatalogVersion());
+    }
+
+    @Test
+    void shouldReadTaxTypeVersionByKey_AfterUpdateFromAnotherInstance() {
+        // Arrange
+        TaxType icms = taxTypeRepository.saveAndFlush(new TaxType(null, "ICMS", "Imposto estadual", 18.0));
+        String before = taxTypeService.getVersion(icms.getId());
+
+        // Act: alteração gravada direto no banco, sem passar pelo cache desta instância
+        icms.setRate(17.0);
+        taxTypeRepository.saveAndFlush(icms);
+
+        // Assert
+        assertNotEquals(before, taxTypeService.getVersion(icms.getId()));
+    }
+}
@@ -0,0 +1,35 @@
+package com.zup.desafio_imposto.repositories;
+
+import com.zup.desafio_imposto.models.TaxRateVersion;
+import com.zup.desafio_imposto.models.TaxType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+class TaxTypeRepositoryTest {
+
+    @Autowired
+    private TaxTypeRepository taxTypeRepository;
+
+    @Test
+    void shouldFilterPageByBaseRate_IgnoringRateVersions() {
+        // Arrange: a vigência de 2020 eleva o ISS para 20%, mas a alíquota base continua 5%
+        TaxType iss = new TaxType(null, "ISS", "Imposto municipal", 5.0);
+        iss.addRateVersion(new TaxRateVersion(LocalDate.of(2020, 1, 1), 20.0));
+        taxTypeRepository.saveAndFlush(iss);
+        TaxType icms = taxTypeRepository.saveAndFlush(new TaxType(null, "ICMS", "Imposto estadual", 18.0));
+
+        // Act
+        List<TaxType> page = taxTypeRepository.findPageAfter(0L, null, 10.0, null, Limit.of(10));
+
+        // Assert
+        assertEquals(List.of(icms.getId()), page.stream().map(TaxType::getId).toList());
+    }
+}
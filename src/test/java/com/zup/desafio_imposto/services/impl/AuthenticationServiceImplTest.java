@@ -1,11 +1,19 @@
 package com.zup.desafio_imposto.services.impl;
 
+import com.zup.desafio_imposto.cache.LoginResultCache;
 import com.zup.desafio_imposto.config.security.JwtTokenProvider;
+import com.zup.desafio_imposto.config.security.PasswordVerificationExecutor;
 import com.zup.desafio_imposto.dtos.request.LoginRequestDTO;
 import com.zup.desafio_imposto.dtos.response.LoginResponseDTO;
 import com.zup.desafio_imposto.models.Role;
 import com.zup.desafio_imposto.models.User;
 import com.zup.desafio_imposto.repositories.UserRepository;
+import com.zup.desafio_imposto.services.RefreshTokenService;
+import com.zup.desafio_imposto.services.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import com.zup.desafio_imposto.exceptions.LoginThrottledException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -16,6 +24,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,6 +35,12 @@ class AuthenticationServiceImplTest {
 
     private AuthenticationServiceImpl authenticationService;
 
+    private PasswordVerificationExecutor passwordVerificationExecutor;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LoginResultCache loginResultCache;
+
     @Mock
     private UserRepository userRepository;
 
@@ -33,11 +50,20 @@ class AuthenticationServiceImplTest {
     @Mock
     private JwtTokenProvider jwtTokenProvider;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
     @BeforeEach
     void setUp() {
         System.setProperty("JWT_SECRET_KEY", "mySecretKey");
         MockitoAnnotations.openMocks(this);
-        authenticationService = new AuthenticationServiceImpl(userRepository, passwordEncoder, jwtTokenProvider);
+        passwordVerificationExecutor = new PasswordVerificationExecutor(1, 1, 3);
+        meterRegistry = new SimpleMeterRegistry();
+        loginResultCache = new LoginResultCache(true, 30, 100);
+        authenticationService = new AuthenticationServiceImpl(userRepository, passwordEncoder, jwtTokenProvider, passwordVerificationExecutor, meterRegistry, loginResultCache, refreshTokenService, tokenRevocationService);
     }
 
     @Test
@@ -104,6 +130,106 @@ class AuthenticationServiceImplTest {
         verify(jwtTokenProvider, never()).generateToken(anyString(), anyString());
     }
 
+    @Test
+    void shouldRecordPasswordVerifyTimerByOutcome() {
+        // Arrange
+        User user = new User();
+        user.setUsername("validUser");
+        user.setPassword("encodedPassword");
+        user.setRoles(Set.of(new Role(1L, "ROLE_USER")));
+
+        when(userRepository.findByUsername("validUser")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("right", "encodedPassword")).thenReturn(true);
+        when(passwordEncoder.matches("wrong", "encodedPassword")).thenReturn(false);
+        when(jwtTokenProvider.generateToken(anyString(), anyString())).thenReturn("token");
+
+        // Act
+        authenticationService.authenticate(new LoginRequestDTO("validUser", "right"));
+        assertThrows(BadCredentialsException.class,
+                () -> authenticationService.authenticate(new LoginRequestDTO("validUser", "wrong")));
+        assertThrows(BadCredentialsException.class,
+                () -> authenticationService.authenticate(new LoginRequestDTO("validUser", "wrong")));
+
+        // Assert
+        assertEquals(1, meterRegistry.get("security.password.verify").tag("outcome", "match").timer().count());
+        assertEquals(2, meterRegistry.get("security.password.verify").tag("outcome", "mismatch").timer().count());
+    }
+
+    @Test
+    void shouldSkipPasswordCheckButIssueFreshTokens_WhenSameLoginIsRetried() throws ExecutionException, InterruptedException {
+        // Arrange
+        User user = new User();
+        user.setUsername("validUser");
+        user.setPassword("encodedPassword");
+        user.setRoles(Set.of(new Role(1L, "ROLE_USER")));
+
+        when(userRepository.findByUsername("validUser")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("validPassword", "encodedPassword")).thenReturn(true);
+        when(jwtTokenProvider.generateToken("validUser", "ROLE_USER")).thenReturn("token1", "token2", "token3");
+        when(refreshTokenService.issue("validUser")).thenReturn("refresh1", "refresh2", "refresh3");
+
+        LoginRequestDTO loginRequest = new LoginRequestDTO("validUser", "validPassword");
+
+        // Act
+        LoginResponseDTO first = authenticationService.authenticateAsync(loginRequest).get();
+        LoginResponseDTO retry = authenticationService.authenticateAsync(loginRequest).get();
+        LoginResponseDTO syncRetry = authenticationService.authenticate(loginRequest);
+
+        // Assert: cada dispositivo recebe a própria sessão, mesmo quando o login vem do cache
+        assertEquals(new LoginResponseDTO("token1", "refresh1"), first);
+        assertEquals(new LoginResponseDTO("token2", "refresh2"), retry);
+        assertEquals(new LoginResponseDTO("token3", "refresh3"), syncRetry);
+        verify(userRepository, times(1)).findByUsername("validUser");
+        verify(passwordEncoder, times(1)).matches("validPassword", "encodedPassword");
+        verify(refreshTokenService, times(3)).issue("validUser");
+    }
+
+    @Test
+    void shouldVerifyPasswordAgain_WhenRetriedWithDifferentPassword() {
+        // Arrange
+        User user = new User();
+        user.setUsername("validUser");
+        user.setPassword("encodedPassword");
+        user.setRoles(Set.of(new Role(1L, "ROLE_USER")));
+
+        when(userRepository.findByUsername("validUser")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("validPassword", "encodedPassword")).thenReturn(true);
+        when(passwordEncoder.matches("wrongPassword", "encodedPassword")).thenReturn(false);
+        when(jwtTokenProvider.generateToken("validUser", "ROLE_USER")).thenReturn("dummyToken");
+
+        authenticationService.authenticate(new LoginRequestDTO("validUser", "validPassword"));
+
+        // Act & Assert
+        assertThrows(BadCredentialsException.class,
+                () -> authenticationService.authenticate(new LoginRequestDTO("validUser", "wrongPassword")));
+        verify(passwordEncoder, times(1)).matches("wrongPassword", "encodedPassword");
+    }
+
+    @Test
+    void shouldAuthenticateAgain_WhenUserIsEvictedFromLoginCache() {
+        // Arrange
+        User user = new User();
+        user.setUsername("validUser");
+        user.setPassword("encodedPassword");
+        user.setRoles(Set.of(new Role(1L, "ROLE_USER")));
+
+        when(userRepository.findByUsername("validUser")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("validPassword", "encodedPassword")).thenReturn(true);
+        when(jwtTokenProvider.generateToken("validUser", "ROLE_USER")).thenReturn("oldToken");
+        when(jwtTokenProvider.generateToken("validUser", "ROLE_ADMIN")).thenReturn("adminToken");
+
+        LoginRequestDTO loginRequest = new LoginRequestDTO("validUser", "validPassword");
+        authenticationService.authenticate(loginRequest);
+
+        // Act
+        user.setRoles(Set.of(new Role(2L, "ROLE_ADMIN")));
+        loginResultCache.evictUser("validUser");
+        LoginResponseDTO response = authenticationService.authenticate(loginRequest);
+
+        // Assert
+        assertEquals("adminToken", response.token());
+        verify(passwordEncoder, times(2)).matches("validPassword", "encodedPassword");
+    }
 
     @Test
     void shouldExtractRolesCorrectly() {
@@ -132,4 +258,253 @@ class AuthenticationServiceImplTest {
         verify(passwordEncoder, times(1)).matches(password, encodedPassword);
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldRehashPassword_WhenEncodingIsOutdated() {
+        // Arrange
+        User user = new User();
+        user.setUsername("validUser");
+        user.setPassword("legacyHash");
+        user.setRoles(Set.of(new Role(1L, "ROLE_USER")));
+
+        when(userRepository.findByUsername("validUser")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("validPassword", "legacyHash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("legacyHash")).thenReturn(true);
+        when(passwordEncoder.encode("validPassword")).thenReturn("{bcrypt}newHash");
+        when(jwtTokenProvider.generateToken("validUser", "ROLE_USER")).thenReturn("dummyToken");
+
+        // Act
+        LoginResponseDTO response = authenticationService.authenticate(new LoginRequestDTO("validUser", "validPassword"));
+
+        // Assert
+        assertEquals("dummyToken", response.token());
+        assertEquals("{bcrypt}newHash", user.getPassword());
+        verify(userRepository, times(1)).save(user);
+    }
+
+    @Test
+    void shouldStillLogin_WhenRehashFails() {
+        // Arrange
+        User user = new User();
+        user.setUsername("validUser");
+        user.setPassword("legacyHash");
+        user.setRoles(Set.of(new Role(1L, "ROLE_USER")));
+
+        when(userRepository.findByUsername("validUser")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("validPassword", "legacyHash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("legacyHash")).thenReturn(true);
+        when(passwordEncoder.encode("validPassword")).thenReturn("{bcrypt}newHash");
+        when(userRepository.save(user)).thenThrow(new RuntimeException("Banco indisponível"));
+        when(jwtTokenProvider.generateToken("validUser", "ROLE_USER")).thenReturn("dummyToken");
+
+        // Act
+        LoginResponseDTO response = authenticationService.authenticate(new LoginRequestDTO("validUser", "validPassword"));
+
+        // Assert
+        assertEquals("dummyToken", response.token());
+    }
+
+    @Test
+    void shouldNotRehashPassword_WhenEncodingIsCurrent() {
+        // Arrange
+        User user = new User();
+        user.setUsername("validUser");
+        user.setPassword("{bcrypt}currentHash");
+        user.setRoles(Set.of(new Role(1L, "ROLE_USER")));
+
+        when(userRepository.findByUsername("validUser")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("validPassword", "{bcrypt}currentHash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("{bcrypt}currentHash")).thenReturn(false);
+        when(jwtTokenProvider.generateToken("validUser", "ROLE_USER")).thenReturn("dummyToken");
+
+        // Act
+        authenticationService.authenticate(new LoginRequestDTO("validUser", "validPassword"));
+
+        // Assert
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldVerifyPasswordOnDedicatedPool_WhenAuthenticatingAsynchronously() throws Exception {
+        // Arrange
+        User user = new User();
+        user.setUsername("validUser");
+        user.setPassword("encodedPassword");
+        user.setRoles(Set.of(new Role(1L, "ROLE_USER")));
+        String[] verifyingThread = new String[1];
+
+        when(userRepository.findByUsername("validUser")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("validPassword", "encodedPassword")).thenAnswer(invocation -> {
+            verifyingThread[0] = Thread.currentThread().getName();
+            return true;
+        });
+        when(jwtTokenProvider.generateToken("validUser", "ROLE_USER")).thenReturn("dummyToken");
+
+        // Act
+        LoginResponseDTO response = authenticationService.authenticateAsync(new LoginRequestDTO("validUser", "validPassword")).get();
+
+        // Assert
+        assertEquals("dummyToken", response.token());
+        assertTrue(verifyingThread[0].startsWith("password-verification-"));
+    }
+
+    @Test
+    void shouldCompleteExceptionally_WhenAsyncPasswordIsInvalid() {
+        // Arrange
+        User user = new User();
+        user.setUsername("validUser");
+        user.setPassword("encodedPassword");
+        when(userRepository.findByUsername("validUser")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("wrong", "encodedPassword")).thenReturn(false);
+
+        // Act
+        CompletableFuture<LoginResponseDTO> future = authenticationService.authenticateAsync(new LoginRequestDTO("validUser", "wrong"));
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(BadCredentialsException.class, exception.getCause());
+        verify(jwtTokenProvider, never()).generateToken(anyString(), anyString());
+    }
+
+    @Test
+    void shouldRejectLoginWithRetryAfter_WhenVerificationPoolIsSaturated() throws Exception {
+        // Arrange
+        User user = new User();
+        user.setUsername("validUser");
+        user.setPassword("encodedPassword");
+        user.setRoles(Set.of());
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.findByUsername("validUser")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches(anyString(), anyString())).thenAnswer(invocation -> {
+            release.await();
+            return true;
+        });
+        LoginRequestDTO loginRequest = new LoginRequestDTO("validUser", "validPassword");
+
+        // Act
+        CompletableFuture<LoginResponseDTO> running = authenticationService.authenticateAsync(loginRequest); // ocupa a única thread
+        CompletableFuture<LoginResponseDTO> queued = authenticationService.authenticateAsync(loginRequest); // ocupa a única vaga da fila
+
+        // Assert
+        LoginThrottledException exception = assertThrows(LoginThrottledException.class,
+                () -> authenticationService.authenticateAsync(loginRequest));
+        assertEquals(3, exception.getRetryAfterSeconds());
+
+        release.countDown();
+        running.get();
+        queued.get();
+    }
+
+    @Test
+    void shouldIssueRefreshToken_OnLogin() {
+        // Arrange
+        User user = new User();
+        user.setUsername("validUser");
+        user.setPassword("encodedPassword");
+        user.setRoles(Set.of(new Role(1L, "ROLE_USER")));
+
+        when(userRepository.findByUsername("validUser")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("validPassword", "encodedPassword")).thenReturn(true);
+        when(jwtTokenProvider.generateToken("validUser", "ROLE_USER")).thenReturn("accessToken");
+        when(refreshTokenService.issue("validUser")).thenReturn("refreshToken");
+
+        // Act
+        LoginResponseDTO response = authenticationService.authenticate(new LoginRequestDTO("validUser", "validPassword"));
+
+        // Assert
+        assertEquals("accessToken", response.token());
+        assertEquals("refreshToken", response.refreshToken());
+    }
+
+    @Test
+    void shouldRefreshWithoutCheckingPassword_AndKeepOtherSessionsUsable() {
+        // Arrange
+        User user = new User();
+        user.setUsername("validUser");
+        user.setPassword("encodedPassword");
+        user.setRoles(Set.of(new Role(1L, "ROLE_USER")));
+
+        when(userRepository.findByUsername("validUser")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("validPassword", "encodedPassword")).thenReturn(true);
+        when(jwtTokenProvider.generateToken("validUser", "ROLE_USER")).thenReturn("accessToken", "otherDeviceToken", "newAccessToken");
+        when(refreshTokenService.issue("validUser")).thenReturn("refreshToken", "otherDeviceRefreshToken");
+        when(refreshTokenService.rotate("refreshToken"))
+                .thenReturn(new RefreshTokenService.Rotation("validUser", "ROLE_USER", "newRefreshToken"));
+
+        LoginRequestDTO loginRequest = new LoginRequestDTO("validUser", "validPassword");
+        authenticationService.authenticate(loginRequest);
+        LoginResponseDTO otherDevice = authenticationService.authenticate(loginRequest);
+
+        // Act
+        LoginResponseDTO refreshed = authenticationService.refresh("refreshToken");
+
+        // Assert
+        assertEquals("newAccessToken", refreshed.token());
+        assertEquals("newRefreshToken", refreshed.refreshToken());
+        // O outro dispositivo tem o próprio refresh token, que a troca acima não tocou
+        assertEquals("otherDeviceRefreshToken", otherDevice.refreshToken());
+        verify(refreshTokenService, never()).rotate("otherDeviceRefreshToken");
+        verify(passwordEncoder, times(1)).matches("validPassword", "encodedPassword");
+    }
+
+    @Test
+    void shouldRevokeSessionsAndEvictCachedLogin_WhenCredentialsChange() {
+        // Arrange
+        User user = new User();
+        user.setUsername("validUser");
+        user.setPassword("encodedPassword");
+        user.setRoles(Set.of(new Role(1L, "ROLE_USER")));
+
+        when(userRepository.findByUsername("validUser")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("validPassword", "encodedPassword")).thenReturn(true);
+        LoginRequestDTO loginRequest = new LoginRequestDTO("validUser", "validPassword");
+        authenticationService.authenticate(loginRequest);
+
+        // Act
+        authenticationService.invalidateSessions("validUser");
+        authenticationService.authenticate(loginRequest);
+
+        // Assert: o login seguinte volta a buscar o usuário e a conferir a senha
+        verify(refreshTokenService, times(1)).revokeAll("validUser");
+        verify(userRepository, times(2)).findByUsername("validUser");
+        verify(passwordEncoder, times(2)).matches("validPassword", "encodedPassword");
+    }
+
+    @Test
+    void shouldRevokeRefreshToken_OnLogout() {
+        // Arrange
+        when(refreshTokenService.revoke("refreshToken")).thenReturn("validUser");
+
+        // Act
+        authenticationService.logout("refreshToken", null);
+
+        // Assert
+        verify(refreshTokenService, times(1)).revoke("refreshToken");
+        verify(tokenRevocationService, never()).revoke(any());
+    }
+
+    @Test
+    void shouldRevokeAccessToken_OnLogout_WhenItBelongsToSameUser() {
+        // Arrange
+        Claims ownClaims = mock(Claims.class);
+        when(ownClaims.getSubject()).thenReturn("validUser");
+        Claims otherClaims = mock(Claims.class);
+        when(otherClaims.getSubject()).thenReturn("otherUser");
+        when(refreshTokenService.revoke("refreshToken")).thenReturn("validUser");
+        when(jwtTokenProvider.getValidatedClaims("ownAccessToken")).thenReturn(ownClaims);
+        when(jwtTokenProvider.getValidatedClaims("otherAccessToken")).thenReturn(otherClaims);
+
+        // Act
+        authenticationService.logout("refreshToken", "ownAccessToken");
+        authenticationService.logout("refreshToken", "otherAccessToken");
+
+        // Assert
+        verify(tokenRevocationService, times(1)).revoke(ownClaims);
+        verify(tokenRevocationService, never()).revoke(otherClaims);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordVerificationExecutor.shutdown();
+    }
+}
@@ -0,0 +1,172 @@
+package com.zup.desafio_imposto.services.impl;
+
+import com.zup.desafio_imposto.config.security.JwtKeyManager;
+import com.zup.desafio_imposto.config.security.JwtTokenProvider;
+import com.zup.desafio_imposto.exceptions.InvalidRefreshTokenException;
+import com.zup.desafio_imposto.models.RefreshToken;
+import com.zup.desafio_imposto.models.Role;
+import com.zup.desafio_imposto.models.User;
+import com.zup.desafio_imposto.repositories.RefreshTokenRepository;
+import com.zup.desafio_imposto.repositories.UserRepository;
+import com.zup.desafio_imposto.services.RefreshTokenService;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenServiceImplTest {
+
+    private static final String SECRET = "Y2hhdmUtZGUtdGVzdGUtY29tLXBlbG8tbWVub3MtMjU2LWJpdHM=";
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private JwtTokenProvider jwtTokenProvider;
+
+    private RefreshTokenServiceImpl refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        jwtTokenProvider = new JwtTokenProvider(new JwtKeyManager(SECRET, "v1", ""));
+        refreshTokenService = new RefreshTokenServiceImpl(refreshTokenRepository, userRepository, jwtTokenProvider, 14);
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private RefreshToken lastSavedToken() {
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository, atLeastOnce()).save(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void shouldIssueSignedRefreshToken_AndStoreItsJti() {
+        // Act
+        String token = refreshTokenService.issue("admin");
+
+        // Assert
+        RefreshToken stored = lastSavedToken();
+        Claims claims = jwtTokenProvider.getValidatedRefreshClaims(token);
+        assertEquals("admin", claims.getSubject());
+        assertEquals(stored.getJti(), claims.getId());
+        assertTrue(stored.getExpiresAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    void shouldRotateToken_WithRolesCurrentlyGrantedToUser() {
+        // Arrange: o login foi feito como ADMIN, mas o papel foi retirado depois
+        String token = refreshTokenService.issue("admin");
+        RefreshToken stored = lastSavedToken();
+        when(refreshTokenRepository.findByJti(stored.getJti())).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.revokeIfActive(any(), any())).thenReturn(1);
+        when(userRepository.findByUsername("admin"))
+                .thenReturn(Optional.of(new User(1L, "admin", "encodedPassword", Set.of(new Role(2L, "ROLE_USER")))));
+
+        // Act
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(token);
+
+        // Assert
+        assertEquals("admin", rotation.username());
+        assertEquals("ROLE_USER", rotation.roles());
+        assertNotEquals(token, rotation.refreshToken());
+        assertEquals("admin", jwtTokenProvider.getValidatedRefreshClaims(rotation.refreshToken()).getSubject());
+        verify(refreshTokenRepository, never()).revokeAllActiveByUsername(any(), any());
+    }
+
+    @Test
+    void shouldRevokeAllSessions_WhenRotatedTokenIsReused() {
+        // Arrange
+        String token = refreshTokenService.issue("admin");
+        String jti = jwtTokenProvider.getValidatedRefreshClaims(token).getId();
+        when(refreshTokenRepository.findByJti(jti))
+                .thenReturn(Optional.of(new RefreshToken(jti, "admin", Instant.now().plusSeconds(60))));
+        when(refreshTokenRepository.revokeIfActive(any(), any())).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(token));
+        verify(refreshTokenRepository, times(1)).revokeAllActiveByUsername(eq("admin"), any(Instant.class));
+    }
+
+    @Test
+    void shouldRejectRotation_WhenUserNoLongerExists() {
+        // Arrange
+        String token = refreshTokenService.issue("admin");
+        RefreshToken stored = lastSavedToken();
+        when(refreshTokenRepository.findByJti(stored.getJti())).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.revokeIfActive(any(), any())).thenReturn(1);
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(token));
+        verify(refreshTokenRepository, times(1)).save(any(RefreshToken.class)); // Só o token original
+    }
+
+    @Test
+    void shouldRevokeAllActiveSessionsOfUser() {
+        // Arrange
+        when(refreshTokenRepository.revokeAllActiveByUsername(eq("admin"), any(Instant.class))).thenReturn(3);
+
+        // Act
+        int revoked = refreshTokenService.revokeAll("admin");
+
+        // Assert
+        assertEquals(3, revoked);
+    }
+
+    @Test
+    void shouldRejectAccessToken_AsRefreshToken() {
+        // Arrange
+        String accessToken = jwtTokenProvider.generateToken("admin", "ROLE_ADMIN");
+
+        // Act & Assert
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(accessToken));
+        verify(refreshTokenRepository, never()).findByJti(any());
+    }
+
+    @Test
+    void shouldRejectToken_WhenJtiIsUnknown() {
+        // Arrange
+        String token = refreshTokenService.issue("admin");
+        when(refreshTokenRepository.findByJti(any())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(token));
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.revoke(token));
+        verify(refreshTokenRepository, never()).revokeIfActive(any(), any());
+    }
+
+    @Test
+    void shouldRevokeToken_OnLogout() {
+        // Arrange
+        String token = refreshTokenService.issue("admin");
+        String jti = jwtTokenProvider.getValidatedRefreshClaims(token).getId();
+        when(refreshTokenRepository.findByJti(jti))
+                .thenReturn(Optional.of(new RefreshToken(jti, "admin", Instant.now().plusSeconds(60))));
+
+        // Act
+        String username = refreshTokenService.revoke(token);
+
+        // Assert
+        assertEquals("admin", username);
+        verify(refreshTokenRepository, times(1)).revokeIfActive(any(), any(Instant.class));
+    }
+
+    @Test
+    void shouldRejectInvalidValidity() {
+        assertThrows(IllegalArgumentException.class, () -> new RefreshTokenServiceImpl(refreshTokenRepository, userRepository, jwtTokenProvider, 0));
+    }
+}
@@ -0,0 +1,114 @@
+package com.zup.desafio_imposto.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zup.desafio_imposto.dtos.request.CalculateTaxTypeRequestDTO;
+import com.zup.desafio_imposto.dtos.response.CalculateTaxTypeResponseDTO;
+import com.zup.desafio_imposto.exceptions.TaxNotFoundException;
+import com.zup.desafio_imposto.services.TaxTypeService;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class TaxCalculationStreamServiceImplTest {
+
+    @Mock
+    private TaxTypeService taxTypeService;
+
+    private TaxCalculationStreamServiceImpl taxCalculationStreamService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        taxCalculationStreamService = new TaxCalculationStreamServiceImpl(
+                taxTypeService, new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Test
+    void shouldWriteOneResultLinePerInputRecord() throws IOException {
+        // Arrange
+        when(taxTypeService.calculateTaxType(new CalculateTaxTypeRequestDTO(1L, 100.0)))
+                .thenReturn(new CalculateTaxTypeResponseDTO("ICMS", 100.0, 18.0, 18.0));
+        when(taxTypeService.calculateTaxType(new CalculateTaxTypeRequestDTO(1L, 200.0)))
+                .thenReturn(new CalculateTaxTypeResponseDTO("ICMS", 200.0, 18.0, 36.0));
+        String input = "{\"taxId\":1,\"baseValue\":100.0}\n{\"taxId\":1,\"baseValue\":200.0}\n";
+
+        // Act
+        String output = process(input);
+
+        // Assert
+        assertEquals("""
+                {"taxName":"ICMS","baseValue":100.0,"rate":18.0,"taxCalculated":18.0}
+                {"taxName":"ICMS","baseValue":200.0,"rate":18.0,"taxCalculated":36.0}
+                """, output);
+    }
+
+    @Test
+    void shouldWriteErrorLinesAndKeepProcessing_WhenRecordsAreInvalid() throws IOException {
+        // Arrange
+        when(taxTypeService.calculateTaxType(new CalculateTaxTypeRequestDTO(99L, 100.0)))
+                .thenThrow(new TaxNotFoundException("Imposto não encontrado"));
+        when(taxTypeService.calculateTaxType(new CalculateTaxTypeRequestDTO(1L, 10.0)))
+                .thenReturn(new CalculateTaxTypeResponseDTO("ISS", 10.0, 5.0, 0.5));
+        String input = "não é json\r\n{\"taxId\":1,\"baseValue\":-1}\n\n{\"taxId\":99,\"baseValue\":100.0}\n{\"taxId\":1,\"baseValue\":10.0}";
+
+        // Act
+        String output = process(input);
+
+        // Assert
+        assertEquals("""
+                {"line":1,"error":"Requisição Inválida","message":"JSON inválido."}
+                {"line":2,"error":"Erro de Validação","message":"O valor base deve ser maior que zero."}
+                {"line":4,"error":"Não Encontrado","message":"Imposto não encontrado"}
+                {"taxName":"ISS","baseValue":10.0,"rate":5.0,"taxCalculated":0.5}
+                """, output);
+    }
+
+    @Test
+    void shouldWriteErrorLineAndKeepProcessing_WhenLineIsJsonNull() throws IOException {
+        // Arrange
+        when(taxTypeService.calculateTaxType(new CalculateTaxTypeRequestDTO(1L, 100.0)))
+                .thenReturn(new CalculateTaxTypeResponseDTO("ICMS", 100.0, 18.0, 18.0));
+        String input = "{\"taxId\":1,\"baseValue\":100.0}\nnull\n{\"taxId\":1,\"baseValue\":100.0}\n";
+
+        // Act
+        String output = process(input);
+
+        // Assert
+        assertEquals("""
+                {"taxName":"ICMS","baseValue":100.0,"rate":18.0,"taxCalculated":18.0}
+                {"line":2,"error":"Requisição Inválida","message":"JSON inválido."}
+                {"taxName":"ICMS","baseValue":100.0,"rate":18.0,"taxCalculated":18.0}
+                """, output);
+    }
+
+    @Test
+    void shouldRejectLinesLongerThanLimitWithoutBufferingThem() throws IOException {
+        // Arrange
+        String input = "x".repeat(TaxCalculationStreamServiceImpl.MAX_LINE_LENGTH + 1) + "\n";
+
+        // Act
+        String output = process(input);
+
+        // Assert
+        assertEquals("{\"line\":1,\"error\":\"Requisição Inválida\",\"message\":\"A linha excede o tamanho máximo de "
+                + TaxCalculationStreamServiceImpl.MAX_LINE_LENGTH + " caracteres.\"}\n", output);
+        verifyNoInteractions(taxTypeService);
+    }
+
+    private String process(String input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        taxCalculationStreamService.calculateTaxTypeStream(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
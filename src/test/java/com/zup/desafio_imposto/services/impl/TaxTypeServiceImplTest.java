@@ -1,21 +1,37 @@
 package com.zup.desafio_imposto.services.impl;
 
+import com.zup.desafio_imposto.cache.TaxCalculationResultCache;
+import com.zup.desafio_imposto.cache.TaxTypeCache;
+import com.zup.desafio_imposto.calculation.TaxRoundingMode;
 import com.zup.desafio_imposto.dtos.request.CalculateTaxTypeRequestDTO;
+import com.zup.desafio_imposto.dtos.request.CompositeCalculateTaxRequestDTO;
+import com.zup.desafio_imposto.dtos.request.CompositeTaxItemRequestDTO;
+import com.zup.desafio_imposto.dtos.request.TaxRateVersionRequestDTO;
 import com.zup.desafio_imposto.dtos.request.TaxTypeRequestDTO;
 import com.zup.desafio_imposto.dtos.response.CalculateTaxTypeResponseDTO;
+import com.zup.desafio_imposto.dtos.response.CompositeCalculateTaxResponseDTO;
+import com.zup.desafio_imposto.dtos.response.PageResponseDTO;
 import com.zup.desafio_imposto.dtos.response.TaxTypeResponseDTO;
 import com.zup.desafio_imposto.exceptions.TaxNotFoundException;
 import com.zup.desafio_imposto.mappers.TaxTypeMapper;
+import com.zup.desafio_imposto.models.TaxBracket;
+import com.zup.desafio_imposto.models.TaxRateVersion;
 import com.zup.desafio_imposto.models.TaxType;
+import com.zup.desafio_imposto.models.TaxCatalogVersion;
+import com.zup.desafio_imposto.repositories.TaxCatalogVersionRepository;
 import com.zup.desafio_imposto.repositories.TaxTypeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.Limit;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,9 +41,18 @@ class TaxTypeServiceImplTest {
     @Mock
     private TaxTypeRepository taxTypeRepository;
 
+    @Mock
+    private TaxCatalogVersionRepository catalogVersionRepository;
+
     @Mock
     private TaxTypeMapper taxTypeMapper;
 
+    @Spy
+    private TaxTypeCache taxTypeCache = new TaxTypeCache(100);
+
+    @Spy
+    private TaxCalculationResultCache resultCache = new TaxCalculationResultCache(true, 100);
+
     @InjectMocks
     private TaxTypeServiceImpl taxTypeService;
 
@@ -41,16 +66,55 @@ class TaxTypeServiceImplTest {
         // Arrange
         TaxType taxType = new TaxType(1L, "Tax1", "Description of Tax1", 10.0);
         TaxTypeResponseDTO responseDTO = new TaxTypeResponseDTO(1L, "Tax1", "Description of Tax1", 10.0);
-        when(taxTypeRepository.findAll()).thenReturn(List.of(taxType));
+        when(taxTypeRepository.findPageAfter(0L, null, null, null, Limit.of(51))).thenReturn(List.of(taxType));
         when(taxTypeMapper.toResponseDTO(taxType)).thenReturn(responseDTO);
 
         // Act
-        List<TaxTypeResponseDTO> result = taxTypeService.findAll();
+        PageResponseDTO<TaxTypeResponseDTO> result = taxTypeService.findAll(null, 50, null, null, null);
 
         // Assert
-        assertEquals(1, result.size());
-        assertEquals("Tax1", result.get(0).name());
-        verify(taxTypeRepository, times(1)).findAll();
+        assertEquals(1, result.content().size());
+        assertEquals("Tax1", result.content().get(0).name());
+        assertNull(result.nextCursor());
+        verify(taxTypeRepository, times(1)).findPageAfter(0L, null, null, null, Limit.of(51));
+    }
+
+    @Test
+    void shouldReturnNextCursor_WhenMoreTaxTypesExist() {
+        // Arrange
+        TaxType tax1 = new TaxType(3L, "Tax3", "Description", 10.0);
+        TaxType tax2 = new TaxType(4L, "Tax4", "Description", 12.0);
+        when(taxTypeRepository.findPageAfter(2L, null, 5.0, 15.0, Limit.of(2))).thenReturn(List.of(tax1, tax2));
+        when(taxTypeMapper.toResponseDTO(tax1)).thenReturn(new TaxTypeResponseDTO(3L, "Tax3", "Description", 10.0));
+        when(taxTypeMapper.toResponseDTO(tax2)).thenReturn(new TaxTypeResponseDTO(4L, "Tax4", "Description", 12.0));
+
+        // Act
+        PageResponseDTO<TaxTypeResponseDTO> result = taxTypeService.findAll(2L, 1, null, 5.0, 15.0);
+
+        // Assert
+        assertEquals(1, result.content().size());
+        assertEquals(3L, result.nextCursor());
+    }
+
+    @Test
+    void shouldEscapeLikeWildcards_WhenFilteringByNamePrefix() {
+        // Arrange
+        when(taxTypeRepository.findPageAfter(0L, "IC\\_\\%%", null, null, Limit.of(11))).thenReturn(List.of());
+
+        // Act
+        taxTypeService.findAll(null, 10, "IC_%", null, null);
+
+        // Assert
+        verify(taxTypeRepository).findPageAfter(0L, "IC\\_\\%%", null, null, Limit.of(11));
+    }
+
+    @Test
+    void shouldRejectInvertedRateRange() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> taxTypeService.findAll(null, 10, null, 20.0, 5.0));
+        assertEquals("A alíquota mínima não pode ser maior que a máxima", exception.getMessage());
+        verifyNoInteractions(taxTypeRepository);
     }
 
     @Test
@@ -99,6 +163,7 @@ class TaxTypeServiceImplTest {
         assertNotNull(result);
         assertEquals("Tax1", result.name());
         verify(taxTypeRepository, times(1)).save(taxType);
+        verify(catalogVersionRepository, times(1)).increment(TaxCatalogVersion.SINGLETON_ID);
     }
 
     @Test
@@ -119,6 +184,82 @@ class TaxTypeServiceImplTest {
         verify(taxTypeRepository, times(1)).findById(1L);
     }
 
+    @Test
+    void shouldCalculateBatchInInputOrder_ResolvingEachTaxTypeOnce() {
+        // Arrange
+        TaxType icms = new TaxType(1L, "ICMS", "Description of ICMS", 18.0);
+        TaxType iss = new TaxType(2L, "ISS", "Description of ISS", 5.0);
+        List<CalculateTaxTypeRequestDTO> requests = List.of(
+                new CalculateTaxTypeRequestDTO(2L, 100.0),
+                new CalculateTaxTypeRequestDTO(1L, 1000.0),
+                new CalculateTaxTypeRequestDTO(2L, 200.0)
+        );
+        when(taxTypeRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(icms, iss));
+
+        // Act
+        List<CalculateTaxTypeResponseDTO> result = taxTypeService.calculateTaxTypes(requests);
+
+        // Assert
+        assertEquals(3, result.size());
+        assertEquals("ISS", result.get(0).taxName());
+        assertEquals(5.0, result.get(0).taxCalculated());
+        assertEquals("ICMS", result.get(1).taxName());
+        assertEquals(180.0, result.get(1).taxCalculated());
+        assertEquals(10.0, result.get(2).taxCalculated());
+        verify(taxTypeRepository, times(1)).findAllById(Set.of(1L, 2L));
+        verify(taxTypeRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void shouldThrowException_WhenBatchReferencesNonExistentTaxType() {
+        // Arrange
+        TaxType icms = new TaxType(1L, "ICMS", "Description of ICMS", 18.0);
+        List<CalculateTaxTypeRequestDTO> requests = List.of(
+                new CalculateTaxTypeRequestDTO(1L, 100.0),
+                new CalculateTaxTypeRequestDTO(99L, 100.0)
+        );
+        when(taxTypeRepository.findAllById(Set.of(1L, 99L))).thenReturn(List.of(icms));
+
+        // Act & Assert
+        TaxNotFoundException exception = assertThrows(TaxNotFoundException.class, () -> taxTypeService.calculateTaxTypes(requests));
+        assertEquals("Imposto não encontrado: [99]", exception.getMessage());
+    }
+
+    @Test
+    void shouldServeCalculationFromCache_WhenTaxTypeWasAlreadyLoaded() {
+        // Arrange
+        TaxType taxType = new TaxType(1L, "TaxRESULT", "Description of TaxRESULT", 10.0);
+        when(taxTypeRepository.findById(1L)).thenReturn(Optional.of(taxType));
+
+        // Act
+        taxTypeService.calculateTaxType(new CalculateTaxTypeRequestDTO(1L, 100.0));
+        CalculateTaxTypeResponseDTO result = taxTypeService.calculateTaxType(new CalculateTaxTypeRequestDTO(1L, 200.0));
+
+        // Assert
+        assertEquals(20.0, result.taxCalculated());
+        verify(taxTypeRepository, times(1)).findById(1L);
+        assertEquals(1, taxTypeCache.stats().hits());
+        assertEquals(1, taxTypeCache.stats().misses());
+    }
+
+    @Test
+    void shouldPopulateCache_WhenTaxTypeIsAdded() {
+        // Arrange
+        TaxTypeRequestDTO requestDTO = new TaxTypeRequestDTO("Tax1", "Description of Tax1", 10.0);
+        TaxType taxType = new TaxType(null, "Tax1", "Description of Tax1", 10.0);
+        TaxType savedTaxType = new TaxType(1L, "Tax1", "Description of Tax1", 10.0);
+        when(taxTypeMapper.toEntity(requestDTO)).thenReturn(taxType);
+        when(taxTypeRepository.save(taxType)).thenReturn(savedTaxType);
+
+        // Act
+        taxTypeService.addTax(requestDTO);
+        CalculateTaxTypeResponseDTO result = taxTypeService.calculateTaxType(new CalculateTaxTypeRequestDTO(1L, 100.0));
+
+        // Assert
+        assertEquals("Tax1", result.taxName());
+        verify(taxTypeRepository, never()).findById(anyLong());
+    }
+
     @Test
     void shouldDeleteTaxType_WhenIdExists() {
         // Arrange
@@ -129,6 +270,8 @@ class TaxTypeServiceImplTest {
 
         // Assert
         verify(taxTypeRepository, times(1)).deleteById(1L);
+        verify(taxTypeCache, times(1)).evict(1L);
+        verify(catalogVersionRepository, times(1)).increment(TaxCatalogVersion.SINGLETON_ID);
     }
 
     @Test
@@ -139,5 +282,330 @@ class TaxTypeServiceImplTest {
         // Act & Assert
         assertThrows(TaxNotFoundException.class, () -> taxTypeService.deleteTaxById(1L));
         verify(taxTypeRepository, never()).deleteById(1L);
+        verify(catalogVersionRepository, never()).increment(anyLong());
+    }
+
+    @Test
+    void shouldReadCatalogVersionFromStore_WhenAnotherInstanceWrites() {
+        // Arrange: nenhuma escrita passa por este serviço; o banco muda por outra instância
+        when(catalogVersionRepository.findVersion(TaxCatalogVersion.SINGLETON_ID)).thenReturn(Optional.of(4L), Optional.of(5L), Optional.of(5L));
+
+        // Act
+        String initialVersion = taxTypeService.getCatalogVersion();
+        String versionAfterUpdate = taxTypeService.getCatalogVersion();
+        String sameCatalog = taxTypeService.getCatalogVersion();
+
+        // Assert
+        assertNotEquals(initialVersion, versionAfterUpdate);
+        assertEquals(versionAfterUpdate, sameCatalog);
+        assertEquals("5", sameCatalog);
+        verifyNoInteractions(taxTypeRepository);
+    }
+
+    @Test
+    void shouldClearLocalCaches_OnlyWhenCatalogVersionChanges() {
+        // Arrange
+        when(catalogVersionRepository.existsById(TaxCatalogVersion.SINGLETON_ID)).thenReturn(true);
+        when(catalogVersionRepository.findVersion(TaxCatalogVersion.SINGLETON_ID)).thenReturn(Optional.of(4L), Optional.of(4L), Optional.of(5L));
+        taxTypeService.initCatalogVersion();
+        taxTypeCache.put(new TaxType(1L, "ICMS", "Imposto estadual", 18.0));
+
+        // Act & Assert
+        taxTypeService.syncCachesWithCatalog();
+        verify(taxTypeCache, never()).clear();
+
+        // Outra instância alterou o catálogo
+        taxTypeService.syncCachesWithCatalog();
+        verify(taxTypeCache, times(1)).clear();
+        verify(resultCache, times(1)).clear();
+        assertEquals(0, taxTypeCache.stats().size());
+    }
+
+    @Test
+    void shouldCreateCatalogVersionRow_WhenIncrementFindsNoRow() {
+        // Arrange
+        when(taxTypeRepository.existsById(1L)).thenReturn(true);
+        when(catalogVersionRepository.increment(TaxCatalogVersion.SINGLETON_ID)).thenReturn(0);
+
+        // Act
+        taxTypeService.deleteTaxById(1L);
+
+        // Assert
+        verify(catalogVersionRepository, times(1)).save(argThat(row -> row.getId() == TaxCatalogVersion.SINGLETON_ID && row.getVersion() == 1L));
+    }
+
+    @Test
+    void shouldReadTaxTypeVersionFromStore_EvenWhenTaxTypeIsCached() {
+        // Arrange: o cache local ainda tem a versão 4; outra instância já gravou a 5
+        TaxType cached = new TaxType(1L, "ICMS", "Imposto estadual", 18.0);
+        cached.setVersion(4L);
+        taxTypeCache.put(cached);
+        when(taxTypeRepository.findVersionById(1L)).thenReturn(Optional.of(5L));
+
+        // Act
+        String version = taxTypeService.getVersion(1L);
+
+        // Assert
+        assertEquals("1-5", version);
+        verify(taxTypeRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void shouldThrowNotFound_WhenVersionIsRequestedForMissingTaxType() {
+        // Arrange
+        when(taxTypeRepository.findVersionById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(TaxNotFoundException.class, () -> taxTypeService.getVersion(99L));
+    }
+
+    @Test
+    void shouldCalculateTaxInMinorUnitsUsingTaxRoundingMode() {
+        // Arrange
+        TaxType halfEven = new TaxType(1L, "ISS", "Imposto sobre serviços", 10.0);
+        TaxType halfUp = new TaxType(2L, "ICMS", "Imposto estadual", 10.0);
+        halfUp.setRoundingMode(TaxRoundingMode.HALF_UP);
+        when(taxTypeRepository.findById(1L)).thenReturn(Optional.of(halfEven));
+        when(taxTypeRepository.findById(2L)).thenReturn(Optional.of(halfUp));
+
+        // Act & Assert: 10% de 25 centavos = 2,5 centavos
+        assertEquals(2, taxTypeService.calculateTaxInMinorUnits(1L, 25));
+        assertEquals(3, taxTypeService.calculateTaxInMinorUnits(2L, 25));
+    }
+
+    @Test
+    void shouldCalculateCentExactTax_WhenDoubleArithmeticWouldDrift() {
+        // Arrange: em double, 1.45 * 10 / 100 * 100 = 14.499999999999998 e arredondaria para 14 centavos
+        TaxType taxType = new TaxType(1L, "ISS", "Imposto sobre serviços", 10.0);
+        taxType.setRoundingMode(TaxRoundingMode.HALF_UP);
+        when(taxTypeRepository.findById(1L)).thenReturn(Optional.of(taxType));
+
+        // Act
+        CalculateTaxTypeResponseDTO result = taxTypeService.calculateTaxType(new CalculateTaxTypeRequestDTO(1L, 1.45));
+
+        // Assert
+        assertEquals(0.15, result.taxCalculated());
+    }
+
+    @Test
+    void shouldCalculateProgressiveTaxUsingBracketSchedule() {
+        // Arrange
+        when(taxTypeRepository.findById(1L)).thenReturn(Optional.of(irpf()));
+
+        // Act
+        CalculateTaxTypeResponseDTO middle = taxTypeService.calculateTaxType(new CalculateTaxTypeRequestDTO(1L, 3000.0));
+        CalculateTaxTypeResponseDTO top = taxTypeService.calculateTaxType(new CalculateTaxTypeRequestDTO(1L, 5000.0));
+        CalculateTaxTypeResponseDTO exempt = taxTypeService.calculateTaxType(new CalculateTaxTypeRequestDTO(1L, 2000.0));
+
+        // Assert
+        assertEquals(68.56, middle.taxCalculated());
+        assertEquals(15.0, middle.rate());
+        assertEquals(479.0, top.taxCalculated());
+        assertEquals(27.5, top.rate());
+        assertEquals(0.0, exempt.taxCalculated());
+        assertEquals(6_856, taxTypeService.calculateTaxInMinorUnits(1L, 300_000));
+    }
+
+    @Test
+    void shouldCalculateProgressiveTaxInBatch() {
+        // Arrange
+        when(taxTypeRepository.findAllById(Set.of(1L))).thenReturn(List.of(irpf()));
+
+        // Act
+        List<CalculateTaxTypeResponseDTO> result = taxTypeService.calculateTaxTypes(List.of(
+                new CalculateTaxTypeRequestDTO(1L, 3000.0),
+                new CalculateTaxTypeRequestDTO(1L, 5000.0)));
+
+        // Assert
+        assertEquals(68.56, result.get(0).taxCalculated());
+        assertEquals(479.0, result.get(1).taxCalculated());
+    }
+
+    @Test
+    void shouldRejectTaxType_WhenBracketsHaveDuplicateLowerBounds() {
+        // Arrange
+        TaxTypeRequestDTO request = new TaxTypeRequestDTO("IRPF", "Imposto de renda", 27.5);
+        TaxType taxType = new TaxType(null, "IRPF", "Imposto de renda", 27.5);
+        taxType.addBracket(new TaxBracket(0.0, 0.0, 0.0));
+        taxType.addBracket(new TaxBracket(0.0, 7.5, 0.0));
+        when(taxTypeMapper.toEntity(request)).thenReturn(taxType);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> taxTypeService.addTax(request));
+        verify(taxTypeRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldCalculateCompositeTax_WithInclusiveAndCascadingTaxes() {
+        // Arrange
+        TaxType icms = new TaxType(1L, "ICMS", "Description of ICMS", 18.0);
+        TaxType pis = new TaxType(2L, "PIS", "Description of PIS", 1.65);
+        TaxType cofins = new TaxType(3L, "COFINS", "Description of COFINS", 7.6);
+        when(taxTypeRepository.findAllById(Set.of(1L, 2L, 3L))).thenReturn(List.of(cofins, pis, icms));
+        CompositeCalculateTaxRequestDTO request = new CompositeCalculateTaxRequestDTO(1000.0, List.of(
+                new CompositeTaxItemRequestDTO(1L, "POR_DENTRO", null),
+                new CompositeTaxItemRequestDTO(2L),
+                new CompositeTaxItemRequestDTO(3L, "POR_FORA", true)
+        ));
+
+        // Act
+        CompositeCalculateTaxResponseDTO result = taxTypeService.calculateCompositeTax(request);
+
+        // Assert
+        assertEquals(3, result.taxes().size());
+        assertEquals("ICMS", result.taxes().get(0).taxName());
+        assertEquals(219.51, result.taxes().get(0).taxCalculated()); // 1000 * 18 / 82
+        assertEquals(1219.51, result.taxes().get(0).calculationBase());
+        assertEquals(16.5, result.taxes().get(1).taxCalculated());
+        assertEquals(1236.01, result.taxes().get(2).calculationBase()); // base + ICMS + PIS
+        assertEquals(93.94, result.taxes().get(2).taxCalculated());
+        assertEquals(329.95, result.totalTax());
+        assertEquals(1329.95, result.totalValue());
+        verify(taxTypeRepository, times(1)).findAllById(Set.of(1L, 2L, 3L));
+        verify(taxTypeRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void shouldRejectCompositeTax_WhenTaxIsRepeated() {
+        // Arrange
+        CompositeCalculateTaxRequestDTO request = new CompositeCalculateTaxRequestDTO(100.0, List.of(
+                new CompositeTaxItemRequestDTO(1L),
+                new CompositeTaxItemRequestDTO(1L, null, true)
+        ));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> taxTypeService.calculateCompositeTax(request));
+        assertEquals("Imposto repetido na composição: 1", exception.getMessage());
+        verifyNoInteractions(taxTypeRepository);
+    }
+
+    @Test
+    void shouldRejectCompositeTax_WhenProgressiveTaxIsInclusive() {
+        // Arrange
+        when(taxTypeRepository.findAllById(Set.of(1L))).thenReturn(List.of(irpf()));
+        CompositeCalculateTaxRequestDTO request = new CompositeCalculateTaxRequestDTO(3000.0, List.of(
+                new CompositeTaxItemRequestDTO(1L, "POR_DENTRO", null)
+        ));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> taxTypeService.calculateCompositeTax(request));
+    }
+
+    @Test
+    void shouldThrowException_WhenCompositeReferencesNonExistentTaxType() {
+        // Arrange
+        when(taxTypeRepository.findAllById(Set.of(1L, 99L))).thenReturn(List.of(new TaxType(1L, "ICMS", "Description of ICMS", 18.0)));
+        CompositeCalculateTaxRequestDTO request = new CompositeCalculateTaxRequestDTO(100.0, List.of(
+                new CompositeTaxItemRequestDTO(1L),
+                new CompositeTaxItemRequestDTO(99L)
+        ));
+
+        // Act & Assert
+        TaxNotFoundException exception = assertThrows(TaxNotFoundException.class, () -> taxTypeService.calculateCompositeTax(request));
+        assertEquals("Imposto não encontrado: [99]", exception.getMessage());
+    }
+
+    @Test
+    void shouldCalculateWithRateInEffectOnReferenceDate() {
+        // Arrange
+        TaxType icms = new TaxType(1L, "ICMS", "Description of ICMS", 17.0);
+        icms.addRateVersion(new TaxRateVersion(LocalDate.of(2024, 1, 1), 18.0));
+        icms.addRateVersion(new TaxRateVersion(LocalDate.now().plusYears(1), 20.0));
+        when(taxTypeRepository.findAllById(Set.of(1L))).thenReturn(List.of(icms));
+
+        // Act
+        List<CalculateTaxTypeResponseDTO> result = taxTypeService.calculateTaxTypes(List.of(
+                new CalculateTaxTypeRequestDTO(1L, 100.0, LocalDate.of(2023, 12, 31)),
+                new CalculateTaxTypeRequestDTO(1L, 100.0, LocalDate.of(2024, 1, 1)),
+                new CalculateTaxTypeRequestDTO(1L, 100.0),
+                new CalculateTaxTypeRequestDTO(1L, 100.0, LocalDate.now().plusYears(2))));
+
+        // Assert
+        assertEquals(17.0, result.get(0).taxCalculated());
+        assertEquals(18.0, result.get(1).taxCalculated());
+        assertEquals(18.0, result.get(2).taxCalculated()); // Sem data: a alíquota de hoje
+        assertEquals(20.0, result.get(3).taxCalculated());
+        assertEquals(20.0, result.get(3).rate());
+    }
+
+    @Test
+    void shouldAddRateVersionAndRefreshCache() {
+        // Arrange
+        TaxType stale = new TaxType(1L, "ICMS", "Description of ICMS", 17.0);
+        taxTypeCache.put(stale);
+        TaxType loaded = new TaxType(1L, "ICMS", "Description of ICMS", 17.0);
+        when(taxTypeRepository.findById(1L)).thenReturn(Optional.of(loaded));
+        when(taxTypeRepository.save(loaded)).thenReturn(loaded);
+
+        // Act
+        taxTypeService.addRateVersion(1L, new TaxRateVersionRequestDTO(18.0, LocalDate.of(2024, 1, 1)));
+        CalculateTaxTypeResponseDTO result = taxTypeService.calculateTaxType(new CalculateTaxTypeRequestDTO(1L, 100.0, LocalDate.of(2024, 6, 1)));
+
+        // Assert
+        assertEquals(18.0, result.taxCalculated());
+        assertTrue(stale.getRateVersions().isEmpty()); // A instância em cache não é alterada no lugar
+    }
+
+    @Test
+    void shouldRejectRateVersion_WhenStartDateIsRepeatedOrTaxIsProgressive() {
+        // Arrange
+        TaxType icms = new TaxType(1L, "ICMS", "Description of ICMS", 17.0);
+        icms.addRateVersion(new TaxRateVersion(LocalDate.of(2024, 1, 1), 18.0));
+        when(taxTypeRepository.findById(1L)).thenReturn(Optional.of(icms));
+        when(taxTypeRepository.findById(2L)).thenReturn(Optional.of(irpf()));
+        TaxRateVersionRequestDTO request = new TaxRateVersionRequestDTO(19.0, LocalDate.of(2024, 1, 1));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> taxTypeService.addRateVersion(1L, request));
+        assertThrows(IllegalArgumentException.class, () -> taxTypeService.addRateVersion(2L, request));
+        verify(taxTypeRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldAnswerRepeatedCalculationFromResultCache() {
+        // Arrange
+        when(taxTypeRepository.findById(1L)).thenReturn(Optional.of(new TaxType(1L, "ICMS", "Description of ICMS", 18.0)));
+        CalculateTaxTypeRequestDTO request = new CalculateTaxTypeRequestDTO(1L, 100.0);
+
+        // Act
+        CalculateTaxTypeResponseDTO first = taxTypeService.calculateTaxType(request);
+        CalculateTaxTypeResponseDTO second = taxTypeService.calculateTaxType(request);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(0, taxTypeCache.stats().hits()); // A segunda chamada nem chega ao cache de impostos
+        assertEquals(1, taxTypeService.getCalculationCacheStats().hits());
+        assertEquals(0.5, taxTypeService.getCalculationCacheStats().hitRatio());
+    }
+
+    @Test
+    void shouldInvalidateCachedResults_WhenTaxTypeChangesOrIsDeleted() {
+        // Arrange
+        TaxType icms = new TaxType(1L, "ICMS", "Description of ICMS", 18.0);
+        when(taxTypeRepository.findById(1L)).thenReturn(Optional.of(icms));
+        when(taxTypeRepository.save(icms)).thenReturn(icms);
+        when(taxTypeRepository.existsById(1L)).thenReturn(true);
+        CalculateTaxTypeRequestDTO request = new CalculateTaxTypeRequestDTO(1L, 100.0, LocalDate.of(2024, 6, 1));
+        taxTypeService.calculateTaxType(request);
+
+        // Act
+        taxTypeService.addRateVersion(1L, new TaxRateVersionRequestDTO(20.0, LocalDate.of(2024, 1, 1)));
+        CalculateTaxTypeResponseDTO afterChange = taxTypeService.calculateTaxType(request);
+        taxTypeService.deleteTaxById(1L);
+
+        // Assert
+        assertEquals(20.0, afterChange.taxCalculated());
+        assertEquals(0, resultCache.stats().size());
+        verify(resultCache, times(2)).evictTax(1L);
+    }
+
+    private TaxType irpf() {
+        TaxType taxType = new TaxType(1L, "IRPF", "Imposto de renda mensal", 27.5);
+        taxType.addBracket(new TaxBracket(0.0, 0.0, 0.0));
+        taxType.addBracket(new TaxBracket(2259.21, 7.5, 169.44));
+        taxType.addBracket(new TaxBracket(2826.66, 15.0, 381.44));
+        taxType.addBracket(new TaxBracket(3751.06, 22.5, 662.77));
+        taxType.addBracket(new TaxBracket(4664.69, 27.5, 896.0));
+        return taxType;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,100 @@
+package com.zup.desafio_imposto.services.impl;
+
+import com.zup.desafio_imposto.config.security.TokenRevocationList;
+import com.zup.desafio_imposto.models.RevokedToken;
+import com.zup.desafio_imposto.repositories.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationServiceImplTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationList revocationList;
+
+    private TokenRevocationServiceImpl tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        revocationList = new TokenRevocationList(100);
+        tokenRevocationService = new TokenRevocationServiceImpl(revokedTokenRepository, revocationList);
+    }
+
+    private static Claims accessTokenClaims(String jti, Instant expiresAt) {
+        Claims claims = Jwts.claims().setSubject("admin");
+        claims.setId(jti);
+        claims.setExpiration(Date.from(expiresAt));
+        return claims;
+    }
+
+    @Test
+    void shouldPersistRevocation_AndApplyItImmediately() {
+        // Arrange
+        Instant expiresAt = Instant.now().plusSeconds(3600).truncatedTo(ChronoUnit.SECONDS); // Datas do JWT têm precisão de segundos
+
+        // Act
+        tokenRevocationService.revoke(accessTokenClaims("jti-1", expiresAt));
+        tokenRevocationService.revoke(accessTokenClaims("jti-1", expiresAt));
+
+        // Assert
+        ArgumentCaptor<RevokedToken> captor = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository, times(1)).save(captor.capture());
+        assertEquals("jti-1", captor.getValue().getJti());
+        assertEquals(expiresAt, captor.getValue().getExpiresAt());
+        assertTrue(revocationList.isRevoked("jti-1"));
+    }
+
+    @Test
+    void shouldRejectToken_WithoutJti() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> tokenRevocationService.revoke(accessTokenClaims(null, Instant.now().plusSeconds(60))));
+        verify(revokedTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldLoadRevocationsMadeByOtherInstances() {
+        // Arrange
+        when(revokedTokenRepository.findByExpiresAtAfter(any(Instant.class)))
+                .thenReturn(List.of(new RevokedToken("jti-remoto", Instant.now().plusSeconds(3600))));
+
+        // Act
+        tokenRevocationService.syncFromStore();
+
+        // Assert
+        assertTrue(revocationList.isRevoked("jti-remoto"));
+        verify(revokedTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldPruneExpiredRevocations_FromStoreAndMemory() {
+        // Arrange
+        revocationList.revoke("expired", Instant.now().minusSeconds(1).toEpochMilli());
+        revocationList.revoke("valid", Instant.now().plusSeconds(3600).toEpochMilli());
+        when(revokedTokenRepository.deleteExpired(any(Instant.class))).thenReturn(1);
+
+        // Act
+        tokenRevocationService.pruneExpired();
+
+        // Assert
+        verify(revokedTokenRepository, times(1)).deleteExpired(any(Instant.class));
+        assertFalse(revocationList.isRevoked("expired"));
+        assertTrue(revocationList.isRevoked("valid"));
+    }
+}
@@ -0,0 +1,266 @@
+package com.zup.desafio_imposto.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zup.desafio_imposto.config.security.PasswordHashingExecutor;
+import com.zup.desafio_imposto.dtos.response.UserImportErrorDTO;
+import com.zup.desafio_imposto.dtos.response.UserImportResponseDTO;
+import com.zup.desafio_imposto.mappers.UserMapper;
+import com.zup.desafio_imposto.models.Role;
+import com.zup.desafio_imposto.models.User;
+import com.zup.desafio_imposto.repositories.RoleRepository;
+import com.zup.desafio_imposto.repositories.UserRepository;
+import com.zup.desafio_imposto.services.UserImportService;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class UserImportServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    private UserImportServiceImpl userImportService;
+
+    private final List<List<User>> savedBatches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        passwordHashingExecutor = new PasswordHashingExecutor(2);
+        userImportService = newService(1000);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hash:" + invocation.getArgument(0));
+        when(roleRepository.findAll()).thenReturn(List.of(new Role(1L, "ROLE_ADMIN"), new Role(2L, "ROLE_USER")));
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(List.of());
+        when(userRepository.saveAll(anyCollection())).thenAnswer(invocation -> {
+            List<User> batch = new ArrayList<>(invocation.<Collection<User>>getArgument(0));
+            savedBatches.add(batch);
+            return batch;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingExecutor.shutdown();
+    }
+
+    private UserImportServiceImpl newService(int maxRows) {
+        return new UserImportServiceImpl(userRepository, roleRepository, passwordEncoder, new UserMapper(),
+                passwordHashingExecutor, new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator(), maxRows);
+    }
+
+    private UserImportResponseDTO importUsers(String input, UserImportService.Format format) throws IOException {
+        return userImportService.importUsers(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), format);
+    }
+
+    private List<User> savedUsers() {
+        return savedBatches.stream().flatMap(List::stream).toList();
+    }
+
+    @Test
+    void shouldImportCsvRows_WithHashedPasswordsAndRoles() throws IOException {
+        // Arrange
+        String csv = """
+                username,password,role
+                ana,senha1,ROLE_USER
+                bruno,"se,nha""2",ROLE_ADMIN;ROLE_USER
+                """;
+
+        // Act
+        UserImportResponseDTO response = importUsers(csv, UserImportService.Format.CSV);
+
+        // Assert
+        assertEquals(new UserImportResponseDTO(2, 2, List.of()), response);
+        List<User> users = savedUsers();
+        assertEquals(List.of("ana", "bruno"), users.stream().map(User::getUsername).toList());
+        assertEquals("hash:se,nha\"2", users.get(1).getPassword());
+        assertEquals(Set.of("ROLE_ADMIN", "ROLE_USER"), users.get(1).getRoles().stream().map(Role::getName).collect(Collectors.toSet()));
+        verify(roleRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldReportErrorsPerLine_AndImportTheRemainingRows() throws IOException {
+        // Arrange
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(List.of("admin"));
+        String ndjson = """
+                {"username":"ana","password":"123456","role":["ROLE_USER"]}
+                {"username":"admin","password":"123456","role":["ROLE_ADMIN"]}
+                nao é json
+
+                {"username":"","password":"123456","role":["ROLE_USER"]}
+                {"username":"ana","password":"outra","role":["ROLE_USER"]}
+                {"username":"carla","password":"123456","role":["ROLE_CHEFE"]}
+                """;
+
+        // Act
+        UserImportResponseDTO response = importUsers(ndjson, UserImportService.Format.NDJSON);
+
+        // Assert
+        assertEquals(6, response.received());
+        assertEquals(1, response.imported());
+        assertEquals(List.of(2L, 3L, 5L, 6L, 7L), response.errors().stream().map(UserImportErrorDTO::line).toList());
+        assertEquals(List.of("Conflito", "Requisição Inválida", "Erro de Validação", "Conflito", "Erro de Validação"),
+                response.errors().stream().map(UserImportErrorDTO::error).toList());
+        assertEquals("Usuário repetido no arquivo (primeira ocorrência na linha 1)", response.errors().get(3).message());
+        assertEquals(List.of("ana"), savedUsers().stream().map(User::getUsername).toList());
+    }
+
+    @Test
+    void shouldCheckDuplicatesOnce_AndInsertInJdbcSizedBatches() throws IOException {
+        // Arrange
+        int rows = UserImportServiceImpl.BATCH_SIZE * 2 + 10;
+        String csv = "username,password,role\n" + IntStream.rangeClosed(1, rows)
+                .mapToObj(i -> "user" + i + ",senha" + i + ",ROLE_USER")
+                .collect(Collectors.joining("\n"));
+
+        // Act
+        UserImportResponseDTO response = importUsers(csv, UserImportService.Format.CSV);
+
+        // Assert
+        assertEquals(rows, response.imported());
+        verify(userRepository, times(1)).findExistingUsernames(anyCollection());
+        verify(roleRepository, times(1)).findAll();
+        verify(userRepository, never()).existsByUsername(any());
+        assertEquals(List.of(UserImportServiceImpl.BATCH_SIZE, UserImportServiceImpl.BATCH_SIZE, 10),
+                savedBatches.stream().map(List::size).toList());
+        verify(passwordEncoder, times(rows)).encode(anyString());
+    }
+
+    @Test
+    void shouldReportRowsOfFailedBatch_AndKeepImportingTheNextBatches() throws IOException {
+        // Arrange: o segundo bloco colide com um usuário cadastrado por outra requisição durante a importação
+        int rows = UserImportServiceImpl.BATCH_SIZE * 2 + 10;
+        String csv = "username,password,role\n" + IntStream.rangeClosed(1, rows)
+                .mapToObj(i -> "user" + i + ",senha" + i + ",ROLE_USER")
+                .collect(Collectors.joining("\n"));
+        doAnswer(invocation -> {
+            List<User> batch = new ArrayList<>(invocation.<Collection<User>>getArgument(0));
+            if (batch.get(0).getUsername().equals("user" + (UserImportServiceImpl.BATCH_SIZE + 1))) {
+                throw new DataIntegrityViolationException("duplicate key value violates unique constraint");
+            }
+            savedBatches.add(batch);
+            return batch;
+        }).when(userRepository).saveAll(anyCollection());
+
+        // Act
+        UserImportResponseDTO response = importUsers(csv, UserImportService.Format.CSV);
+
+        // Assert
+        assertEquals(rows, response.received());
+        assertEquals(UserImportServiceImpl.BATCH_SIZE + 10, response.imported());
+        assertEquals(UserImportServiceImpl.BATCH_SIZE, response.errors().size());
+        // Linha 1 é o cabeçalho: o segundo bloco vai da linha BATCH_SIZE + 2 até 2 * BATCH_SIZE + 1
+        assertEquals(UserImportServiceImpl.BATCH_SIZE + 2, response.errors().get(0).line());
+        assertEquals(UserImportServiceImpl.BATCH_SIZE * 2 + 1, response.errors().get(response.errors().size() - 1).line());
+        assertTrue(response.errors().stream().allMatch(error -> error.error().equals("Conflito")));
+        assertEquals(List.of(UserImportServiceImpl.BATCH_SIZE, 10), savedBatches.stream().map(List::size).toList());
+    }
+
+    @Test
+    void shouldRejectRowsWithUnknownRoles_WithoutCreatingThem() throws IOException {
+        // Arrange: o nome passa na validação, mas o papel ainda não foi cadastrado no banco
+        when(roleRepository.findAll()).thenReturn(List.of(new Role(2L, "ROLE_USER")));
+        String csv = """
+                username,password,role
+                ana,123456,ROLE_USER
+                bruno,123456,ROLE_ADMIN;ROLE_USER
+                """;
+
+        // Act
+        UserImportResponseDTO response = importUsers(csv, UserImportService.Format.CSV);
+
+        // Assert
+        assertEquals(1, response.imported());
+        assertEquals(List.of(new UserImportErrorDTO(3, "bruno", "Erro de Validação", "Papel inexistente: ROLE_ADMIN")),
+                response.errors());
+        assertEquals(List.of("ana"), savedUsers().stream().map(User::getUsername).toList());
+        verify(roleRepository, never()).save(any());
+        verify(passwordEncoder, times(1)).encode(anyString()); // A linha recusada não chega ao BCrypt
+    }
+
+    @Test
+    void shouldReportRowWhosePasswordHashFailed_AndSaveTheRestOfTheBatch() throws IOException {
+        // Arrange
+        when(passwordEncoder.encode("falha")).thenThrow(new IllegalStateException("pool de hash indisponível"));
+        String csv = """
+                username,password,role
+                ana,123456,ROLE_USER
+                bruno,falha,ROLE_USER
+                carla,123456,ROLE_USER
+                """;
+
+        // Act
+        UserImportResponseDTO response = importUsers(csv, UserImportService.Format.CSV);
+
+        // Assert
+        assertEquals(2, response.imported());
+        assertEquals(List.of(new UserImportErrorDTO(3, "bruno", "Erro Interno do Servidor", "Não foi possível gerar o hash da senha")),
+                response.errors());
+        assertEquals(List.of("ana", "carla"), savedUsers().stream().map(User::getUsername).toList());
+    }
+
+    @Test
+    void shouldRejectWholeFile_WhenCsvHeaderIsInvalidOrRowLimitIsExceeded() {
+        // Arrange
+        userImportService = newService(2);
+        String tooManyRows = """
+                username,password,role
+                a,123456,ROLE_USER
+                b,123456,ROLE_USER
+                c,123456,ROLE_USER
+                """;
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> importUsers("nome,senha\nana,123\n", UserImportService.Format.CSV));
+        assertThrows(IllegalArgumentException.class, () -> importUsers("", UserImportService.Format.CSV));
+        assertThrows(IllegalArgumentException.class, () -> importUsers(tooManyRows, UserImportService.Format.CSV));
+        verifyNoInteractions(passwordEncoder);
+        verify(userRepository, never()).saveAll(anyCollection());
+    }
+
+    @Test
+    void shouldReportCsvRowsWithWrongColumnCount() throws IOException {
+        // Act
+        UserImportResponseDTO response = importUsers("username,password,role\nana,123456\n\"bruno,123456,ROLE_USER\n",
+                UserImportService.Format.CSV);
+
+        // Assert
+        assertEquals(2, response.received());
+        assertEquals(0, response.imported());
+        assertEquals(List.of(2L, 3L), response.errors().stream().map(UserImportErrorDTO::line).toList());
+        verifyNoInteractions(passwordEncoder);
+    }
+
+    @Test
+    void shouldParseQuotedCsvColumns() {
+        assertEquals(List.of("a", "b,c", "d\"e", ""), UserImportServiceImpl.parseCsvLine("a,\"b,c\",\"d\"\"e\","));
+    }
+}
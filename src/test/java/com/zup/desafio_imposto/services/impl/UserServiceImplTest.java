@@ -1,6 +1,7 @@
 package com.zup.desafio_imposto.services.impl;
 
 import com.zup.desafio_imposto.dtos.request.UserRequestDTO;
+import com.zup.desafio_imposto.dtos.response.PageResponseDTO;
 import com.zup.desafio_imposto.dtos.response.UserResponseDTO;
 import com.zup.desafio_imposto.exceptions.DuplicateUsernameException;
 import com.zup.desafio_imposto.mappers.UserMapper;
@@ -8,13 +9,16 @@ import com.zup.desafio_imposto.models.Role;
 import com.zup.desafio_imposto.models.User;
 import com.zup.desafio_imposto.repositories.RoleRepository;
 import com.zup.desafio_imposto.repositories.UserRepository;
+import com.zup.desafio_imposto.repositories.projections.UserRoleProjection;
 import com.zup.desafio_imposto.services.AuthenticationService;
+import com.zup.desafio_imposto.services.UserImportService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -40,10 +44,13 @@ class UserServiceImplTest {
     @Mock
     private AuthenticationService authenticationService;
 
+    @Mock
+    private UserImportService userImportService;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        userService = new UserServiceImpl(userRepository, roleRepository, passwordEncoder, userMapper, authenticationService);
+        userService = new UserServiceImpl(userRepository, roleRepository, passwordEncoder, userMapper, authenticationService, userImportService);
     }
 
     /*
@@ -96,4 +103,63 @@ class UserServiceImplTest {
         verify(userRepository, times(1)).existsByUsername("existingUser");
         verifyNoInteractions(roleRepository, passwordEncoder, userMapper);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldGroupRolesByUserAndReturnNextCursor() {
+        // Arrange
+        when(userRepository.findUserRolesAfter(0L, 3)).thenReturn(List.of(
+                userRole(1L, "alice", "ROLE_ADMIN"),
+                userRole(1L, "alice", "ROLE_USER"),
+                userRole(2L, "bob", null),
+                userRole(5L, "carol", "ROLE_USER")));
+
+        // Act
+        PageResponseDTO<UserResponseDTO> page = userService.listUsers(null, 2);
+
+        // Assert
+        assertEquals(2, page.content().size());
+        assertEquals(new UserResponseDTO(1L, "alice", Set.of("ROLE_ADMIN", "ROLE_USER")), page.content().get(0));
+        assertEquals(new UserResponseDTO(2L, "bob", Set.of()), page.content().get(1));
+        assertEquals(2L, page.nextCursor());
+    }
+
+    @Test
+    void shouldReturnNullCursor_WhenLastPageIsReached() {
+        // Arrange
+        when(userRepository.findUserRolesAfter(5L, 3)).thenReturn(List.of(userRole(7L, "dave", "ROLE_USER")));
+
+        // Act
+        PageResponseDTO<UserResponseDTO> page = userService.listUsers(5L, 2);
+
+        // Assert
+        assertEquals(1, page.content().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void shouldRejectInvalidPageSize() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> userService.listUsers(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> userService.listUsers(null, PageResponseDTO.MAX_SIZE + 1));
+        verifyNoInteractions(userRepository);
+    }
+
+    private UserRoleProjection userRole(Long id, String username, String roleName) {
+        return new UserRoleProjection() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getUsername() {
+                return username;
+            }
+
+            @Override
+            public String getRoleName() {
+                return roleName;
+            }
+        };
+    }
+}